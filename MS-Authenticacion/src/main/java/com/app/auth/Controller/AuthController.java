@@ -1,8 +1,11 @@
 package com.app.auth.Controller;
 
 import com.app.auth.Dto.*;
+import com.app.auth.Exception.HashingCapacityExceededException;
+import com.app.auth.Exception.LoginBlockedException;
 import com.app.auth.Exception.UserAlreadyExistsException;
 import com.app.auth.Service.AuthService;
+import com.app.auth.config.jwt.JwtKeyRing;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,18 +13,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.service.spi.ServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.naming.AuthenticationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
@@ -31,6 +44,7 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 @Tag(name = "Authentication", description = "API para manejo de autenticación y registro de usuarios")
 public class AuthController {
     private final AuthService authService;
+    private final JwtKeyRing jwtKeyRing;
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
     @Operation(
@@ -47,18 +61,27 @@ public class AuthController {
                     responseCode = "401",
                     description = "Credenciales inválidas",
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "423",
+                    description = "Cuenta bloqueada",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Pool de hashing saturado o demasiados intentos fallidos, reintentar más tarde",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))
             )
     })
     @PostMapping("login")
-    public ResponseEntity<EntityModel<AuthResponse>> login(@RequestBody LoginRequest request) {
-        AuthResponse authResponse = authService.login(request);
-
-        EntityModel<AuthResponse> model = EntityModel.of(authResponse,
-                linkTo(methodOn(AuthController.class).login(request)).withSelfRel(),
-                linkTo(methodOn(AuthController.class).validateToken(new TokenValidationRequest(authResponse.getToken()))).withRel("validate-token")
-        );
+    public CompletableFuture<ResponseEntity<EntityModel<AuthResponse>>> login(@RequestBody LoginRequest request,
+                                                                             HttpServletRequest servletRequest) {
+        // Los links se arman en el hilo del servlet: fuera de él no hay request actual para linkTo
+        Link self = loginLink().withSelfRel();
+        Link validateToken = linkTo(methodOn(AuthController.class).validateToken(null)).withRel("validate-token");
 
-        return ResponseEntity.ok(model);
+        return authService.loginAsync(request, servletRequest.getRemoteAddr())
+                .thenApply(authResponse -> ResponseEntity.ok(EntityModel.of(authResponse, self, validateToken)));
     }
 
     @Operation(
@@ -88,12 +111,50 @@ public class AuthController {
 
         EntityModel<TokenValidResponse> model = EntityModel.of(response,
                 linkTo(methodOn(AuthController.class).validateToken(request)).withSelfRel(),
-                linkTo(methodOn(AuthController.class).login(null)).withRel("login")
+                loginLink().withRel("login")
         );
 
         return ResponseEntity.ok(model);
     }
 
+    @Operation(
+            summary = "Validar tokens en lote",
+            description = "Valida muchos tokens JWT en una sola llamada y devuelve validez, subject, roles y expiración de cada uno"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resultado por token, en el mismo orden de la petición",
+                    content = @Content(schema = @Schema(implementation = BatchTokenValidationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lista vacía o mayor al máximo permitido"
+            )
+    })
+    @PostMapping("validate-token/batch")
+    public ResponseEntity<BatchTokenValidationResponse> validateTokens(@RequestBody BatchTokenValidationRequest request) {
+        // Sin EntityModel: en lotes grandes el armado de links HATEOAS domina el costo
+        try {
+            return ResponseEntity.ok(authService.validateTokens(request.getTokens()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+            summary = "Claves públicas de firma",
+            description = "Publica en formato JWK Set las claves con las que se firman los tokens RS256/ES256, identificadas por kid"
+    )
+    @ApiResponse(responseCode = "200", description = "JWK Set con las claves vigentes y retiradas aún válidas")
+    @GetMapping(".well-known/jwks.json")
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeyRing.toJwkSetJson());
+    }
+
     @Operation(
             summary = "Registrar nuevo usuario",
             description = "Crea una nueva cuenta de usuario"
@@ -109,6 +170,11 @@ public class AuthController {
                     description = "El usuario ya existe",
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Pool de hashing saturado, reintentar más tarde",
+                    content = @Content(schema = @Schema(implementation = AuthResponse.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Error interno del servidor",
@@ -116,25 +182,29 @@ public class AuthController {
             )
     })
     @PostMapping("register")
-    public ResponseEntity<EntityModel<AuthResponse>> registerUser(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<EntityModel<AuthResponse>>> registerUser(@RequestBody RegisterRequest request) {
+        // Los links se arman en el hilo del servlet: fuera de él no hay request actual para linkTo
+        Link self = linkTo(methodOn(AuthController.class).registerUser(request)).withSelfRel();
+        Link login = loginLink().withRel("login");
         try {
-            AuthResponse response = authService.createUser(request);
-
-            EntityModel<AuthResponse> model = EntityModel.of(response,
-                    linkTo(methodOn(AuthController.class).registerUser(request)).withSelfRel(),
-                    linkTo(methodOn(AuthController.class).login(null)).withRel("login")
-            );
-
-            return ResponseEntity.ok(model);
+            return authService.createUserAsync(request)
+                    .thenApply(response -> ResponseEntity.ok(EntityModel.of(response, self, login)))
+                    .exceptionally(e -> {
+                        if (e.getCause() instanceof ServiceException cause) {
+                            return registerError(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+                        }
+                        throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                    });
         } catch (UserAlreadyExistsException e) {
-            AuthResponse error = AuthResponse.builder().message(e.getMessage()).build();
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(EntityModel.of(error));
-        } catch (ServiceException e) {
-            AuthResponse error = AuthResponse.builder().message(e.getMessage()).build();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(EntityModel.of(error));
+            return CompletableFuture.completedFuture(registerError(HttpStatus.CONFLICT, e.getMessage()));
         }
     }
 
+    private static ResponseEntity<EntityModel<AuthResponse>> registerError(HttpStatus status, String message) {
+        AuthResponse error = AuthResponse.builder().message(message).build();
+        return ResponseEntity.status(status).body(EntityModel.of(error));
+    }
+
     @Operation(hidden = true)
     @ExceptionHandler({
             BadCredentialsException.class,
@@ -152,12 +222,50 @@ public class AuthController {
                 .build();
 
         EntityModel<AuthResponse> model = EntityModel.of(errorResponse,
-                linkTo(methodOn(AuthController.class).login(null)).withRel("login")
+                loginLink().withRel("login")
         );
 
         return ResponseEntity.status(status).body(model);
     }
 
+    @Operation(hidden = true)
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<EntityModel<AuthResponse>> handleHashingCapacityExceeded(HashingCapacityExceededException e) {
+        AuthResponse errorResponse = AuthResponse.builder()
+                .message(e.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(EntityModel.of(errorResponse));
+    }
+
+    @Operation(hidden = true)
+    @ExceptionHandler(LoginBlockedException.class)
+    public ResponseEntity<EntityModel<AuthResponse>> handleLoginBlocked(LoginBlockedException e) {
+        AuthResponse errorResponse = AuthResponse.builder()
+                .message(e.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(EntityModel.of(errorResponse));
+    }
+
+    @Operation(hidden = true)
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<EntityModel<AuthResponse>> handleResponseStatus(ResponseStatusException e) {
+        AuthResponse errorResponse = AuthResponse.builder()
+                .message(e.getReason())
+                .build();
+
+        EntityModel<AuthResponse> model = EntityModel.of(errorResponse,
+                loginLink().withRel("login")
+        );
+
+        return ResponseEntity.status(e.getStatusCode()).body(model);
+    }
+
     @Operation(hidden = true)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<EntityModel<AuthResponse>> handleGenericException(Exception e) {
@@ -166,10 +274,15 @@ public class AuthController {
                 .build();
 
         EntityModel<AuthResponse> model = EntityModel.of(errorResponse,
-                linkTo(methodOn(AuthController.class).login(null)).withRel("login"),
+                loginLink().withRel("login"),
                 linkTo(methodOn(AuthController.class).registerUser(null)).withRel("register")
         );
 
         return ResponseEntity.internalServerError().body(model);
     }
+
+    // methodOn no puede proxiar CompletableFuture (tipo de retorno de login), por eso se arma por path
+    private static WebMvcLinkBuilder loginLink() {
+        return linkTo(AuthController.class).slash("login");
+    }
 }
@@ -0,0 +1,18 @@
+package com.app.auth.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTokenValidationResponse {
+    private int total;
+    private long valid;
+    private List<TokenValidationResult> results;
+}
@@ -0,0 +1,22 @@
+package com.app.auth.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenValidationResult {
+    private int index;
+    private boolean valid;
+    private String subject;
+    private List<String> roles;
+    private Date expiresAt;
+    private String message;
+}
@@ -0,0 +1,11 @@
+package com.app.auth.Dto;
+
+/**
+ * Proyección mínima del estado de la cuenta, sin cargar roles ni permisos.
+ */
+public record UserStatus(boolean enabled, boolean locked) {
+
+    public boolean isActive() {
+        return enabled && !locked;
+    }
+}
@@ -0,0 +1,7 @@
+package com.app.auth.Exception;
+
+public class HashingCapacityExceededException extends RuntimeException {
+    public HashingCapacityExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
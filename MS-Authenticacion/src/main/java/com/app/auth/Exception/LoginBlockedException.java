@@ -0,0 +1,14 @@
+package com.app.auth.Exception;
+
+public class LoginBlockedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public LoginBlockedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
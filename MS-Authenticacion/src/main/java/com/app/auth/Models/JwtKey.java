@@ -0,0 +1,37 @@
+package com.app.auth.Models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Par de claves de firma JWT compartido por todas las instancias de MS-Authenticacion.
+ * La privada se guarda cifrada; {@code retiredAt} es null mientras la clave pueda firmar.
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "jwt_keys")
+public class JwtKey {
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    @Column(name = "public_key", nullable = false, length = 4096)
+    private String publicKey;
+
+    @Column(name = "private_key", nullable = false, length = 4096)
+    private String privateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "retired_at")
+    private Instant retiredAt;
+}
@@ -9,6 +9,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.security.Timestamp;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -21,7 +22,8 @@ import java.util.stream.Collectors;
 @Builder@Table(name = "users")
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 20)
     private Long id;
     @Column(name = "username" ,unique=true,nullable = false)
     private String username;
@@ -52,6 +54,9 @@ public class User implements UserDetails {
     private boolean enabled = true;
     private boolean locked = false;
     private int failedLoginAttempts = 0;
+    // Fin del bloqueo por intentos fallidos; lo libera LoginAttemptService al vencer
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
 
 
     @Override
@@ -0,0 +1,10 @@
+package com.app.auth.Repository;
+
+import com.app.auth.Models.JwtKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface JwtKeyRepository extends JpaRepository<JwtKey, String> {
+    List<JwtKey> findByAlgorithm(String algorithm);
+}
@@ -1,7 +1,10 @@
 package com.app.auth.Repository;
 
+import com.app.auth.Dto.UserStatus;
 import com.app.auth.Models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -12,4 +15,7 @@ public interface UserRepository extends JpaRepository<User,Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("select new com.app.auth.Dto.UserStatus(u.enabled, u.locked) from User u where u.username = :username")
+    Optional<UserStatus> findStatusByUsername(@Param("username") String username);
 }
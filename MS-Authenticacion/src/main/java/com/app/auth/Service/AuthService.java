@@ -2,6 +2,8 @@ package com.app.auth.Service;
 
 
 import com.app.auth.Dto.AuthResponse;
+import com.app.auth.Dto.BatchTokenValidationResponse;
+import com.app.auth.Dto.TokenValidationResult;
 import com.app.auth.Dto.LoginRequest;
 import com.app.auth.Dto.RegisterRequest;
 import com.app.auth.Exception.UserAlreadyExistsException;
@@ -10,9 +12,9 @@ import com.app.auth.Models.User;
 import com.app.auth.Repository.RoleRepository;
 import com.app.auth.Repository.UserRepository;
 import com.app.auth.config.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.MalformedJwtException;
 import org.hibernate.service.spi.ServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,9 +24,9 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -32,8 +34,12 @@ import org.springframework.web.server.ResponseStatusException;
 import javax.management.relation.RoleNotFoundException;
 import java.security.SignatureException;
 import java.util.Collections;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 
 @Service
@@ -51,10 +57,31 @@ public class AuthService {
     private  PasswordEncoder passwordEncoder;
     @Autowired
     private AuthenticationManager authenticationManager;
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    @Autowired
+    private LoginAttemptService loginAttemptService;
     @Value("${auth.app.jwtExpirationMs}")
     private int jwtExpirationMs;
+    @Value("${auth.app.batchValidationMaxTokens:5000}")
+    private int batchValidationMaxTokens;
+
+    /**
+     * Ejecuta el login (dominado por la verificación BCrypt) en el pool de hashing,
+     * liberando el hilo del servlet. Lanza HashingCapacityExceededException si el pool está saturado.
+     */
+    public CompletableFuture<AuthResponse> loginAsync(LoginRequest request, String clientIp) {
+        // El bloqueo se evalúa antes de encolar: un atacante bloqueado no ocupa el pool de hashing
+        loginAttemptService.checkAllowed(request.getUsername(), clientIp);
+        return passwordHashingExecutor.submit(() -> login(request, clientIp));
+    }
 
     public AuthResponse login(LoginRequest request) {
+        return login(request, null);
+    }
+
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        loginAttemptService.checkAllowed(request.getUsername(), clientIp);
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -63,28 +90,31 @@ public class AuthService {
                     )
             );
 
-            UserDetails user = (UserDetails) authentication.getPrincipal();
+            // CustomUserDetailsService ya cargó la entidad con sus roles: se reutiliza sin volver a consultar
+            User user = (User) authentication.getPrincipal();
+            loginAttemptService.loginSucceeded(user.getUsername());
 
             Date issuedAt = new Date();
             Date expiration = new Date(System.currentTimeMillis() + jwtExpirationMs);
             String token = jwtService.getToken(user);
-            User userFind= userRepository.findByUsername(user.getUsername())
-                    .orElseThrow(()-> new RuntimeException("Usuario no encontrado"));
 
             return AuthResponse.builder()
                     .issuedAt(issuedAt)
                     .expiresAt(expiration)
                     .token(token)
                     .tokenType("Bearer")
-                    .roles(userFind.getRoles())
-                    .username(userFind.getUsername())
+                    .roles(user.getRoles())
+                    .username(user.getUsername())
                     .build();
 
         } catch (BadCredentialsException e) {
+            loginAttemptService.loginFailed(request.getUsername(), clientIp);
             throw new ResponseStatusException(
                     HttpStatus.UNAUTHORIZED,
                     "Invalid username or password"
             );
+        } catch (LockedException e) {
+            throw new ResponseStatusException(HttpStatus.LOCKED, "Cuenta bloqueada");
         }
     }
 
@@ -119,29 +149,25 @@ public class AuthService {
             throw new IllegalArgumentException("RegisterRequest cannot be null");
         }
 
-        Role roleDefault = null;
-        try {
-            roleDefault = roleRepository.findByName("ROLE_USER")
-                    .orElseThrow(() -> new RoleNotFoundException("ROLE_USER not found"));
-        } catch (RoleNotFoundException e) {
-            throw new RuntimeException(e);
-        }
-
-        return User.builder()
-                .username(userRequest.getUsername())
-                .email(userRequest.getEmail())
-                .password(passwordEncoder.encode(userRequest.getPassword()))
-                .roles(Collections.singleton(roleDefault))
-                .locked(false)
-                .enabled(true)
-                .build();
+        return newUser(userRequest, findDefaultRole(), passwordEncoder.encode(userRequest.getPassword()));
     }
 
-    public AuthResponse createUser(RegisterRequest request) {
+    /**
+     * Registro con el hash BCrypt en el pool de hashing, como {@link #loginAsync}: el hilo del
+     * servlet solo valida y encola; el guardado y el token se hacen al terminar el hash.
+     * Lanza HashingCapacityExceededException si el pool está saturado.
+     */
+    public CompletableFuture<AuthResponse> createUserAsync(RegisterRequest request) {
         Objects.requireNonNull(request, "RegisterRequest cannot be null");
         validateUserDoesNotExist(request.getUsername(), request.getEmail());
+        Role roleDefault = findDefaultRole();
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(request.getPassword()))
+                .thenApply(encodedPassword -> saveNewUser(request, roleDefault, encodedPassword));
+    }
+
+    private AuthResponse saveNewUser(RegisterRequest request, Role roleDefault, String encodedPassword) {
         try {
-            User savedUser = registerAndSaveUser(request);
+            User savedUser = userRepository.save(newUser(request, roleDefault, encodedPassword));
             return buildAuthResponse(savedUser);
 
         } catch (JwtException e) {
@@ -158,6 +184,26 @@ public class AuthService {
         }
     }
 
+    private Role findDefaultRole() {
+        try {
+            return roleRepository.findByName("ROLE_USER")
+                    .orElseThrow(() -> new RoleNotFoundException("ROLE_USER not found"));
+        } catch (RoleNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private User newUser(RegisterRequest request, Role roleDefault, String encodedPassword) {
+        return User.builder()
+                .username(request.getUsername())
+                .email(request.getEmail())
+                .password(encodedPassword)
+                .roles(Collections.singleton(roleDefault))
+                .locked(false)
+                .enabled(true)
+                .build();
+    }
+
     private void validateUserDoesNotExist(String username, String email) {
         if (userRepository.existsByUsername(username)) {
             throw new UserAlreadyExistsException("Username already exists: " + username);
@@ -168,11 +214,6 @@ public class AuthService {
         }
     }
 
-    private User registerAndSaveUser(RegisterRequest request) {
-        User user = registerUser(request);
-        return userRepository.save(user);
-    }
-
     private AuthResponse buildAuthResponse(User user) {
         Date issuedAt = new Date();
         Date expiration = new Date(System.currentTimeMillis() + jwtExpirationMs);
@@ -193,11 +234,63 @@ public class AuthService {
             jwtService.validateToken(token); // Usa el nuevo método
         } catch (ExpiredJwtException e) {
             throw new BadCredentialsException("Token expirado");
-        } catch (MalformedJwtException e) {
+        } catch (JwtException e) {
+            // JwtUtils envuelve firma inválida y token mal formado en JwtException
             throw new BadCredentialsException("Token inválido");
         } catch (IllegalArgumentException e) {
             throw new BadCredentialsException("Token vacío o mal formado");
         }
     }
 
+    /**
+     * Valida un lote de tokens en paralelo reutilizando el parser compartido de JwtUtils.
+     * Cada resultado conserva la posición del token en la petición.
+     */
+    public BatchTokenValidationResponse validateTokens(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw new IllegalArgumentException("La lista de tokens no puede estar vacía");
+        }
+        if (tokens.size() > batchValidationMaxTokens) {
+            throw new IllegalArgumentException("Máximo " + batchValidationMaxTokens + " tokens por petición");
+        }
+
+        List<TokenValidationResult> results = IntStream.range(0, tokens.size())
+                .parallel()
+                .mapToObj(i -> validateTokenResult(i, tokens.get(i)))
+                .toList();
+
+        return BatchTokenValidationResponse.builder()
+                .total(results.size())
+                .valid(results.stream().filter(TokenValidationResult::isValid).count())
+                .results(results)
+                .build();
+    }
+
+    private TokenValidationResult validateTokenResult(int index, String token) {
+        try {
+            Claims claims = jwtService.parseToken(token);
+            return TokenValidationResult.builder()
+                    .index(index)
+                    .valid(true)
+                    .subject(claims.getSubject())
+                    .roles(claims.get(JwtUtils.ROLES_CLAIM) instanceof Collection<?> roles
+                            ? roles.stream().map(String::valueOf).toList()
+                            : List.of())
+                    .expiresAt(claims.getExpiration())
+                    .build();
+        } catch (ExpiredJwtException e) {
+            return TokenValidationResult.builder()
+                    .index(index)
+                    .subject(e.getClaims().getSubject())
+                    .expiresAt(e.getClaims().getExpiration())
+                    .message("Token expirado")
+                    .build();
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenValidationResult.builder()
+                    .index(index)
+                    .message("Token inválido")
+                    .build();
+        }
+    }
+
 }
@@ -1,14 +1,16 @@
 package com.app.auth.Service;
 
 
+import com.app.auth.Models.User;
 import com.app.auth.Repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -21,4 +23,15 @@ public class CustomUserDetailsService implements UserDetailsService {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
     }
+
+    /**
+     * Persiste el hash re-generado por DelegatingPasswordEncoder cuando cambia el algoritmo o el costo.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User appUser = user instanceof User loaded ? loaded : userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + user.getUsername()));
+        appUser.setPassword(newPassword);
+        return userRepository.save(appUser);
+    }
 }
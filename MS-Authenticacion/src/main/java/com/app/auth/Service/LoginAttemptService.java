@@ -0,0 +1,243 @@
+package com.app.auth.Service;
+
+import com.app.auth.Exception.LoginBlockedException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contadores de logins fallidos por usuario y por IP en ventanas deslizantes en memoria.
+ * Al superar el umbral el login se rechaza antes de autenticar, sin gastar BCrypt.
+ * Los cambios de {@code failed_login_attempts}, {@code locked} y {@code locked_until} se
+ * acumulan y se escriben en lote cada {@code auth.app.loginAttemptsFlushMs}, en vez de un
+ * UPDATE por intento fallido.
+ * <p>
+ * Los contadores tienen un tope ({@code auth.app.loginTrackedKeysMax}): probar nombres de
+ * usuario al azar no hace crecer la memoria, y un usuario que sale del mapa sigue bloqueado
+ * en BD hasta su {@code locked_until}. Los bloqueos se liberan solo al vencer, así que un
+ * reinicio o una segunda instancia no los levantan antes de tiempo.
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    private static final int WINDOW_BUCKETS = 10;
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET failed_login_attempts = ?, locked = ?, locked_until = ? WHERE username = ?";
+
+    // Un bloqueo sin locked_until viene de una versión anterior, que no lo registraba
+    private static final String EXPIRED_CONDITION = "locked = true AND (locked_until IS NULL OR locked_until <= ?)";
+
+    private static final String EXPIRED_SQL = "SELECT username FROM users WHERE " + EXPIRED_CONDITION;
+
+    private static final String RELEASE_SQL = "UPDATE users SET failed_login_attempts = 0, locked = false, "
+            + "locked_until = NULL WHERE username = ? AND " + EXPIRED_CONDITION;
+
+    /**
+     * Estado pendiente de escribir para un usuario; se conserva solo el último.
+     * {@code lockedUntil} es null si no queda bloqueado.
+     */
+    record PendingUpdate(int failedAttempts, boolean locked, LocalDateTime lockedUntil) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserStatusService userStatusService;
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerIp;
+    private final long windowMs;
+    private final long bucketMs;
+    private final long retryAfterSeconds;
+    private final ConcurrentMap<String, SlidingWindow> userFailures;
+    private final ConcurrentMap<String, SlidingWindow> ipFailures;
+    private final Map<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+
+    public LoginAttemptService(JdbcTemplate jdbcTemplate,
+                               UserStatusService userStatusService,
+                               @Value("${auth.app.loginMaxFailuresPerUser:5}") int maxFailuresPerUser,
+                               @Value("${auth.app.loginMaxFailuresPerIp:50}") int maxFailuresPerIp,
+                               @Value("${auth.app.loginFailureWindowMs:900000}") long windowMs,
+                               @Value("${auth.app.loginTrackedKeysMax:100000}") long maxTrackedKeys) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userStatusService = userStatusService;
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.windowMs = windowMs;
+        this.bucketMs = Math.max(1, windowMs / WINDOW_BUCKETS);
+        this.retryAfterSeconds = Math.max(1, windowMs / 1000);
+        this.userFailures = boundedWindows(maxTrackedKeys);
+        this.ipFailures = boundedWindows(maxTrackedKeys);
+    }
+
+    /**
+     * Mapa acotado de ventanas. La admisión por frecuencia de Caffeine favorece a las claves
+     * con varios fallos frente a las que aparecen una sola vez, como los nombres al azar.
+     */
+    private ConcurrentMap<String, SlidingWindow> boundedWindows(long maxTrackedKeys) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMillis(windowMs))
+                .<String, SlidingWindow>build()
+                .asMap();
+    }
+
+    /**
+     * Lanza {@link LoginBlockedException} si el usuario o la IP superaron el umbral en la ventana.
+     */
+    public void checkAllowed(String username, String clientIp) {
+        long slot = currentSlot();
+        if (exceeds(userFailures, username, maxFailuresPerUser, slot)
+                || exceeds(ipFailures, clientIp, maxFailuresPerIp, slot)) {
+            throw new LoginBlockedException("Demasiados intentos fallidos, reintente más tarde", retryAfterSeconds);
+        }
+    }
+
+    public void loginFailed(String username, String clientIp) {
+        long slot = currentSlot();
+        if (clientIp != null) {
+            ipFailures.computeIfAbsent(clientIp, key -> new SlidingWindow()).increment(slot);
+        }
+        if (username != null) {
+            int failures = userFailures.computeIfAbsent(username, key -> new SlidingWindow()).increment(slot);
+            boolean locked = failures >= maxFailuresPerUser;
+            pending.put(username, new PendingUpdate(failures, locked,
+                    locked ? LocalDateTime.now().plus(Duration.ofMillis(windowMs)) : null));
+        }
+    }
+
+    public void loginSucceeded(String username) {
+        // Solo se escribe si había fallos registrados: un login normal no genera UPDATE
+        if (username != null && userFailures.remove(username) != null) {
+            pending.put(username, new PendingUpdate(0, false, null));
+        }
+    }
+
+    /**
+     * Descarta las ventanas vencidas y escribe en un solo batch los cambios acumulados desde
+     * el último flush. Los bloqueos en BD los libera {@link #releaseExpiredLocks} al vencer.
+     */
+    @Scheduled(fixedDelayString = "${auth.app.loginAttemptsFlushMs:5000}")
+    public void flush() {
+        long slot = currentSlot();
+        userFailures.values().removeIf(window -> window.total(slot) == 0);
+        ipFailures.values().removeIf(window -> window.total(slot) == 0);
+
+        List<Map.Entry<String, PendingUpdate>> batch = new ArrayList<>(pending.size());
+        for (String username : pending.keySet()) {
+            PendingUpdate update = pending.remove(username);
+            if (update != null) {
+                batch.add(Map.entry(username, update));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setInt(1, entry.getValue().failedAttempts());
+                ps.setBoolean(2, entry.getValue().locked());
+                LocalDateTime lockedUntil = entry.getValue().lockedUntil();
+                ps.setTimestamp(3, lockedUntil != null ? Timestamp.valueOf(lockedUntil) : null);
+                ps.setString(4, entry.getKey());
+            });
+        } catch (DataAccessException e) {
+            // Se reintenta en el próximo flush sin pisar cambios más nuevos
+            batch.forEach(entry -> pending.putIfAbsent(entry.getKey(), entry.getValue()));
+            logger.warn("No se pudieron persistir {} intentos de login: {}", batch.size(), e.getMessage());
+            return;
+        }
+        batch.forEach(entry -> userStatusService.evict(entry.getKey()));
+        logger.debug("Intentos de login persistidos: {}", batch.size());
+    }
+
+    /**
+     * Libera los bloqueos cuyo {@code locked_until} ya pasó, los de cualquier instancia o
+     * ejecución anterior. El UPDATE repite la condición por si el usuario se volvió a bloquear
+     * entre la consulta y la liberación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.app.loginLockReleaseMs:60000}",
+            initialDelayString = "${auth.app.loginLockReleaseMs:60000}")
+    public void releaseExpiredLocks() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> expired = jdbcTemplate.queryForList(EXPIRED_SQL, String.class, now);
+        if (expired.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_SQL, expired, expired.size(), (ps, username) -> {
+            ps.setString(1, username);
+            ps.setTimestamp(2, now);
+        });
+        expired.forEach(userStatusService::evict);
+        logger.info("Liberados {} bloqueos vencidos por intentos fallidos", expired.size());
+    }
+
+    private boolean exceeds(Map<String, SlidingWindow> counters, String key, int max, long slot) {
+        SlidingWindow window = key == null ? null : counters.get(key);
+        return window != null && window.total(slot) >= max;
+    }
+
+    private long currentSlot() {
+        return System.currentTimeMillis() / bucketMs;
+    }
+
+    /**
+     * Ventana deslizante sin locks: cada bucket empaqueta en un long el número de slot
+     * (bits altos) y su contador (bits bajos), y se actualiza con CAS. Un bucket de un
+     * slot anterior se reinicia al reutilizarse.
+     */
+    static final class SlidingWindow {
+
+        private static final int COUNT_BITS = 20;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(WINDOW_BUCKETS);
+
+        int increment(long slot) {
+            int index = (int) (slot % WINDOW_BUCKETS);
+            while (true) {
+                long current = buckets.get(index);
+                long next;
+                if (current >>> COUNT_BITS == slot) {
+                    next = (current & COUNT_MASK) == COUNT_MASK ? current : current + 1;
+                } else {
+                    next = (slot << COUNT_BITS) | 1;
+                }
+                if (buckets.compareAndSet(index, current, next)) {
+                    return total(slot);
+                }
+            }
+        }
+
+        int total(long slot) {
+            int total = 0;
+            for (int i = 0; i < WINDOW_BUCKETS; i++) {
+                long bucket = buckets.get(i);
+                long bucketSlot = bucket >>> COUNT_BITS;
+                if (bucketSlot <= slot && bucketSlot > slot - WINDOW_BUCKETS) {
+                    total += (int) (bucket & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+    }
+}
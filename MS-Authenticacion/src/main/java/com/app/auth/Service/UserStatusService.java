@@ -0,0 +1,46 @@
+package com.app.auth.Service;
+
+import com.app.auth.Dto.UserStatus;
+import com.app.auth.Repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Cache pequeño del estado (habilitado/bloqueado) de las cuentas. Cuando el principal se
+ * reconstruye desde los claims del token, un usuario deshabilitado o bloqueado se sigue
+ * rechazando como máximo {@code auth.app.userStatusCacheTtlMs} después del cambio.
+ */
+@Service
+public class UserStatusService {
+
+    private static final UserStatus NOT_FOUND = new UserStatus(false, true);
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserStatus> statusCache;
+
+    public UserStatusService(UserRepository userRepository,
+                             @Value("${auth.app.userStatusCacheMaxSize:1000}") long maxSize,
+                             @Value("${auth.app.userStatusCacheTtlMs:30000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.statusCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public boolean isActive(String username) {
+        return statusCache.get(username, key -> userRepository.findStatusByUsername(key).orElse(NOT_FOUND))
+                .isActive();
+    }
+
+    /**
+     * Descarta el estado cacheado para que el próximo request lo lea de la BD.
+     */
+    public void evict(String username) {
+        statusCache.invalidate(username);
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.auth.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Las entidades usan ids por bloques (pooled-lo) en lugar de AUTO_INCREMENT para que Hibernate
+ * pueda agrupar los INSERT. MySQL no tiene secuencias: Hibernate las emula con una tabla
+ * {@code <tabla>_seq} que {@code ddl-auto=update} crea con {@code next_val = 1}, aunque la tabla
+ * ya tenga filas. Al iniciar se adelanta cada secuencia hasta {@code max(id) + 1}; nunca la
+ * retrocede. Con otra base no hace nada.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    private static final List<Secuencia> SECUENCIAS = List.of(
+            new Secuencia("users_seq", "users", "id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alinear() {
+        try {
+            String producto = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            if (!"MySQL".equalsIgnoreCase(producto)) {
+                return;
+            }
+
+            for (Secuencia secuencia : SECUENCIAS) {
+                String maximo = "SELECT COALESCE(MAX(" + secuencia.columnaId() + "), 0) FROM " + secuencia.tabla();
+                int actualizadas = jdbcTemplate.update("UPDATE " + secuencia.nombre()
+                        + " SET next_val = (" + maximo + ") + 1 WHERE next_val <= (" + maximo + ")");
+                if (actualizadas > 0) {
+                    logger.info("Secuencia {} alineada con el máximo id de {}", secuencia.nombre(), secuencia.tabla());
+                }
+            }
+        } catch (Exception e) {
+            // Sin alinear, los primeros INSERT pueden chocar con ids existentes
+            logger.warn("No se pudieron alinear las secuencias de ids: {}", e.getMessage());
+        }
+    }
+
+    private record Secuencia(String nombre, String tabla, String columnaId) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.auth.config.jwt;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
@@ -9,7 +10,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.app.auth.Service.UserStatusService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,6 +35,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
     private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserStatusService userStatusService;
+
+    @Value("${auth.app.jwtStatelessPrincipal:true}")
+    private boolean statelessPrincipal;
+
+    @Value("${auth.app.userStatusCheck:true}")
+    private boolean userStatusCheck;
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Override
@@ -46,7 +58,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            authenticateUser(token, request, response);
+            if (!authenticateUser(token, request, response)) {
+                return;
+            }
         } catch (Exception e) {
             logger.error("Error en la autenticación: {}", e.getMessage());
             response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error en la autenticación");
@@ -56,15 +70,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void authenticateUser(String token, HttpServletRequest request, HttpServletResponse response)
+    /**
+     * Autentica el request a partir del token. Devuelve {@code false} si ya se respondió con error.
+     */
+    private boolean authenticateUser(String token, HttpServletRequest request, HttpServletResponse response)
             throws IOException {
         try {
-            String username = jwtUtils.getUsernameFromToken(token);
+            // Un único parseo: firma, expiración y subject salen de los mismos claims
+            Claims claims = jwtUtils.parseToken(token);
+            String username = claims.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Tokens con roles/permisos embebidos: el principal sale de los claims sin ir a la BD
+                if (statelessPrincipal && jwtUtils.hasAuthoritiesClaims(claims)) {
+                    if (userStatusCheck && !userStatusService.isActive(username)) {
+                        logger.error("Usuario deshabilitado o bloqueado: {}", username);
+                        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Usuario deshabilitado o bloqueado");
+                        return false;
+                    }
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            username, null, jwtUtils.getAuthorities(claims));
+
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    return true;
+                }
+
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-                if (jwtUtils.isTokenValid(token, userDetails)) {
+                if (jwtUtils.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
 
@@ -72,21 +106,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
+            return true;
         } catch (ExpiredJwtException e) {
             logger.error("Token expirado: {}", e.getMessage());
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token expirado");
+            return false;
         } catch (MalformedJwtException e) {
             logger.error("Token inválido: {}", e.getMessage());
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Token inválido");
+            return false;
         } catch (SignatureException e) {
             logger.error("Firma del token no válida: {}", e.getMessage());
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Firma del token no válida");
+            return false;
         } catch (IllegalArgumentException e) {
             logger.error("Token ausente o incorrecto: {}", e.getMessage());
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Token ausente o incorrecto");
+            return false;
         } catch (UsernameNotFoundException e) {
             logger.error("Usuario no encontrado: {}", e.getMessage());
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Usuario no encontrado");
+            return false;
         }
     }
 
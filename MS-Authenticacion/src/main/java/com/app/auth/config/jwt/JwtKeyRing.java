@@ -0,0 +1,256 @@
+package com.app.auth.config.jwt;
+
+import com.app.auth.Models.JwtKey;
+import com.app.auth.Repository.JwtKeyRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Conjunto rotativo de claves asimétricas (RS256 o ES256) para firmar los JWT.
+ * La clave vigente firma; las retiradas se conservan para verificación hasta que vence
+ * el último token que pudieron firmar. Con {@code auth.app.jwtSigningAlgorithm=HS256}
+ * el anillo queda vacío y JwtUtils sigue firmando con el secreto compartido.
+ * <p>
+ * Las claves viven en la tabla {@code jwt_keys}, compartida por todas las instancias: un
+ * reinicio no invalida los tokens emitidos y cualquier instancia verifica los de las demás.
+ * La privada se guarda cifrada con AES-GCM bajo {@code auth.app.jwtKeyEncryptionSecret}.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    /**
+     * Clave del anillo; {@code retiredAt} es 0 mientras sea la clave de firma vigente.
+     */
+    public record SigningKey(String kid, KeyPair keyPair, long createdAt, long retiredAt) {
+        public PrivateKey privateKey() {
+            return keyPair.getPrivate();
+        }
+
+        public PublicKey publicKey() {
+            return keyPair.getPublic();
+        }
+    }
+
+    private final JwtKeyRepository jwtKeyRepository;
+    private final SignatureAlgorithm algorithm;
+    private final long jwtExpirationMs;
+    private final long rotationMs;
+    private final long reloadMinIntervalMs;
+    private final SecretKeySpec encryptionKey;
+    private final SecureRandom random = new SecureRandom();
+    private volatile Map<String, SigningKey> keys = Map.of();
+    private volatile SigningKey current;
+    private volatile long lastLoad;
+
+    public JwtKeyRing(JwtKeyRepository jwtKeyRepository,
+                      @Value("${auth.app.jwtSigningAlgorithm:HS256}") String algorithm,
+                      @Value("${auth.app.jwtExpirationMs}") long jwtExpirationMs,
+                      @Value("${auth.app.jwtKeyRotationMs:86400000}") long rotationMs,
+                      @Value("${auth.app.jwtKeyReloadMinIntervalMs:1000}") long reloadMinIntervalMs,
+                      @Value("${auth.app.jwtKeyEncryptionSecret:${auth.app.jwtSecret}}") String encryptionSecret) {
+        this.jwtKeyRepository = jwtKeyRepository;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.rotationMs = rotationMs;
+        this.reloadMinIntervalMs = reloadMinIntervalMs;
+        this.encryptionKey = new SecretKeySpec(sha256(encryptionSecret), "AES");
+        this.algorithm = switch (algorithm.toUpperCase()) {
+            case "RS256" -> Jwts.SIG.RS256;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "HS256" -> null;
+            default -> throw new IllegalArgumentException("Algoritmo de firma no soportado: " + algorithm);
+        };
+        if (this.algorithm != null) {
+            load();
+            if (current == null) {
+                rotate();
+            }
+        }
+    }
+
+    public boolean isAsymmetric() {
+        return algorithm != null;
+    }
+
+    public SigningKey current() {
+        return current;
+    }
+
+    /**
+     * Clave pública del {@code kid}. Un kid desconocido puede ser de una clave recién creada
+     * por otra instancia: se recarga la tabla, como mucho una vez por
+     * {@code auth.app.jwtKeyReloadMinIntervalMs} para que kids inventados no la saturen.
+     */
+    public PublicKey getPublicKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        SigningKey key = keys.get(kid);
+        if (key == null && algorithm != null && System.currentTimeMillis() - lastLoad >= reloadMinIntervalMs) {
+            load();
+            key = keys.get(kid);
+        }
+        return key == null ? null : key.publicKey();
+    }
+
+    /**
+     * Recarga el anillo y rota si la clave vigente ya cumplió {@code auth.app.jwtKeyRotationMs};
+     * si otra instancia rotó antes, solo toma su clave.
+     */
+    @Scheduled(fixedDelayString = "${auth.app.jwtKeySyncMs:60000}",
+            initialDelayString = "${auth.app.jwtKeySyncMs:60000}")
+    public synchronized void sync() {
+        if (algorithm == null) {
+            return;
+        }
+        load();
+        SigningKey vigente = current;
+        if (vigente == null || vigente.createdAt() + rotationMs <= System.currentTimeMillis()) {
+            rotate();
+        }
+    }
+
+    /**
+     * Genera y guarda una nueva clave de firma y retira las anteriores. Las claves retiradas se
+     * borran cuando ya no puede existir un token vigente firmado con ellas.
+     */
+    public synchronized void rotate() {
+        if (algorithm == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        KeyPair keyPair = algorithm.keyPair().build();
+        List<JwtKey> cambios = new ArrayList<>();
+        List<JwtKey> vencidas = new ArrayList<>();
+        for (JwtKey existente : jwtKeyRepository.findByAlgorithm(algorithm.getId())) {
+            if (existente.getRetiredAt() == null) {
+                existente.setRetiredAt(now);
+                cambios.add(existente);
+            } else if (existente.getRetiredAt().toEpochMilli() + jwtExpirationMs < now.toEpochMilli()) {
+                vencidas.add(existente);
+            }
+        }
+        JwtKey nueva = JwtKey.builder()
+                .kid(UUID.randomUUID().toString())
+                .algorithm(algorithm.getId())
+                .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                .privateKey(encrypt(keyPair.getPrivate().getEncoded()))
+                .createdAt(now)
+                .build();
+        cambios.add(nueva);
+        jwtKeyRepository.saveAll(cambios);
+        jwtKeyRepository.deleteAll(vencidas);
+        load();
+        logger.info("Nueva clave de firma JWT {} ({}), claves publicadas: {}", nueva.getKid(), algorithm.getId(), keys.size());
+    }
+
+    /**
+     * Lee las claves del algoritmo configurado. La vigente es la más reciente sin retirar; si dos
+     * instancias rotaron a la vez, la otra queda solo para verificar.
+     */
+    private void load() {
+        lastLoad = System.currentTimeMillis();
+        Map<String, SigningKey> cargadas = new HashMap<>();
+        for (JwtKey key : jwtKeyRepository.findByAlgorithm(algorithm.getId())) {
+            long retiredAt = key.getRetiredAt() == null ? 0 : key.getRetiredAt().toEpochMilli();
+            if (retiredAt > 0 && retiredAt + jwtExpirationMs < lastLoad) {
+                continue;
+            }
+            cargadas.put(key.getKid(), new SigningKey(key.getKid(), toKeyPair(key), key.getCreatedAt().toEpochMilli(), retiredAt));
+        }
+        keys = Map.copyOf(cargadas);
+        current = cargadas.values().stream()
+                .filter(key -> key.retiredAt() == 0)
+                .max(Comparator.comparingLong(SigningKey::createdAt))
+                .orElse(null);
+    }
+
+    private KeyPair toKeyPair(JwtKey key) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance(algorithm == Jwts.SIG.RS256 ? "RSA" : "EC");
+            PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+            PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(decrypt(key.getPrivateKey())));
+            return new KeyPair(publicKey, privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo leer la clave de firma JWT " + key.getKid(), e);
+        }
+    }
+
+    private String encrypt(byte[] plain) {
+        try {
+            byte[] iv = new byte[GCM_IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                    .put(iv).put(encrypted).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo cifrar la clave de firma JWT", e);
+        }
+    }
+
+    private byte[] decrypt(String stored) throws GeneralSecurityException {
+        byte[] data = Base64.getDecoder().decode(stored);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, data, 0, GCM_IV_BYTES));
+        return cipher.doFinal(data, GCM_IV_BYTES, data.length - GCM_IV_BYTES);
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Claves públicas vigentes y retiradas serializadas como JWK Set (RFC 7517).
+     * Se usa el serializador de jjwt porque los valores internos de los Jwk no son
+     * serializables directamente por el ObjectMapper de Spring.
+     */
+    public String toJwkSetJson() {
+        return keys.values().stream()
+                .map(key -> Jwks.json(Jwks.builder()
+                        .key(key.publicKey())
+                        .id(key.kid())
+                        .algorithm(algorithm.getId())
+                        .publicKeyUse("sig")
+                        .build()))
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+}
@@ -1,23 +1,37 @@
 package com.app.auth.config.jwt;
 
+import com.app.auth.Models.Role;
+import com.app.auth.Models.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.function.Function;
 
 
 @Service
 public class JwtUtils {
 
+    public static final String ROLES_CLAIM = "roles";
+    public static final String PERMISSIONS_CLAIM = "permissions";
+
     @Value("${auth.app.jwtSecret}")
     private String jwtSecret;
 
@@ -28,19 +42,108 @@ public class JwtUtils {
     private String jwtCookie;
     @Value("${auth.app.jwtRefresh}")
     private String jwtRefreshMs;
+
+    @Value("${auth.app.jwtAuthoritiesInToken:true}")
+    private boolean authoritiesInToken;
     private static final Logger logger = LoggerFactory.getLogger(AuthEntryPointJwt.class);
 
+    @Autowired(required = false)
+    private JwtKeyRing keyRing;
+
+    // La clave y el parser son inmutables y thread-safe: se construyen una sola vez
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return getVerificationKey(header);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Los tokens HS256 se verifican con el secreto compartido; los asimétricos con la clave
+     * pública del anillo indicada por el {@code kid} del header.
+     */
+    private Key getVerificationKey(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        if (algorithm != null && algorithm.startsWith("HS")) {
+            return signingKey;
+        }
+        Key key = keyRing == null ? null : keyRing.getPublicKey(header.getKeyId());
+        if (key == null) {
+            throw new SignatureException("Clave de firma desconocida: " + header.getKeyId());
+        }
+        return key;
+    }
+
+    private boolean isAsymmetric() {
+        return keyRing != null && keyRing.isAsymmetric();
+    }
+
     public String getUsernameFromToken(String token) {
         return getClaims(token, Claims::getSubject);
     }
 
     public String getToken(UserDetails user) {
-        return generateTokenFromUsername(new HashMap<>(), user);
+        HashMap<String, Object> extraClaims = new HashMap<>();
+        if (authoritiesInToken) {
+            // Roles y permisos viajan en el token para que los filtros no consulten la BD
+            extraClaims.put(ROLES_CLAIM, getRoleNames(user));
+            extraClaims.put(PERMISSIONS_CLAIM, getPermissionNames(user));
+        }
+        return generateTokenFromUsername(extraClaims, user);
+    }
+
+    /**
+     * Indica si el token fue emitido con los claims de roles y permisos.
+     */
+    public boolean hasAuthoritiesClaims(Claims claims) {
+        return claims.containsKey(ROLES_CLAIM);
+    }
+
+    /**
+     * Reconstruye las autoridades desde los claims {@code roles} y {@code permissions}.
+     */
+    public List<GrantedAuthority> getAuthorities(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        addAuthorities(authorities, claims.get(ROLES_CLAIM));
+        addAuthorities(authorities, claims.get(PERMISSIONS_CLAIM));
+        return authorities;
+    }
+
+    private void addAuthorities(List<GrantedAuthority> authorities, Object claim) {
+        if (claim instanceof Collection<?> values) {
+            values.forEach(value -> authorities.add(new SimpleGrantedAuthority(String.valueOf(value))));
+        }
+    }
+
+    private List<String> getRoleNames(UserDetails user) {
+        if (user instanceof User appUser) {
+            return appUser.getRoles().stream().map(Role::getName).toList();
+        }
+        return user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .toList();
+    }
+
+    private List<String> getPermissionNames(UserDetails user) {
+        return user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> !authority.startsWith("ROLE_"))
+                .distinct()
+                .toList();
     }
 
     public Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
     private String generateTokenFromUsername(HashMap<String, Object> extraClaims, UserDetails user) {
@@ -50,23 +153,32 @@ public class JwtUtils {
         extraClaims.put("issuedAt", issuedAt);
         extraClaims.put("expiration", expiration);
 
-        String token = Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(extraClaims)
                 .subject(user.getUsername())
                 .issuedAt(issuedAt)
-                .expiration(expiration)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
-        return token;
+                .expiration(expiration);
+
+        if (isAsymmetric()) {
+            JwtKeyRing.SigningKey key = keyRing.current();
+            return builder.header().keyId(key.kid()).and()
+                    .signWith(key.privateKey())
+                    .compact();
+        }
+        return builder.signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+    }
+
+    /**
+     * Verifica firma y expiración del token en un único parseo y devuelve sus claims.
+     * Es el punto de entrada compartido por el filtro, la validación y la emisión.
+     */
+    public Claims parseToken(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     private Claims getAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parseToken(token);
         } catch (Exception e) {
             logger.error("Error al validar token: " + e.getMessage());
             throw e;
@@ -85,12 +197,21 @@ public class JwtUtils {
     }
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return isTokenValid(parseToken(token), userDetails);
+        } catch (ExpiredJwtException ex) {
+            logger.warn("Token expirado: {}", ex.getMessage());
+            throw new RuntimeException(ex);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.error("Error validando token: {}", e.getMessage());
+            throw new RuntimeException(new Exception("Error procesando JWT", e));
+        }
+    }
 
+    /**
+     * Variante sobre claims ya parseados, para no volver a verificar la firma del mismo token.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        try {
             final String username = claims.getSubject();
             final boolean isExpired = claims.getExpiration().before(new Date());
 
@@ -113,12 +234,9 @@ public class JwtUtils {
         }
     }
 
-    public void validateToken(String token) {
+    public Claims validateToken(String token) {
         try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            return parseToken(token);
         } catch (ExpiredJwtException ex) {
             logger.warn("Token expirado: {}", ex.getMessage());
             throw ex;
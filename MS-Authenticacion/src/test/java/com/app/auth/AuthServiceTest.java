@@ -0,0 +1,142 @@
+package com.app.auth;
+
+import com.app.auth.Dto.AuthResponse;
+import com.app.auth.Dto.BatchTokenValidationResponse;
+import com.app.auth.Dto.RegisterRequest;
+import com.app.auth.Dto.TokenValidationResult;
+import com.app.auth.Models.Role;
+import com.app.auth.Repository.RoleRepository;
+import com.app.auth.Repository.UserRepository;
+import com.app.auth.Service.AuthService;
+import com.app.auth.Service.PasswordHashingExecutor;
+import com.app.auth.config.jwt.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String SECRET = "9ab67789df495410c1798fea3ccb00fb8816221312a10b4e00a874a7e4b46960cd8495067622053e6e6ad36addae12c4308921ad8ba01ab23ce2f5bfc1936691ce66bec658cca86526e52e6f337276e5900817fff24fbf04124c3d26a51b364966360da1b4b1eb0a6e6d99988fe21637cbbfb5b092e1ff2a894d658b422ff98ae57f16798286a1d3535052f4f81093a0a80dd3fcc2f6f3516d021f07f824ec809b5868bc439e578a4c82253c02abb0364412a3cc2a86845a91ad2a11285299a594c04815467df481d2a2a0af7f92a61456259ae79789ca4263ea83d017d85169464178dc34f044a2daafd5ad5e325dc7a55ce4cb7fdcfeba0c9c8d90f05a31e6";
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private JwtUtils jwtUtils;
+    private UserDetails admin;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = newJwtUtils(3_600_000);
+        ReflectionTestUtils.setField(authService, "jwtService", jwtUtils);
+        ReflectionTestUtils.setField(authService, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(authService, "batchValidationMaxTokens", 3);
+        admin = User.withUsername("admin").password("x").authorities("ROLE_ADMIN").build();
+    }
+
+    private JwtUtils newJwtUtils(int expirationMs) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(utils, "authoritiesInToken", true);
+        ReflectionTestUtils.invokeMethod(utils, "init");
+        return utils;
+    }
+
+    @Test
+    void validateTokens_deberiaRetornarResultadoPorTokenEnOrden() {
+        String valido = jwtUtils.getToken(admin);
+        String expirado = newJwtUtils(-60_000).getToken(admin);
+
+        BatchTokenValidationResponse response = authService.validateTokens(List.of(valido, "no-es-un-jwt", expirado));
+
+        assertEquals(3, response.getTotal());
+        assertEquals(1, response.getValid());
+        List<TokenValidationResult> results = response.getResults();
+        assertTrue(results.get(0).isValid());
+        assertEquals("admin", results.get(0).getSubject());
+        assertEquals(List.of("ROLE_ADMIN"), results.get(0).getRoles());
+        assertNotNull(results.get(0).getExpiresAt());
+        assertFalse(results.get(1).isValid());
+        assertEquals("Token inválido", results.get(1).getMessage());
+        assertFalse(results.get(2).isValid());
+        assertEquals("Token expirado", results.get(2).getMessage());
+        assertEquals(2, results.get(2).getIndex());
+    }
+
+    @Test
+    void validateTokens_deberiaRechazarLoteMayorAlMaximo() {
+        List<String> tokens = Collections.nCopies(4, "token");
+
+        assertThrows(IllegalArgumentException.class, () -> authService.validateTokens(tokens));
+    }
+
+    @Test
+    void validateTokens_deberiaRechazarLoteVacio() {
+        assertThrows(IllegalArgumentException.class, () -> authService.validateTokens(List.of()));
+    }
+
+    @Test
+    void createUserAsync_deberiaHashearFueraDelHiloQueLlamaYGuardarAlTerminar() throws Exception {
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(1, 1);
+        ReflectionTestUtils.setField(authService, "passwordHashingExecutor", hashing);
+        CountDownLatch hashLiberado = new CountDownLatch(1);
+        when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(Role.builder().name("ROLE_USER").permissions(Set.of()).build()));
+        when(passwordEncoder.encode("secreto")).thenAnswer(invocation -> {
+            assertTrue(hashLiberado.await(5, TimeUnit.SECONDS));
+            return "hash";
+        });
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("ana");
+        request.setEmail("ana@tienda.cl");
+        request.setPassword("secreto");
+
+        try {
+            CompletableFuture<AuthResponse> registro = authService.createUserAsync(request);
+
+            assertFalse(registro.isDone());
+            verify(userRepository, never()).save(any());
+            hashLiberado.countDown();
+            AuthResponse response = registro.get(5, TimeUnit.SECONDS);
+            assertEquals("ana", response.getUsername());
+            assertEquals("ana", jwtUtils.parseToken(response.getToken()).getSubject());
+            verify(userRepository).save(argThat(user -> "hash".equals(user.getPassword())));
+        } finally {
+            hashLiberado.countDown();
+            hashing.shutdown();
+        }
+    }
+}
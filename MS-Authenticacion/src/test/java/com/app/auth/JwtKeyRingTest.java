@@ -0,0 +1,173 @@
+package com.app.auth;
+
+import com.app.auth.Models.JwtKey;
+import com.app.auth.Repository.JwtKeyRepository;
+import com.app.auth.config.jwt.JwtKeyRing;
+import com.app.auth.config.jwt.JwtUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "9ab67789df495410c1798fea3ccb00fb8816221312a10b4e00a874a7e4b46960cd8495067622053e6e6ad36addae12c4308921ad8ba01ab23ce2f5bfc1936691ce66bec658cca86526e52e6f337276e5900817fff24fbf04124c3d26a51b364966360da1b4b1eb0a6e6d99988fe21637cbbfb5b092e1ff2a894d658b422ff98ae57f16798286a1d3535052f4f81093a0a80dd3fcc2f6f3516d021f07f824ec809b5868bc439e578a4c82253c02abb0364412a3cc2a86845a91ad2a11285299a594c04815467df481d2a2a0af7f92a61456259ae79789ca4263ea83d017d85169464178dc34f044a2daafd5ad5e325dc7a55ce4cb7fdcfeba0c9c8d90f05a31e6";
+
+    private final UserDetails user = User.withUsername("admin").password("x").authorities("ROLE_USER").build();
+
+    private final Map<String, JwtKey> filas = new ConcurrentHashMap<>();
+
+    /**
+     * Tabla jwt_keys en memoria; devuelve copias como lo haría la base.
+     */
+    @SuppressWarnings("unchecked")
+    private JwtKeyRepository tabla(Map<String, JwtKey> filas) {
+        JwtKeyRepository repository = mock(JwtKeyRepository.class);
+        when(repository.findByAlgorithm(anyString())).thenAnswer(invocation -> filas.values().stream()
+                .filter(key -> key.getAlgorithm().equals(invocation.getArgument(0)))
+                .map(JwtKeyRingTest::copia)
+                .toList());
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            ((Iterable<JwtKey>) invocation.getArgument(0)).forEach(key -> filas.put(key.getKid(), copia(key)));
+            return null;
+        });
+        doAnswer(invocation -> {
+            ((Iterable<JwtKey>) invocation.getArgument(0)).forEach(key -> filas.remove(key.getKid()));
+            return null;
+        }).when(repository).deleteAll(anyIterable());
+        return repository;
+    }
+
+    private static JwtKey copia(JwtKey key) {
+        return new JwtKey(key.getKid(), key.getAlgorithm(), key.getPublicKey(), key.getPrivateKey(),
+                key.getCreatedAt(), key.getRetiredAt());
+    }
+
+    private JwtKeyRing anillo(String algorithm) {
+        return anillo(algorithm, new ConcurrentHashMap<>(), 86_400_000);
+    }
+
+    private JwtKeyRing anillo(String algorithm, Map<String, JwtKey> filas, long rotationMs) {
+        return new JwtKeyRing(tabla(filas), algorithm, 3_600_000, rotationMs, 0, SECRET);
+    }
+
+    private JwtUtils jwtUtils(JwtKeyRing keyRing) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(utils, "keyRing", keyRing);
+        ReflectionTestUtils.invokeMethod(utils, "init");
+        return utils;
+    }
+
+    @Test
+    void getToken_deberiaFirmarConRs256YKidCuandoAnilloEsAsimetrico() {
+        JwtKeyRing keyRing = anillo("RS256");
+        JwtUtils utils = jwtUtils(keyRing);
+
+        String token = utils.getToken(user);
+
+        var header = Jwts.parser().keyLocator(h -> keyRing.current().publicKey()).build()
+                .parseSignedClaims(token).getHeader();
+        assertEquals("RS256", header.getAlgorithm());
+        assertEquals(keyRing.current().kid(), header.getKeyId());
+        assertEquals("admin", utils.parseToken(token).getSubject());
+    }
+
+    @Test
+    void parseToken_deberiaAceptarTokensDeClaveRetiradaTrasRotar() throws Exception {
+        JwtKeyRing keyRing = anillo("ES256");
+        JwtUtils utils = jwtUtils(keyRing);
+        String anterior = utils.getToken(user);
+
+        keyRing.rotate();
+
+        assertEquals("admin", utils.parseToken(anterior).getSubject());
+        assertEquals("admin", utils.parseToken(utils.getToken(user)).getSubject());
+        assertEquals(2, new ObjectMapper().readTree(keyRing.toJwkSetJson()).get("keys").size());
+    }
+
+    @Test
+    void parseToken_deberiaRechazarKidDesconocido() {
+        String token = jwtUtils(anillo("RS256")).getToken(user);
+        JwtUtils otraInstancia = jwtUtils(anillo("RS256"));
+
+        assertThrows(SignatureException.class, () -> otraInstancia.parseToken(token));
+    }
+
+    @Test
+    void parseToken_deberiaSeguirAceptandoHs256() {
+        JwtUtils utils = jwtUtils(anillo("RS256"));
+        String hs256 = jwtUtils(anillo("HS256")).getToken(user);
+
+        assertEquals("admin", utils.parseToken(hs256).getSubject());
+    }
+
+    @Test
+    void toJwkSetJson_deberiaSerializarseComoJwksEstandar() throws Exception {
+        JwtKeyRing keyRing = anillo("RS256");
+
+        JsonNode json = new ObjectMapper().readTree(keyRing.toJwkSetJson());
+
+        JsonNode key = json.get("keys").get(0);
+        assertEquals(keyRing.current().kid(), key.get("kid").asText());
+        assertEquals("RSA", key.get("kty").asText());
+        assertEquals("RS256", key.get("alg").asText());
+        assertTrue(key.hasNonNull("n"));
+        assertFalse(key.has("d"));
+        assertEquals(1, Jwks.setParser().build().parse(keyRing.toJwkSetJson()).getKeys().size());
+    }
+
+    @Test
+    void parseToken_deberiaAceptarTokensDeOtraInstanciaYTrasReiniciar() {
+        JwtKeyRing primera = anillo("ES256", filas, 86_400_000);
+        String token = jwtUtils(primera).getToken(user);
+
+        JwtKeyRing segunda = anillo("ES256", filas, 86_400_000);
+        assertEquals(primera.current().kid(), segunda.current().kid());
+        assertEquals("admin", jwtUtils(segunda).parseToken(token).getSubject());
+
+        primera.rotate();
+        String rotado = jwtUtils(primera).getToken(user);
+        assertEquals("admin", jwtUtils(segunda).parseToken(rotado).getSubject());
+        assertEquals(2, filas.size());
+    }
+
+    @Test
+    void sync_deberiaRotarSoloCuandoVenceLaClaveVigente() {
+        JwtKeyRing vigente = anillo("RS256", filas, 86_400_000);
+        String kid = vigente.current().kid();
+        vigente.sync();
+        assertEquals(kid, vigente.current().kid());
+
+        JwtKeyRing vencida = anillo("RS256", filas, 0);
+        vencida.sync();
+        assertNotEquals(kid, vencida.current().kid());
+        assertNotNull(filas.get(kid).getRetiredAt());
+    }
+
+    @Test
+    void rotate_deberiaGuardarLaClavePrivadaCifrada() {
+        JwtKeyRing keyRing = anillo("RS256", filas, 86_400_000);
+
+        JwtKey guardada = filas.get(keyRing.current().kid());
+        assertNotEquals(Base64.getEncoder().encodeToString(keyRing.current().privateKey().getEncoded()),
+                guardada.getPrivateKey());
+        assertThrows(IllegalStateException.class,
+                () -> new JwtKeyRing(tabla(filas), "RS256", 3_600_000, 86_400_000, 0, "otro-secreto"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.app.auth;
+
+import com.app.auth.config.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "9ab67789df495410c1798fea3ccb00fb8816221312a10b4e00a874a7e4b46960cd8495067622053e6e6ad36addae12c4308921ad8ba01ab23ce2f5bfc1936691ce66bec658cca86526e52e6f337276e5900817fff24fbf04124c3d26a51b364966360da1b4b1eb0a6e6d99988fe21637cbbfb5b092e1ff2a894d658b422ff98ae57f16798286a1d3535052f4f81093a0a80dd3fcc2f6f3516d021f07f824ec809b5868bc439e578a4c82253c02abb0364412a3cc2a86845a91ad2a11285299a594c04815467df481d2a2a0af7f92a61456259ae79789ca4263ea83d017d85169464178dc34f044a2daafd5ad5e325dc7a55ce4cb7fdcfeba0c9c8d90f05a31e6";
+
+    private JwtUtils jwtUtils;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = newJwtUtils(3_600_000);
+        user = User.withUsername("admin").password("x").authorities("ROLE_USER").build();
+    }
+
+    private JwtUtils newJwtUtils(int expirationMs) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.invokeMethod(utils, "init");
+        return utils;
+    }
+
+    @Test
+    void parseToken_deberiaRetornarClaimsCuandoTokenEsValido() {
+        Claims claims = jwtUtils.parseToken(jwtUtils.getToken(user));
+
+        assertEquals("admin", claims.getSubject());
+        assertTrue(jwtUtils.isTokenValid(claims, user));
+    }
+
+    @Test
+    void getToken_deberiaEmbeberRolesYPermisosCuandoModoEstaActivo() {
+        ReflectionTestUtils.setField(jwtUtils, "authoritiesInToken", true);
+        UserDetails conPermisos = User.withUsername("admin").password("x")
+                .authorities("ROLE_ADMIN", "READ_PERMISSIONS").build();
+
+        Claims claims = jwtUtils.parseToken(jwtUtils.getToken(conPermisos));
+
+        assertTrue(jwtUtils.hasAuthoritiesClaims(claims));
+        assertEquals(List.of("ROLE_ADMIN", "READ_PERMISSIONS"),
+                jwtUtils.getAuthorities(claims).stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void getToken_deberiaOmitirClaimsDeAutoridadesCuandoModoEstaInactivo() {
+        Claims claims = jwtUtils.parseToken(jwtUtils.getToken(user));
+
+        assertFalse(jwtUtils.hasAuthoritiesClaims(claims));
+    }
+
+    @Test
+    void parseToken_deberiaReutilizarLaMismaClave() {
+        assertSame(jwtUtils.getSigningKey(), jwtUtils.getSigningKey());
+    }
+
+    @Test
+    void parseToken_deberiaRechazarTokenExpirado() {
+        String expirado = newJwtUtils(-60_000).getToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtils.parseToken(expirado));
+    }
+
+    @Test
+    void validateToken_deberiaLanzarJwtExceptionCuandoFirmaFueAlterada() {
+        String token = jwtUtils.getToken(user);
+        String alterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtils.validateToken(alterado));
+    }
+}
@@ -0,0 +1,163 @@
+package com.app.auth;
+
+import com.app.auth.Exception.LoginBlockedException;
+import com.app.auth.Service.LoginAttemptService;
+import com.app.auth.Service.UserStatusService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserStatusService userStatusService;
+
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptService = new LoginAttemptService(jdbcTemplate, userStatusService, 3, 10, 60_000, 1_000);
+    }
+
+    @Test
+    void checkAllowed_deberiaBloquearUsuarioAlAlcanzarElUmbral() {
+        loginAttemptService.loginFailed("admin", "10.0.0.1");
+        loginAttemptService.loginFailed("admin", "10.0.0.2");
+        loginAttemptService.checkAllowed("admin", "10.0.0.3");
+        loginAttemptService.loginFailed("admin", "10.0.0.3");
+
+        LoginBlockedException e = assertThrows(LoginBlockedException.class,
+                () -> loginAttemptService.checkAllowed("admin", "10.0.0.4"));
+        assertEquals(60, e.getRetryAfterSeconds());
+        loginAttemptService.checkAllowed("otro", "10.0.0.4");
+    }
+
+    @Test
+    void checkAllowed_deberiaBloquearIpQueProbaraMuchosUsuarios() {
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.loginFailed("usuario" + i, "10.0.0.1");
+        }
+
+        assertThrows(LoginBlockedException.class, () -> loginAttemptService.checkAllowed("nuevo", "10.0.0.1"));
+        loginAttemptService.checkAllowed("nuevo", "10.0.0.2");
+    }
+
+    @Test
+    void loginSucceeded_deberiaReiniciarElContador() {
+        loginAttemptService.loginFailed("admin", null);
+        loginAttemptService.loginFailed("admin", null);
+        loginAttemptService.loginSucceeded("admin");
+        loginAttemptService.loginFailed("admin", null);
+        loginAttemptService.loginFailed("admin", null);
+
+        loginAttemptService.checkAllowed("admin", null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_deberiaEscribirUltimoEstadoPorUsuarioEnUnSoloBatch() {
+        loginAttemptService.loginFailed("admin", "10.0.0.1");
+        loginAttemptService.loginFailed("admin", "10.0.0.1");
+        loginAttemptService.loginFailed("admin", "10.0.0.1");
+        loginAttemptService.loginFailed("ana", "10.0.0.1");
+
+        loginAttemptService.flush();
+
+        ArgumentCaptor<Collection<Map.Entry<String, ?>>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        List<String> usuarios = batch.getValue().stream().map(Map.Entry::getKey).sorted().toList();
+        assertEquals(List.of("admin", "ana"), usuarios);
+        verify(userStatusService).evict("admin");
+
+        loginAttemptService.flush();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void loginSucceeded_noDeberiaEscribirSinFallosPrevios() {
+        loginAttemptService.loginSucceeded("admin");
+        loginAttemptService.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_deberiaLiberarVentanasVencidas() throws InterruptedException {
+        LoginAttemptService ventanaCorta = new LoginAttemptService(jdbcTemplate, userStatusService, 1, 10, 100, 1_000);
+        ventanaCorta.loginFailed("admin", "10.0.0.1");
+        assertThrows(LoginBlockedException.class, () -> ventanaCorta.checkAllowed("admin", null));
+
+        Thread.sleep(250);
+
+        ventanaCorta.checkAllowed("admin", "10.0.0.1");
+        ventanaCorta.flush();
+
+        ArgumentCaptor<Collection<Map.Entry<String, ?>>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        assertTrue(batch.getValue().iterator().next().getValue().toString().contains("locked=true"),
+                "el bloqueo en BD no se levanta al vencer la ventana en memoria");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void releaseExpiredLocks_deberiaLiberarSoloLosBloqueosVencidos() {
+        when(jdbcTemplate.queryForList(contains("locked_until <= ?"), eq(String.class), any(Timestamp.class)))
+                .thenReturn(List.of("admin"));
+
+        loginAttemptService.releaseExpiredLocks();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), eq(List.of("admin")), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        assertTrue(sql.getValue().contains("locked_until <= ?"));
+        verify(userStatusService).evict("admin");
+    }
+
+    @Test
+    void releaseExpiredLocks_noDeberiaEscribirSinBloqueosVencidos() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Timestamp.class))).thenReturn(List.of());
+
+        loginAttemptService.releaseExpiredLocks();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verifyNoInteractions(userStatusService);
+    }
+
+    @Test
+    void loginFailed_deberiaAcotarLosUsuariosEnMemoriaSinPerderElLimitePorIp() throws InterruptedException {
+        for (int i = 0; i < 20_000; i++) {
+            loginAttemptService.loginFailed("azar" + i, "10.0.0." + (i % 200));
+        }
+        Map<?, ?> userFailures = (Map<?, ?>) ReflectionTestUtils.getField(loginAttemptService, "userFailures");
+        long limite = System.currentTimeMillis() + 5_000;
+        while (userFailures.size() > 1_000 && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(userFailures.size() <= 1_000, "usuarios en memoria: " + userFailures.size());
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.loginFailed("usuario" + i, "10.0.9.9");
+        }
+        assertThrows(LoginBlockedException.class, () -> loginAttemptService.checkAllowed("nuevo", "10.0.9.9"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.app.auth;
+
+import com.app.auth.Dto.AuthResponse;
+import com.app.auth.Dto.LoginRequest;
+import com.app.auth.Models.Permission;
+import com.app.auth.Models.Role;
+import com.app.auth.Models.User;
+import com.app.auth.Repository.UserRepository;
+import com.app.auth.Service.AuthService;
+import com.app.auth.Service.CustomUserDetailsService;
+import com.app.auth.Service.LoginAttemptService;
+import com.app.auth.config.jwt.JwtUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fija en una sola consulta de usuario el costo del login contra la base (H2 en memoria):
+ * AuthService debe reutilizar el principal cargado por CustomUserDetailsService.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class LoginQueryCountTest {
+
+    private static final String SECRET = "9ab67789df495410c1798fea3ccb00fb8816221312a10b4e00a874a7e4b46960cd8495067622053e6e6ad36addae12c4308921ad8ba01ab23ce2f5bfc1936691ce66bec658cca86526e52e6f337276e5900817fff24fbf04124c3d26a51b364966360da1b4b1eb0a6e6d99988fe21637cbbfb5b092e1ff2a894d658b422ff98ae57f16798286a1d3535052f4f81093a0a80dd3fcc2f6f3516d021f07f824ec809b5868bc439e578a4c82253c02abb0364412a3cc2a86845a91ad2a11285299a594c04815467df481d2a2a0af7f92a61456259ae79789ca4263ea83d017d85169464178dc34f044a2daafd5ad5e325dc7a55ce4cb7fdcfeba0c9c8d90f05a31e6";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AuthService authService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+        Permission permission = entityManager.persist(Permission.builder().name("READ_PRODUCTS").build());
+        Role role = entityManager.persist(Role.builder().name("ROLE_USER").permissions(Set.of(permission)).build());
+        entityManager.persist(User.builder()
+                .username("ana")
+                .email("ana@tienda.cl")
+                .password(passwordEncoder.encode("secreto"))
+                .roles(Set.of(role))
+                .enabled(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtils, "authoritiesInToken", true);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "authenticationManager", new ProviderManager(provider));
+        ReflectionTestUtils.setField(authService, "jwtService", jwtUtils);
+        ReflectionTestUtils.setField(authService, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(authService, "loginAttemptService",
+                new LoginAttemptService(jdbcTemplate, null, 5, 50, 900_000, 100_000));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void login_deberiaConsultarElUsuarioUnaSolaVez() {
+        AuthResponse response = authService.login(new LoginRequest("ana", "secreto"));
+
+        assertNotNull(response.getToken());
+        assertEquals("ana", response.getUsername());
+        assertEquals("ROLE_USER", response.getRoles().iterator().next().getName());
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(1, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    }
+}
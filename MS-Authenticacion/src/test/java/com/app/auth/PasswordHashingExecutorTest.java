@@ -0,0 +1,51 @@
+package com.app.auth;
+
+import com.app.auth.Exception.HashingCapacityExceededException;
+import com.app.auth.Service.PasswordHashingExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdown();
+    }
+
+    private String bloquear() {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "hash";
+    }
+
+    @Test
+    void submit_deberiaEjecutarFueraDelHiloLlamador() {
+        String hilo = executor.submit(() -> Thread.currentThread().getName()).join();
+
+        assertTrue(hilo.startsWith("password-hashing-"));
+    }
+
+    @Test
+    void submit_deberiaRechazarCuandoHilosYColaEstanLlenos() {
+        CompletableFuture<String> enCurso = executor.submit(this::bloquear);
+        CompletableFuture<String> encolado = executor.submit(this::bloquear);
+
+        assertThrows(HashingCapacityExceededException.class, () -> executor.submit(this::bloquear));
+
+        liberar.countDown();
+        assertEquals("hash", enCurso.join());
+        assertEquals("hash", encolado.join());
+    }
+}
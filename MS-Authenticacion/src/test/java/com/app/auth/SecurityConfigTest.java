@@ -0,0 +1,47 @@
+package com.app.auth;
+
+import com.app.auth.config.SecurityConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityConfigTest {
+
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        SecurityConfig config = new SecurityConfig(null, null, null);
+        ReflectionTestUtils.setField(config, "passwordEncoderId", "bcrypt");
+        ReflectionTestUtils.setField(config, "bcryptStrength", 5);
+        passwordEncoder = config.passwordEncoder();
+    }
+
+    @Test
+    void passwordEncoder_deberiaAceptarYMigrarHashesSinPrefijo() {
+        String legado = new BCryptPasswordEncoder(4).encode("secreto");
+
+        assertTrue(passwordEncoder.matches("secreto", legado));
+        assertTrue(passwordEncoder.upgradeEncoding(legado));
+    }
+
+    @Test
+    void passwordEncoder_deberiaMigrarHashesConCostoMenor() {
+        String costoBajo = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secreto");
+
+        assertTrue(passwordEncoder.matches("secreto", costoBajo));
+        assertTrue(passwordEncoder.upgradeEncoding(costoBajo));
+    }
+
+    @Test
+    void passwordEncoder_noDeberiaMigrarHashesVigentes() {
+        String vigente = passwordEncoder.encode("secreto");
+
+        assertTrue(vigente.startsWith("{bcrypt}$2a$05$"));
+        assertFalse(passwordEncoder.upgradeEncoding(vigente));
+    }
+}
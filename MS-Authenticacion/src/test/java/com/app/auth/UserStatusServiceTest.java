@@ -0,0 +1,65 @@
+package com.app.auth;
+
+import com.app.auth.Dto.UserStatus;
+import com.app.auth.Repository.UserRepository;
+import com.app.auth.Service.UserStatusService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatusService userStatusService;
+
+    @BeforeEach
+    void setUp() {
+        userStatusService = new UserStatusService(userRepository, 100, 60_000);
+    }
+
+    @Test
+    void isActive_deberiaConsultarUnaSolaVezDentroDelTtl() {
+        when(userRepository.findStatusByUsername("admin")).thenReturn(Optional.of(new UserStatus(true, false)));
+
+        assertTrue(userStatusService.isActive("admin"));
+        assertTrue(userStatusService.isActive("admin"));
+
+        verify(userRepository, times(1)).findStatusByUsername("admin");
+    }
+
+    @Test
+    void isActive_deberiaRechazarUsuarioBloqueado() {
+        when(userRepository.findStatusByUsername("admin")).thenReturn(Optional.of(new UserStatus(true, true)));
+
+        assertFalse(userStatusService.isActive("admin"));
+    }
+
+    @Test
+    void isActive_deberiaRechazarUsuarioInexistente() {
+        when(userRepository.findStatusByUsername("fantasma")).thenReturn(Optional.empty());
+
+        assertFalse(userStatusService.isActive("fantasma"));
+    }
+
+    @Test
+    void evict_deberiaForzarNuevaConsulta() {
+        when(userRepository.findStatusByUsername("admin"))
+                .thenReturn(Optional.of(new UserStatus(true, false)))
+                .thenReturn(Optional.of(new UserStatus(false, false)));
+
+        assertTrue(userStatusService.isActive("admin"));
+        userStatusService.evict("admin");
+
+        assertFalse(userStatusService.isActive("admin"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.app.auth.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes por segundo de BCrypt según el factor de costo, en el hardware donde se ejecute.
+ * Sirve para elegir {@code auth.app.bcryptStrength} y dimensionar {@code auth.app.hashPoolSize}:
+ * el throughput de login esperado es aproximadamente hashes/s por hilo × hilos del pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"10", "11", "12", "13"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("contraseña-de-prueba");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("contraseña-de-prueba");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("contraseña-de-prueba", hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
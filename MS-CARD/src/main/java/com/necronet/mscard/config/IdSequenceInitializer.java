@@ -0,0 +1,57 @@
+package com.necronet.mscard.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Las entidades usan ids por bloques (pooled-lo) en lugar de AUTO_INCREMENT para que Hibernate
+ * pueda agrupar los INSERT. MySQL no tiene secuencias: Hibernate las emula con una tabla
+ * {@code <tabla>_seq} que {@code ddl-auto=update} crea con {@code next_val = 1}, aunque la tabla
+ * ya tenga filas. Al iniciar se adelanta cada secuencia hasta {@code max(id) + 1}; nunca la
+ * retrocede. Con otra base no hace nada.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+
+    private static final List<Secuencia> SECUENCIAS = List.of(
+            new Secuencia("carritos_seq", "carritos", "id"),
+            new Secuencia("items_carrito_seq", "items_carrito", "id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alinear() {
+        try {
+            String producto = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            if (!"MySQL".equalsIgnoreCase(producto)) {
+                return;
+            }
+
+            for (Secuencia secuencia : SECUENCIAS) {
+                String maximo = "SELECT COALESCE(MAX(" + secuencia.columnaId() + "), 0) FROM " + secuencia.tabla();
+                int actualizadas = jdbcTemplate.update("UPDATE " + secuencia.nombre()
+                        + " SET next_val = (" + maximo + ") + 1 WHERE next_val <= (" + maximo + ")");
+                if (actualizadas > 0) {
+                    log.info("Secuencia {} alineada con el máximo id de {}", secuencia.nombre(), secuencia.tabla());
+                }
+            }
+        } catch (Exception e) {
+            // Sin alinear, los primeros INSERT pueden chocar con ids existentes
+            log.warn("No se pudieron alinear las secuencias de ids: {}", e.getMessage());
+        }
+    }
+
+    private record Secuencia(String nombre, String tabla, String columnaId) {
+    }
+}
@@ -1,13 +1,75 @@
 package com.necronet.mscard.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Cliente HTTP compartido por las llamadas a otros microservicios: conexiones persistentes en
+ * un pool acotado por ruta y timeouts en cada etapa, para que un servicio lento no retenga los
+ * hilos de este indefinidamente. Si el pool está agotado la llamada falla tras
+ * {@code poolTimeoutMs} en vez de encolarse. Las métricas del pool (conexiones en uso, libres
+ * y pedidos en espera) se publican como {@code httpcomponents.httpclient.pool.*}.
+ */
 @Configuration
 public class RestTemplateConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${http.client.maxTotal:200}") int maxTotal,
+            @Value("${http.client.maxPerRoute:50}") int maxPerRoute,
+            @Value("${http.client.connectTimeoutMs:2000}") long connectTimeoutMs,
+            @Value("${http.client.readTimeoutMs:5000}") long readTimeoutMs,
+            @Value("${http.client.connectionTtlMs:300000}") long connectionTtlMs) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        // Renueva las conexiones para repartir la carga cuando cambian las instancias detrás del DNS
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        meterRegistry.ifAvailable(registry ->
+                new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "microservicios").bindTo(registry));
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${http.client.poolTimeoutMs:1000}") long poolTimeoutMs,
+            @Value("${http.client.readTimeoutMs:5000}") long readTimeoutMs,
+            @Value("${http.client.idleTimeoutMs:30000}") long idleTimeoutMs) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMs))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
 }
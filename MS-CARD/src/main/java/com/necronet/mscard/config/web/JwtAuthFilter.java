@@ -1,10 +1,15 @@
 package com.necronet.mscard.config.web;
 
 import com.necronet.mscard.shared.client.AuthClientService;
+import com.necronet.mscard.shared.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -13,13 +18,22 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.ArrayList;
 
+@Slf4j
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final AuthClientService authClientService;
+    private final JwtVerifier jwtVerifier;
 
-    public JwtAuthFilter(AuthClientService authClientService) {
+    @Value("${auth.app.jwtLocalValidation:true}")
+    private boolean localValidation;
+
+    @Value("${auth.app.jwtRemoteFallback:false}")
+    private boolean remoteFallback;
+
+    public JwtAuthFilter(AuthClientService authClientService, JwtVerifier jwtVerifier) {
         this.authClientService = authClientService;
+        this.jwtVerifier = jwtVerifier;
     }
 
     @Override
@@ -30,7 +44,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.replace("Bearer ", "");
-            if (authClientService.validateToken(token)) {
+            if (localValidation && authenticateLocally(token)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            if ((!localValidation || remoteFallback) && authClientService.validateToken(token)) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken("usuario", null, new ArrayList<>());
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -43,5 +62,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
 
+    private boolean authenticateLocally(String token) {
+        try {
+            Claims claims = jwtVerifier.verify(token);
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(claims.getSubject(), null, jwtVerifier.getAuthorities(claims));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Validación local del token fallida: {}", e.getMessage());
+            return false;
+        }
+    }
+}
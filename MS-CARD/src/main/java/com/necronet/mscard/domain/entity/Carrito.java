@@ -12,7 +12,8 @@ import java.util.List;
 @Data
 public class Carrito {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carritos_seq")
+    @SequenceGenerator(name = "carritos_seq", sequenceName = "carritos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +31,11 @@ public class Carrito {
     private LocalDateTime fechaCreacion;
     private LocalDateTime fechaActualizacion;
 
+    // Bloqueo optimista y ETag de GET /api/carrito
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         fechaCreacion = LocalDateTime.now();
@@ -49,6 +55,9 @@ public class Carrito {
                 .map(item -> item.getSubtotal() != null ? item.getSubtotal() : BigDecimal.ZERO)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         this.total = this.subtotal; // Puedes agregar impuestos, descuentos, etc.
+        // Los cambios de ítems no siempre ensucian el carrito (p. ej. una cantidad con precio 0):
+        // tocar la fecha asegura el UPDATE y con él una versión nueva
+        this.fechaActualizacion = LocalDateTime.now();
     }
 
     public void agregarItem(ItemCarrito item) {
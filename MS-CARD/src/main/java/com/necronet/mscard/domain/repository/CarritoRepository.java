@@ -1,6 +1,7 @@
 package com.necronet.mscard.domain.repository;
 
 import com.necronet.mscard.domain.entity.Carrito;
+import com.necronet.mscard.dto.VersionCarrito;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,4 +18,7 @@ public interface CarritoRepository extends JpaRepository<Carrito, Long> {
     Optional<Carrito> findByUsuarioIdWithItems(@Param("usuarioId") Long usuarioId);
 
     boolean existsByUsuarioId(Long usuarioId);
+
+    @Query("SELECT new com.necronet.mscard.dto.VersionCarrito(c.id, c.version) FROM Carrito c WHERE c.usuarioId = :usuarioId")
+    Optional<VersionCarrito> findVersionByUsuarioId(@Param("usuarioId") Long usuarioId);
 }
\ No newline at end of file
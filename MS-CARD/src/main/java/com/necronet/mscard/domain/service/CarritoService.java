@@ -7,6 +7,7 @@ import com.necronet.mscard.dto.CarritoRequest;
 import com.necronet.mscard.dto.CarritoResponse;
 import com.necronet.mscard.dto.ItemCarritoResponse;
 import com.necronet.mscard.dto.ProductoResponse;
+import com.necronet.mscard.dto.VersionCarrito;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,6 +34,14 @@ public class CarritoService {
         return mapToCarritoResponse(carrito);
     }
 
+    /**
+     * Id y versión del carrito sin cargar sus ítems; null si el usuario aún no tiene carrito.
+     */
+    @Transactional(readOnly = true)
+    public VersionCarrito obtenerVersionCarrito(Long usuarioId) {
+        return carritoRepository.findVersionByUsuarioId(usuarioId).orElse(null);
+    }
+
     @Transactional
     public CarritoResponse agregarProducto(Long usuarioId, CarritoRequest request) {
         log.info("Agregando producto al carrito. Usuario ID: {}, Producto ID: {}", usuarioId, request.getProductoId());
@@ -62,7 +71,8 @@ public class CarritoService {
         }
 
         carrito.calcularTotales();
-        Carrito carritoGuardado = carritoRepository.save(carrito);
+        // El flush incrementa la versión antes de armar la respuesta
+        Carrito carritoGuardado = carritoRepository.saveAndFlush(carrito);
 
         log.info("Producto agregado al carrito exitosamente");
         return mapToCarritoResponse(carritoGuardado);
@@ -93,7 +103,7 @@ public class CarritoService {
 
         item.setCantidad(nuevaCantidad);
         carrito.calcularTotales();
-        Carrito carritoActualizado = carritoRepository.save(carrito);
+        Carrito carritoActualizado = carritoRepository.saveAndFlush(carrito);
 
         return mapToCarritoResponse(carritoActualizado);
     }
@@ -111,7 +121,7 @@ public class CarritoService {
                 .orElseThrow(() -> new RuntimeException("Item no encontrado en el carrito"));
 
         carrito.removerItem(item);
-        Carrito carritoActualizado = carritoRepository.save(carrito);
+        Carrito carritoActualizado = carritoRepository.saveAndFlush(carrito);
 
         return mapToCarritoResponse(carritoActualizado);
     }
@@ -161,6 +171,7 @@ public class CarritoService {
         response.setTotal(carrito.getTotal());
         response.setFechaCreacion(carrito.getFechaCreacion());
         response.setFechaActualizacion(carrito.getFechaActualizacion());
+        response.setVersion(carrito.getVersion());
 
         List<ItemCarritoResponse> items = carrito.getItems().stream()
                 .map(this::mapToItemCarritoResponse)
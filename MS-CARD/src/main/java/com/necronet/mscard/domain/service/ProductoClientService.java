@@ -1,5 +1,6 @@
 package com.necronet.mscard.domain.service;
 
+import com.necronet.mscard.dto.ProductoLoteResponse;
 import com.necronet.mscard.dto.ProductoResponse;
 import com.necronet.mscard.shared.client.MicroserviceClient;
 import com.necronet.mscard.shared.security.TokenContext;
@@ -12,8 +13,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,6 +29,9 @@ public class ProductoClientService {
     @Value("${auth.url.productos.get-id}")
     private String PROD_URL_SERVICE;
 
+    @Value("${auth.url.productos.batch}")
+    private String PROD_BATCH_URL_SERVICE;
+
     private final MicroserviceClient microserviceClient;
 
     @CircuitBreaker(name = "productosService", fallbackMethod = "fallbackProducto")
@@ -49,6 +58,45 @@ public class ProductoClientService {
         return response.getBody();
     }
 
+    /**
+     * Consulta varios productos en una sola llamada a MS-Producto en vez de una por ID.
+     */
+    @CircuitBreaker(name = "productosService", fallbackMethod = "fallbackProductos")
+    public ProductoLoteResponse consultarProductos(Collection<Long> productoIds) {
+        log.info("Consultando {} productos por lote", productoIds.size());
+
+        String token = TokenContext.getToken();
+        String url = PROD_BATCH_URL_SERVICE + "?ids=" + productoIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        ResponseEntity<ProductoLoteResponse> response = microserviceClient.enviarConToken(
+                url,
+                HttpMethod.GET,
+                null,
+                ProductoLoteResponse.class,
+                token
+        );
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            log.error("Error al obtener productos por lote. Código de estado: {}", response.getStatusCode());
+            throw new RuntimeException("Error al obtener productos por lote");
+        }
+
+        return response.getBody();
+    }
+
+    public ProductoLoteResponse fallbackProductos(Collection<Long> productoIds, Exception exception) {
+        log.warn("Ejecutando fallback para {} productos. Error: {}", productoIds.size(), exception.getMessage());
+        Map<Long, ProductoResponse> productos = new LinkedHashMap<>();
+        productoIds.forEach(id -> productos.put(id, createDefaultProducto(id)));
+
+        ProductoLoteResponse lote = new ProductoLoteResponse();
+        lote.setProductos(productos);
+        lote.setFaltantes(new ArrayList<>());
+        return lote;
+    }
+
     // CORREGIDO: Método debe coincidir con el nombre en @CircuitBreaker
     public ProductoResponse fallbackProducto(Long productoId, Exception exception) {
         log.warn("Ejecutando fallback para producto ID: {}. Error: {}", productoId, exception.getMessage());
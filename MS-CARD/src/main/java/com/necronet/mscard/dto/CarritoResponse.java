@@ -15,4 +15,5 @@ public class CarritoResponse {
     private BigDecimal total;
     private LocalDateTime fechaCreacion;
     private LocalDateTime fechaActualizacion;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.necronet.mscard.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ProductoLoteResponse {
+    private Map<Long, ProductoResponse> productos;
+    private List<Long> faltantes;
+}
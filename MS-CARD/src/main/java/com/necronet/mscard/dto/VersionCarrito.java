@@ -0,0 +1,14 @@
+package com.necronet.mscard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Id y versión del carrito de un usuario, para armar el ETag sin cargar los ítems.
+ */
+@Data
+@AllArgsConstructor
+public class VersionCarrito {
+    private Long id;
+    private Long version;
+}
@@ -3,9 +3,13 @@ package com.necronet.mscard.interfaces.controller;
 import com.necronet.mscard.domain.service.CarritoService;
 import com.necronet.mscard.dto.CarritoRequest;
 import com.necronet.mscard.dto.CarritoResponse;
+import com.necronet.mscard.dto.VersionCarrito;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/carrito")
@@ -15,9 +19,23 @@ public class CarritoController {
     private final CarritoService carritoService;
 
     @GetMapping
-    public ResponseEntity<CarritoResponse> obtenerCarrito(@RequestHeader("X-User-Id") Long usuarioId) {
+    public ResponseEntity<CarritoResponse> obtenerCarrito(@RequestHeader("X-User-Id") Long usuarioId,
+                                                          WebRequest request) {
+        // Con If-None-Match basta la versión del carrito para responder 304 sin cargar los ítems
+        VersionCarrito version = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                ? carritoService.obtenerVersionCarrito(usuarioId) : null;
+        if (version != null && request.checkNotModified(etag(version.getId(), version.getVersion()))) {
+            return null;
+        }
+
         CarritoResponse carrito = carritoService.obtenerCarritoPorUsuario(usuarioId);
-        return ResponseEntity.ok(carrito);
+        // El carrito es de un usuario: solo lo guarda el cliente, y siempre revalida
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        if (version == null) {
+            // Si se llamó a checkNotModified el ETag ya quedó en la respuesta
+            response.eTag(etag(carrito.getId(), carrito.getVersion()));
+        }
+        return response.body(carrito);
     }
 
     @PostMapping("/agregar")
@@ -50,4 +68,8 @@ public class CarritoController {
         carritoService.limpiarCarrito(usuarioId);
         return ResponseEntity.noContent().build();
     }
+
+    private static String etag(Long carritoId, Long version) {
+        return "\"" + carritoId + "-" + version + "\"";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.necronet.mscard;
+
+import com.necronet.mscard.shared.security.JwksKeyLocator;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.KeyPair;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwksKeyLocatorTest {
+
+    private static final String URL = "http://localhost:9001/api/auth/.well-known/jwks.json";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private JwksKeyLocator locator;
+
+    @AfterEach
+    void tearDown() {
+        if (locator != null) {
+            locator.shutdown();
+        }
+    }
+
+    private static String jwkSet(String kid, KeyPair keyPair) {
+        return "{\"keys\":[" + Jwks.json(Jwks.builder().key(keyPair.getPublic()).id(kid).build()) + "]}";
+    }
+
+    @Test
+    void getKey_deberiaRefrescarCuandoApareceKidDesconocido() {
+        KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+        when(restTemplate.getForObject(URL, String.class)).thenReturn(jwkSet("k1", keyPair));
+        // Refresco periódico largo: solo el kid desconocido dispara la descarga
+        locator = new JwksKeyLocator(restTemplate, URL, true, 3_600_000, 0);
+
+        assertEquals(keyPair.getPublic(), locator.getKey("k1"));
+        assertEquals(keyPair.getPublic(), locator.getKey("k1"));
+    }
+
+    @Test
+    void getKey_deberiaLimitarRefrescosPorKidInventado() {
+        when(restTemplate.getForObject(URL, String.class)).thenReturn("{\"keys\":[]}");
+        locator = new JwksKeyLocator(restTemplate, URL, true, 3_600_000, 60_000);
+
+        assertNull(locator.getKey("inventado-1"));
+        assertNull(locator.getKey("inventado-2"));
+        assertNull(locator.getKey("inventado-3"));
+
+        verify(restTemplate, times(1)).getForObject(URL, String.class);
+    }
+
+    @Test
+    void getKey_deberiaRetornarNullSinConsultarCuandoEstaDeshabilitado() {
+        locator = new JwksKeyLocator(restTemplate, URL, false, 3_600_000, 0);
+
+        assertNull(locator.getKey("k1"));
+        verifyNoInteractions(restTemplate);
+    }
+}
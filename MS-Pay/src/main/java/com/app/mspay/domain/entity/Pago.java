@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class Pago {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagos_seq")
+    @SequenceGenerator(name = "pagos_seq", sequenceName = "pagos_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "carrito_id", nullable = false)
@@ -47,6 +48,11 @@ public class Pago {
     @UpdateTimestamp
     private LocalDateTime fechaActualizacion;
 
+    // Bloqueo optimista y ETag de GET /api/ms-pay/pagos/{id}
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     public enum EstadoPago {
         PENDIENTE, APROBADO, RECHAZADO, FALLIDO
     }
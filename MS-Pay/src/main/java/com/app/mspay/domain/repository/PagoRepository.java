@@ -2,12 +2,18 @@ package com.app.mspay.domain.repository;
 
 import com.app.mspay.domain.entity.Pago;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PagoRepository extends JpaRepository<Pago, Long> {
     List<Pago> findByUsuarioId(Long usuarioId);
     List<Pago> findByCarritoId(Long carritoId);
+
+    @Query("SELECT p.version FROM Pago p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
\ No newline at end of file
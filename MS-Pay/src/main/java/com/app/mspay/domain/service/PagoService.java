@@ -49,7 +49,8 @@ public class PagoService {
             pago.setEstado(Pago.EstadoPago.RECHAZADO);
         }
 
-        Pago pagoGuardado = pagoRepository.save(pago);
+        // El flush incrementa la versión antes de armar la respuesta
+        Pago pagoGuardado = pagoRepository.saveAndFlush(pago);
         return mapToResponse(pagoGuardado);
     }
 
@@ -59,6 +60,14 @@ public class PagoService {
         return mapToResponse(pago);
     }
 
+    /**
+     * Versión actual del pago sin cargarlo; null si no existe.
+     */
+    @Transactional(readOnly = true)
+    public Long obtenerVersionPago(Long id) {
+        return pagoRepository.findVersionById(id).orElse(null);
+    }
+
     private boolean simularPasarelaExterna(PagoRequest request) {
         // Lógica simulada: si el monto es positivo, pasa.
         return request.getMonto().doubleValue() > 0;
@@ -72,6 +81,7 @@ public class PagoService {
         response.setEstado(entity.getEstado());
         response.setReferenciaTransaccion(entity.getReferenciaTransaccion());
         response.setFechaCreacion(entity.getFechaCreacion());
+        response.setVersion(entity.getVersion());
         return response;
     }
 }
\ No newline at end of file
@@ -13,4 +13,5 @@ public class PagoResponse {
     private Pago.EstadoPago estado;
     private String referenciaTransaccion;
     private LocalDateTime fechaCreacion;
+    private Long version;
 }
\ No newline at end of file
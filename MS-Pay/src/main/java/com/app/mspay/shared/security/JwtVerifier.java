@@ -0,0 +1,102 @@
+package com.app.mspay.shared.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Verifica localmente la firma y la expiración de los JWT emitidos por MS-Authenticacion.
+ * Los tokens RS256/ES256 se validan con la clave pública del JWK Set según su {@code kid}
+ * (ver {@link JwksKeyLocator}); los HS256 con el secreto de {@code auth.app.jwtSecret}, si está
+ * configurado. El parser se construye una sola vez y es seguro para uso concurrente.
+ */
+@Component
+public class JwtVerifier {
+
+    public static final String ROLES_CLAIM = "roles";
+    public static final String PERMISSIONS_CLAIM = "permissions";
+
+    private final JwtParser parser;
+    private final SecretKey hmacKey;
+    private final JwksKeyLocator jwksKeyLocator;
+
+    @Autowired
+    public JwtVerifier(@Value("${auth.app.jwtSecret:}") String jwtSecret, JwksKeyLocator jwksKeyLocator) {
+        this.hmacKey = jwtSecret.isBlank() ? null : Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwksKeyLocator = jwksKeyLocator;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return getVerificationKey(header);
+                    }
+                })
+                .build();
+    }
+
+    public JwtVerifier(String jwtSecret) {
+        this(jwtSecret, null);
+    }
+
+    private Key getVerificationKey(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        Key key;
+        if (algorithm != null && algorithm.startsWith("HS")) {
+            key = hmacKey;
+        } else {
+            key = jwksKeyLocator == null ? null : jwksKeyLocator.getKey(header.getKeyId());
+        }
+        if (key == null) {
+            throw new SignatureException("No hay clave para verificar el token (alg " + algorithm
+                    + ", kid " + header.getKeyId() + ")");
+        }
+        return key;
+    }
+
+    /**
+     * Valida firma y expiración del token y devuelve sus claims.
+     *
+     * @throws JwtException si el token está expirado, mal formado o la firma no coincide
+     */
+    public Claims verify(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Construye las autoridades a partir de los claims {@code roles} y {@code permissions}.
+     * Devuelve una lista vacía si el token no los incluye.
+     */
+    public List<GrantedAuthority> getAuthorities(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        addAuthorities(authorities, claims.get(ROLES_CLAIM));
+        addAuthorities(authorities, claims.get(PERMISSIONS_CLAIM));
+        return authorities;
+    }
+
+    private void addAuthorities(List<GrantedAuthority> authorities, Object claim) {
+        if (claim instanceof Collection<?> values) {
+            for (Object value : values) {
+                if (value != null) {
+                    authorities.add(new SimpleGrantedAuthority(value.toString()));
+                }
+            }
+        }
+    }
+}
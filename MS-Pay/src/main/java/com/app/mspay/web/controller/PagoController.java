@@ -8,9 +8,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/ms-pay/pagos")
@@ -32,8 +35,26 @@ public class PagoController {
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Obtener pago por ID")
-    public ResponseEntity<PagoResponse> obtenerPago(@PathVariable Long id) {
-        return ResponseEntity.ok(pagoService.obtenerPagoPorId(id));
+    @Operation(summary = "Obtener pago por ID",
+            description = "El ETag es la versión del pago; con If-None-Match vigente responde 304")
+    public ResponseEntity<PagoResponse> obtenerPago(@PathVariable Long id, WebRequest request) {
+        // Con If-None-Match basta consultar la versión para responder 304 sin cargar el pago
+        Long version = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null ? pagoService.obtenerVersionPago(id) : null;
+        if (version != null && request.checkNotModified(etag(version))) {
+            return null;
+        }
+
+        PagoResponse pago = pagoService.obtenerPagoPorId(id);
+        // El pago es de un cliente: solo lo guarda el cliente, y siempre revalida
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        if (version == null) {
+            // Si se llamó a checkNotModified el ETag ya quedó en la respuesta
+            response.eTag(etag(pago.getVersion()));
+        }
+        return response.body(pago);
+    }
+
+    private static String etag(Long version) {
+        return "\"" + version + "\"";
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.app.mspay;
+
+import com.app.mspay.config.IdSequenceInitializer;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdSequenceInitializerTest {
+
+    private static final Pattern ALINEACION =
+            Pattern.compile("UPDATE (\\w+) SET next_val = \\(SELECT COALESCE\\(MAX\\((\\w+)\\), 0\\) FROM (\\w+)\\)");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    private IdSequenceInitializer idSequenceInitializer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        idSequenceInitializer = new IdSequenceInitializer(jdbcTemplate);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+    }
+
+    @Test
+    void alinear_deberiaAdelantarLaSecuenciaDeCadaEntidad() throws Exception {
+        when(metaData.getDatabaseProductName()).thenReturn("MySQL");
+
+        ReflectionTestUtils.invokeMethod(idSequenceInitializer, "alinear");
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).update(sql.capture());
+        Set<String> alineadas = new HashSet<>();
+        for (String update : sql.getAllValues()) {
+            Matcher matcher = ALINEACION.matcher(update);
+            assertTrue(matcher.find(), update);
+            alineadas.add(matcher.group(1) + " " + matcher.group(3) + "." + matcher.group(2));
+        }
+        assertEquals(secuenciasDeEntidades(), alineadas);
+    }
+
+    @Test
+    void alinear_noDeberiaTocarOtrasBases() throws Exception {
+        when(metaData.getDatabaseProductName()).thenReturn("H2");
+
+        ReflectionTestUtils.invokeMethod(idSequenceInitializer, "alinear");
+
+        verify(jdbcTemplate, never()).update(anyString());
+    }
+
+    /**
+     * Secuencia, tabla y columna id de cada entidad con {@link SequenceGenerator} del servicio.
+     */
+    private static Set<String> secuenciasDeEntidades() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        Set<String> secuencias = new HashSet<>();
+        for (BeanDefinition entidad : scanner.findCandidateComponents("com.app.mspay")) {
+            Class<?> clase = ClassUtils.forName(entidad.getBeanClassName(), null);
+            for (Field campo : clase.getDeclaredFields()) {
+                SequenceGenerator generador = campo.getAnnotation(SequenceGenerator.class);
+                if (generador != null) {
+                    Column columna = campo.getAnnotation(Column.class);
+                    String id = columna != null && !columna.name().isEmpty() ? columna.name() : campo.getName();
+                    secuencias.add(generador.sequenceName() + " " + clase.getAnnotation(Table.class).name() + "." + id);
+                }
+            }
+        }
+        assertFalse(secuencias.isEmpty());
+        return secuencias;
+    }
+}
@@ -0,0 +1,118 @@
+package com.app.mspay;
+
+import com.app.mspay.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestTemplateConfigTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private MeterRegistry registry;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> responder(exchange, 0));
+        server.createContext("/lento", exchange -> responder(exchange, 2_000));
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort();
+
+        registry = new SimpleMeterRegistry();
+        RestTemplateConfig config = new RestTemplateConfig();
+        // Una conexión por ruta para poder agotar el pool con una sola llamada lenta
+        connectionManager = config.httpConnectionManager(
+                new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class),
+                10, 1, 500, 1_000, 300_000);
+        httpClient = config.httpClient(connectionManager, 100, 1_000, 30_000);
+        restTemplate = config.restTemplate(httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void restTemplate_deberiaReutilizarLaConexionYPublicarElPool() {
+        assertEquals("ok", restTemplate.getForObject(url + "/ok", String.class));
+        assertEquals("ok", restTemplate.getForObject(url + "/ok", String.class));
+
+        assertEquals(1, conexiones("available"));
+        assertEquals(0, conexiones("leased"));
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
+        assertEquals(10, registry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+    }
+
+    @Test
+    void restTemplate_deberiaCortarPorTimeoutDeLectura() {
+        long inicio = System.nanoTime();
+
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url + "/lento", String.class));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 1_900);
+    }
+
+    @Test
+    void restTemplate_deberiaFallarRapidoConElPoolAgotado() throws Exception {
+        CompletableFuture<Void> lenta = CompletableFuture.runAsync(() ->
+                assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url + "/lento", String.class)));
+        while (conexiones("leased") < 1) {
+            Thread.sleep(10);
+        }
+
+        long inicio = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url + "/ok", String.class));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 900);
+
+        lenta.get(5, TimeUnit.SECONDS);
+    }
+
+    private double conexiones(String estado) {
+        return registry.get("httpcomponents.httpclient.pool.total.connections").tag("state", estado).gauge().value();
+    }
+
+    private static void responder(HttpExchange exchange, long demoraMs) throws IOException {
+        try {
+            Thread.sleep(demoraMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] cuerpo = "ok".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(200, cuerpo.length);
+        try (OutputStream salida = exchange.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+}
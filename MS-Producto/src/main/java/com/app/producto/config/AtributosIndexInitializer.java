@@ -0,0 +1,69 @@
+package com.app.producto.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crea sobre {@code productos.atributos} las columnas generadas (tipo, marca, temporada) y los
+ * índices multi-valor (tallas, colores) que usa la búsqueda por facetas. Hibernate no sabe
+ * declararlos, así que se agregan al iniciar si faltan. Requiere MySQL 8.0.17 o superior;
+ * con otra base no hace nada.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AtributosIndexInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            String producto = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            if (!"MySQL".equalsIgnoreCase(producto)) {
+                return;
+            }
+
+            agregarColumnaGenerada("atributos_tipo", "VARCHAR(50)", "$.tipo");
+            agregarColumnaGenerada("atributos_marca", "VARCHAR(100)", "$.marca");
+            agregarColumnaGenerada("atributos_temporada", "VARCHAR(50)", "$.temporada");
+            crearIndice("idx_productos_atr_tipo", "(atributos_tipo)");
+            crearIndice("idx_productos_atr_marca", "(atributos_marca)");
+            crearIndice("idx_productos_atr_temporada", "(atributos_temporada)");
+            crearIndice("idx_productos_atr_tallas", "((CAST(atributos->'$.tallas' AS CHAR(20) ARRAY)))");
+            crearIndice("idx_productos_atr_colores", "((CAST(atributos->'$.colores' AS CHAR(40) ARRAY)))");
+        } catch (Exception e) {
+            // La búsqueda sigue funcionando, pero recorriendo la tabla
+            log.warn("No se pudieron crear los índices de atributos: {}", e.getMessage());
+        }
+    }
+
+    private void agregarColumnaGenerada(String columna, String tipo, String ruta) {
+        Integer existe = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'productos' AND column_name = ?",
+                Integer.class, columna);
+        if (existe != null && existe == 0) {
+            jdbcTemplate.execute("ALTER TABLE productos ADD COLUMN " + columna + " " + tipo
+                    + " GENERATED ALWAYS AS (atributos->>'" + ruta + "') VIRTUAL");
+            log.info("Columna generada {} creada sobre atributos{}", columna, ruta.substring(1));
+        }
+    }
+
+    private void crearIndice(String nombre, String expresion) {
+        Integer existe = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'productos' AND index_name = ?",
+                Integer.class, nombre);
+        if (existe != null && existe == 0) {
+            jdbcTemplate.execute("CREATE INDEX " + nombre + " ON productos " + expresion);
+            log.info("Índice {} creado", nombre);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.app.producto.config;
 
 import com.app.producto.config.web.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,8 +25,12 @@ public class SecurityConfig {
 
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // El despacho ASYNC de la exportación ya se autorizó en el request original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/validate-token").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/categorias").permitAll()
                         .requestMatchers("/api/no-auth/**", "/swagger-ui.html", "/api/productos/list",
+                                "/api/productos/filter", "/api/productos/search",
                                 "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .anyRequest().authenticated()
                 )
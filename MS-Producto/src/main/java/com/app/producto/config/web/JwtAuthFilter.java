@@ -1,10 +1,15 @@
 package com.app.producto.config.web;
 
 import com.app.producto.shared.client.AuthClientService;
+import com.app.producto.shared.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority; // Necesario
 import org.springframework.security.core.authority.SimpleGrantedAuthority; // Necesario
@@ -15,13 +20,22 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List; // Necesario
 
+@Slf4j
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final AuthClientService authClientService;
+    private final JwtVerifier jwtVerifier;
 
-    public JwtAuthFilter(AuthClientService authClientService) {
+    @Value("${auth.app.jwtLocalValidation:true}")
+    private boolean localValidation;
+
+    @Value("${auth.app.jwtRemoteFallback:false}")
+    private boolean remoteFallback;
+
+    public JwtAuthFilter(AuthClientService authClientService, JwtVerifier jwtVerifier) {
         this.authClientService = authClientService;
+        this.jwtVerifier = jwtVerifier;
     }
 
     @Override
@@ -33,20 +47,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.replace("Bearer ", "");
 
-            // 1. Lógica de validación con el microservicio externo (9001/9010)
-            if (authClientService.validateToken(token)) {
+            // 1. Validación local de firma y expiración; el microservicio externo (9001/9010)
+            // solo se consulta si está deshabilitada o si se configuró como respaldo
+            if (localValidation && authenticateLocally(token)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            if ((!localValidation || remoteFallback) && authClientService.validateToken(token)) {
 
                 // 2. CREACIÓN DE ROLES NECESARIOS (SOLUCIÓN DEL 403)
                 // Asignamos ROLE_USER y ROLE_ADMIN para tener permisos de escritura
-                List<GrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority("ROLE_USER"),
-                        new SimpleGrantedAuthority("ROLE_ADMIN")
-                );
-
-                UsernamePasswordAuthenticationToken authentication =
-                        // Asignamos los permisos que acabamos de crear:
-                        new UsernamePasswordAuthenticationToken("usuario", null, authorities);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                setAuthentication("usuario", defaultAuthorities());
 
             } else {
                 // Token inválido (401)
@@ -57,4 +69,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private boolean authenticateLocally(String token) {
+        try {
+            Claims claims = jwtVerifier.verify(token);
+            List<GrantedAuthority> authorities = jwtVerifier.getAuthorities(claims);
+            // Tokens emitidos sin claims de roles conservan los permisos por defecto
+            setAuthentication(claims.getSubject(), authorities.isEmpty() ? defaultAuthorities() : authorities);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Validación local del token fallida: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private List<GrantedAuthority> defaultAuthorities() {
+        return List.of(
+                new SimpleGrantedAuthority("ROLE_USER"),
+                new SimpleGrantedAuthority("ROLE_ADMIN")
+        );
+    }
+
+    private void setAuthentication(String principal, List<GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authentication =
+                // Asignamos los permisos que acabamos de crear:
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.producto.controller;
 
+import com.app.producto.domain.cache.CategoriaCache;
 import com.app.producto.dto.*;
 import com.app.producto.domain.service.CategoriaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,9 +17,11 @@ import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -59,7 +62,7 @@ public class CategoriaController {
             resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).createCategoria(request)).withSelfRel());
             resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).actualizar(1L, categoria)).withRel("update"));
             resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).eliminar(1L)).withRel("delete"));
-            resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).listar()).withRel("all-categories"));
+            resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).listar(null)).withRel("all-categories"));
 
             return ResponseEntity.status(HttpStatus.CREATED).body(resource);
         }
@@ -67,40 +70,52 @@ public class CategoriaController {
 
     @Operation(
             summary = "Listar categorías",
-            description = "Obtiene todas las categorías de productos registradas"
+            description = "Obtiene todas las categorías con su cantidad de productos activos. La respuesta lleva "
+                    + "un ETag fuerte; con If-None-Match vigente se responde 304 sin cuerpo"
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Lista de categorías obtenida exitosamente",
                     content = @Content(schema = @Schema(implementation = CategoriaDto[].class))),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Las categorías no cambiaron desde el ETag indicado"),
             @ApiResponse(
                     responseCode = "400",
                     description = "Error al obtener las categorías",
                     content = @Content(schema = @Schema(implementation = ServiceResult.class)))
     })
     @GetMapping
-    public ResponseEntity<?> listar() {
-        ServiceResult<List<CategoriaDto>> result = categoriaService.listarCategorias();
+    public ResponseEntity<?> listar(WebRequest request) {
+        ServiceResult<CategoriaCache.Listado> result = categoriaService.listarCategorias();
         if (result.hasErrors()) {
             return ResponseEntity.badRequest().body(result.getErrors());
         } else {
-            List<EntityModel<CategoriaDto>> categorias = result.getData().stream()
+            // 304 antes de armar los enlaces: el ETag solo depende del listado en memoria
+            String etag = result.getData().etag();
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            List<EntityModel<CategoriaDto>> categorias = result.getData().categorias().stream()
                     .map(categoria -> {
                         EntityModel<CategoriaDto> resource = EntityModel.of(categoria);
                         resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).actualizar(1L, categoria)).withRel("update"));
                         resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).eliminar(1L)).withRel("delete"));
-                        resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).listar()).withSelfRel());
+                        resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).listar(null)).withSelfRel());
                         return resource;
                     })
                     .collect(Collectors.toList());
 
-            Link selfLink = WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).listar()).withSelfRel();
+            Link selfLink = WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).listar(null)).withSelfRel();
             Link createLink = WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).createCategoria(null)).withRel("create");
 
             CollectionModel<EntityModel<CategoriaDto>> resources = CollectionModel.of(categorias, selfLink, createLink);
 
-            return ResponseEntity.ok().body(resources);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .body(resources);
         }
     }
 
@@ -137,7 +152,7 @@ public class CategoriaController {
         EntityModel<CategoriaDto> resource = EntityModel.of(categoria);
         resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).actualizar(id, request)).withSelfRel());
         resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).eliminar(id)).withRel("delete"));
-        resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).listar()).withRel("all-categories"));
+        resource.add(WebMvcLinkBuilder.linkTo(methodOn(CategoriaController.class).listar(null)).withRel("all-categories"));
 
         return ResponseEntity.ok().body(resource);
     }
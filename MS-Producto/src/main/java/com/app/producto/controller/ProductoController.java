@@ -1,6 +1,17 @@
 package com.app.producto.controller;
 
+import com.app.producto.domain.cache.ProductoCache;
+import com.app.producto.dto.FiltroAtributos;
+import com.app.producto.dto.ProductoBasicoDto;
 import com.app.producto.dto.ProductoDto;
+import com.app.producto.dto.ProductoFacetasResultado;
+import com.app.producto.dto.ProductoFiltro;
+import com.app.producto.dto.ProductoImportResultado;
+import com.app.producto.dto.ProductoLote;
+import com.app.producto.dto.ProductoPagina;
+import com.app.producto.domain.service.ProductoExportService;
+import com.app.producto.domain.service.ProductoFacetasService;
+import com.app.producto.domain.service.ProductoImportService;
 import com.app.producto.domain.service.ProductoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,11 +23,24 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.app.dto.ServiceResult;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/productos")
@@ -24,7 +48,13 @@ import java.util.List;
 @Tag(name = "Productos", description = "API para gestión de productos")
 public class ProductoController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final ProductoService productoService;
+    private final ProductoExportService productoExportService;
+    private final ProductoFacetasService productoFacetasService;
+    private final ProductoImportService productoImportService;
 
     @Operation(
             summary = "Crear nuevo producto",
@@ -48,31 +78,200 @@ public class ProductoController {
         return handleResult(result, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Importar productos",
+            description = "Carga masiva desde CSV (con cabecera) o NDJSON, opcionalmente comprimido con gzip. "
+                    + "Las filas válidas se importan y las demás se informan con su número de línea"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resumen de la importación con los errores por fila",
+                    content = @Content(schema = @Schema(implementation = ProductoImportResultado.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Archivo sin cabecera o con columnas desconocidas",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
+    })
+    @PostMapping(value = "import", consumes = {CSV, NDJSON})
+    public ResponseEntity<?> importar(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        ProductoImportService.Formato formato = contentType.isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? ProductoImportService.Formato.CSV
+                : ProductoImportService.Formato.NDJSON;
+        InputStream entrada = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 8192) : body;
+        ServiceResult<ProductoImportResultado> result = productoImportService.importar(entrada, formato);
+        return handleResult(result, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Listar productos",
-            description = "Obtiene la lista completa de productos registrados"
+            description = "Obtiene una página de productos ordenada por ID. Para la siguiente página se envía "
+                    + "como cursor el siguienteCursor de la respuesta. El ETag depende de los IDs y versiones "
+                    + "de la página"
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
-                    description = "Lista de productos obtenida exitosamente",
-                    content = @Content(schema = @Schema(implementation = ProductoDto[].class)))
+                    description = "Página de productos obtenida exitosamente",
+                    content = @Content(schema = @Schema(implementation = ProductoPagina.class))),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "La página no cambió desde el ETag indicado en If-None-Match"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parámetros de paginación o filtros inválidos",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
     })
     @GetMapping("list")
-    public ResponseEntity<?> listar() {
-        ServiceResult<List<ProductoDto>> result = productoService.listarProductos();
+    public ResponseEntity<?> listar(
+            @Parameter(description = "Último ID de la página anterior", example = "120")
+            @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Cantidad de productos por página (con tope máximo)", example = "50")
+            @RequestParam(required = false) Integer tamano,
+            @Parameter(description = "ID de la categoría", example = "1")
+            @RequestParam(required = false) Long categoriaId,
+            @Parameter(description = "Catálogo del producto")
+            @RequestParam(required = false) String catalogo,
+            @Parameter(description = "Solo productos activos o inactivos")
+            @RequestParam(required = false) Boolean activo,
+            @Parameter(description = "Precio mínimo (inclusive)", example = "10000")
+            @RequestParam(required = false) BigDecimal precioMin,
+            @Parameter(description = "Precio máximo (inclusive)", example = "50000")
+            @RequestParam(required = false) BigDecimal precioMax) {
+        ProductoFiltro filtro = ProductoFiltro.builder()
+                .categoriaId(categoriaId)
+                .catalogo(catalogo)
+                .activo(activo)
+                .precioMin(precioMin)
+                .precioMax(precioMax)
+                .build();
+        ServiceResult<ProductoPagina> result = productoService.listarProductos(cursor, tamano, filtro);
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest().body(result.getErrors());
+        }
+        // Con el ETag en la respuesta, un If-None-Match vigente termina en 304 sin serializar la página
+        return ResponseEntity.ok()
+                .eTag(etag(result.getData()))
+                .body(result.getData());
+    }
+
+    @Operation(
+            summary = "Buscar productos",
+            description = "Typeahead sobre nombre, descripción, SKU, marca y tipo. Cada palabra se busca por prefijo, "
+                    + "sin distinguir mayúsculas ni tildes, y deben aparecer todas"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Productos que coinciden",
+                    content = @Content(schema = @Schema(implementation = ProductoBasicoDto[].class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Consulta vacía",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
+    })
+    @GetMapping("search")
+    public ResponseEntity<?> buscar(
+            @Parameter(description = "Texto a buscar", required = true, example = "polera algod")
+            @RequestParam String q,
+            @Parameter(description = "Máximo de resultados", example = "10")
+            @RequestParam(required = false) Integer limite) {
+        ServiceResult<List<ProductoBasicoDto>> result = productoService.buscarProductos(q, limite);
+        return handleResult(result, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Filtrar por atributos",
+            description = "Busca productos activos por tipo, talla, color, marca y temporada usando los índices "
+                    + "sobre la columna JSON de atributos. En la primera página incluye el conteo por faceta"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Página de productos y conteos por faceta",
+                    content = @Content(schema = @Schema(implementation = ProductoFacetasResultado.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parámetros inválidos",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
+    })
+    @GetMapping("filter")
+    public ResponseEntity<?> filtrar(
+            @Parameter(description = "Tipo de prenda", example = "hoddie")
+            @RequestParam(required = false) String tipo,
+            @Parameter(description = "Talla disponible", example = "M")
+            @RequestParam(required = false) String talla,
+            @Parameter(description = "Color disponible", example = "Negro")
+            @RequestParam(required = false) String color,
+            @Parameter(description = "Marca")
+            @RequestParam(required = false) String marca,
+            @Parameter(description = "Temporada", example = "Invierno")
+            @RequestParam(required = false) String temporada,
+            @Parameter(description = "ID de la categoría", example = "1")
+            @RequestParam(required = false) Long categoriaId,
+            @Parameter(description = "Último ID de la página anterior")
+            @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Cantidad de productos por página (con tope máximo)", example = "50")
+            @RequestParam(required = false) Integer tamano) {
+        FiltroAtributos filtro = FiltroAtributos.builder()
+                .tipo(tipo)
+                .talla(talla)
+                .color(color)
+                .marca(marca)
+                .temporada(temporada)
+                .categoriaId(categoriaId)
+                .build();
+        ServiceResult<ProductoFacetasResultado> result = productoFacetasService.filtrar(filtro, cursor, tamano);
         return handleResult(result, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Exportar catálogo",
+            description = "Transmite todos los productos como NDJSON (un JSON por línea), comprimido con gzip si el "
+                    + "cliente lo acepta. Con since solo se exportan los actualizados desde esa fecha"
+    )
+    @ApiResponse(responseCode = "200", description = "Catálogo en formato application/x-ndjson")
+    @GetMapping(value = "export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Fecha de actualización mínima (ISO-8601)", example = "2025-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream comprimido = new GZIPOutputStream(out, 8192);
+                productoExportService.exportar(since, comprimido);
+                comprimido.finish();
+            } else {
+                productoExportService.exportar(since, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @Operation(
             summary = "Obtener producto por ID",
-            description = "Recupera la información de un producto específico"
+            description = "Recupera la información de un producto específico. El ETag es la versión del producto"
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Producto encontrado",
                     content = @Content(schema = @Schema(implementation = ProductoDto.class))),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "El producto no cambió desde el ETag indicado en If-None-Match"),
             @ApiResponse(
                     responseCode = "404",
                     description = "Producto no encontrado",
@@ -81,8 +280,46 @@ public class ProductoController {
     @GetMapping("get/{id}")
     public ResponseEntity<?> obtener(
             @Parameter(description = "ID del producto", required = true, example = "1")
-            @PathVariable Long id) {
-        ServiceResult<ProductoDto> result = productoService.obtenerProducto(id);
+            @PathVariable Long id,
+            WebRequest request) {
+        // Con If-None-Match basta la versión (de la caché o de una consulta por id) para responder 304
+        Long version = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null ? productoService.obtenerVersion(id) : null;
+        if (version != null && request.checkNotModified(etag(version))) {
+            return null;
+        }
+
+        // El JSON sale ya serializado de la caché de productos, sin pasar por Jackson
+        ServiceResult<ProductoCache.Entrada> result = productoService.obtenerProductoCacheado(id);
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest().body(result.getErrors());
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (version == null) {
+            // Si se llamó a checkNotModified el ETag ya quedó en la respuesta
+            response.eTag(etag(result.getData().producto().getVersion()));
+        }
+        return response.body(result.getData().json());
+    }
+
+    @Operation(
+            summary = "Obtener productos por lote",
+            description = "Recupera varios productos en una sola llamada. Los IDs inexistentes se informan en faltantes"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Productos encontrados por ID y lista de IDs faltantes",
+                    content = @Content(schema = @Schema(implementation = ProductoLote.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Sin IDs o más IDs que el máximo permitido",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
+    })
+    @GetMapping("batch")
+    public ResponseEntity<?> obtenerLote(
+            @Parameter(description = "IDs de los productos separados por coma", required = true, example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        ServiceResult<ProductoLote> result = productoService.obtenerProductos(ids);
         return handleResult(result, HttpStatus.OK);
     }
 
@@ -142,6 +379,18 @@ public class ProductoController {
         return ResponseEntity.noContent().build();
     }
 
+    private static String etag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static String etag(ProductoPagina pagina) {
+        StringBuilder versiones = new StringBuilder();
+        pagina.getProductos().forEach(producto -> versiones.append(producto.getId()).append(':')
+                .append(producto.getVersion()).append(','));
+        versiones.append(pagina.getSiguienteCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(versiones.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
     private ResponseEntity<?> handleResult(ServiceResult<?> result, HttpStatus successStatus) {
         if (result.hasErrors()) {
             return ResponseEntity.badRequest().body(result.getErrors());
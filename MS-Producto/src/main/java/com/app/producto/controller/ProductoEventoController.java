@@ -0,0 +1,90 @@
+package com.app.producto.controller;
+
+import com.app.producto.domain.evento.ProductoEventoFeed;
+import com.app.producto.dto.EventosPagina;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.app.dto.ServiceResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/productos/eventos")
+@RequiredArgsConstructor
+@Tag(name = "Eventos de productos", description = "Feed de cambios de productos para mantener réplicas locales")
+public class ProductoEventoController {
+
+    private static final long ESPERA_MAXIMA_MS = 60_000;
+
+    private final ProductoEventoFeed productoEventoFeed;
+
+    @Operation(
+            summary = "Leer cambios (long-poll)",
+            description = "Devuelve los eventos posteriores al offset. Sin eventos nuevos espera hasta que se "
+                    + "publique alguno o venza la espera; ultimaSecuencia es el offset de la siguiente consulta"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Eventos posteriores al offset (puede venir vacío)",
+                    content = @Content(schema = @Schema(implementation = EventosPagina.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parámetros inválidos u offset ya purgado",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
+    })
+    @GetMapping
+    public DeferredResult<Object> leer(
+            @Parameter(description = "Última secuencia recibida; 0 para leer desde el inicio", example = "0")
+            @RequestParam(defaultValue = "0") long desde,
+            @Parameter(description = "Máximo de eventos por respuesta")
+            @RequestParam(required = false) Integer limite,
+            @Parameter(description = "Milisegundos a esperar si no hay eventos; 0 responde de inmediato")
+            @RequestParam(defaultValue = "25000") long esperaMs) {
+        ServiceResult<Integer> validacion = productoEventoFeed.validar(desde, limite);
+        if (validacion.hasErrors() || esperaMs <= 0) {
+            DeferredResult<Object> resultado = new DeferredResult<>();
+            resultado.setResult(validacion.hasErrors()
+                    ? ResponseEntity.badRequest().body(validacion.getErrors())
+                    : ResponseEntity.ok(productoEventoFeed.leer(desde, validacion.getData())));
+            return resultado;
+        }
+        return productoEventoFeed.esperar(desde, validacion.getData(), Math.min(esperaMs, ESPERA_MAXIMA_MS),
+                ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Suscribirse a cambios (SSE)",
+            description = "Envía los eventos posteriores al offset y luego cada cambio publicado. El id de cada "
+                    + "evento es su secuencia; al reconectar se reanuda desde Last-Event-ID. Si hay más "
+                    + "pendientes que el límite, se envía una página y se cierra para reconectar"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Flujo de eventos"),
+            @ApiResponse(responseCode = "400", description = "Offset negativo o ya purgado")
+    })
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribir(
+            @Parameter(description = "Última secuencia recibida; 0 para leer desde el inicio", example = "0")
+            @RequestParam(required = false) Long desde,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        // Al reconectar EventSource repite la URL original: manda el Last-Event-ID, no el desde
+        long offset = ultimoEventoId != null ? ultimoEventoId : desde != null ? desde : 0;
+        ServiceResult<Integer> validacion = productoEventoFeed.validar(offset, null);
+        if (validacion.hasErrors()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, validacion.getErrors().get(0));
+        }
+        return productoEventoFeed.suscribir(offset);
+    }
+}
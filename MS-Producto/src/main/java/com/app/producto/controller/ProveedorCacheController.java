@@ -0,0 +1,32 @@
+package com.app.producto.controller;
+
+import com.app.producto.shared.client.ProveedorClientService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/productos/cache")
+@RequiredArgsConstructor
+@Tag(name = "Caché de proveedores", description = "Invalidación de la caché local de proveedores")
+public class ProveedorCacheController {
+
+    private final ProveedorClientService proveedorClientService;
+
+    @Operation(
+            summary = "Invalidar proveedor cacheado",
+            description = "Descarta el proveedor de la caché local; lo invoca MS-Proveedores al modificarlo o eliminarlo"
+    )
+    @ApiResponse(responseCode = "204", description = "Proveedor invalidado")
+    @DeleteMapping("proveedores/{id}")
+    public ResponseEntity<Void> invalidarProveedor(
+            @Parameter(description = "ID del proveedor", required = true, example = "1")
+            @PathVariable Long id) {
+        proveedorClientService.evictProveedor(id);
+        return ResponseEntity.noContent().build();
+    }
+}
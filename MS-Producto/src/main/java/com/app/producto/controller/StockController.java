@@ -0,0 +1,100 @@
+package com.app.producto.controller;
+
+import com.app.producto.domain.service.StockReservaService;
+import com.app.producto.dto.ReservaStockRequest;
+import com.app.producto.dto.ReservaStockResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.app.dto.ServiceResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/productos/stock")
+@RequiredArgsConstructor
+@Tag(name = "Stock", description = "Reserva de stock para carritos")
+public class StockController {
+
+    private final StockReservaService stockReservaService;
+
+    @Operation(
+            summary = "Reservar stock",
+            description = "Descuenta el stock de todos los productos del carrito o de ninguno. "
+                    + "La reserva vence si no se confirma ni se libera a tiempo"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Stock reservado",
+                    content = @Content(schema = @Schema(implementation = ReservaStockResponse.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Stock insuficiente, producto inexistente o datos inválidos",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
+    })
+    @PostMapping("reserve")
+    public ResponseEntity<?> reservar(
+            @Parameter(description = "Productos y cantidades a reservar", required = true)
+            @RequestBody ReservaStockRequest request) {
+        return handleResult(stockReservaService.reservar(request), HttpStatus.CREATED);
+    }
+
+    @Operation(
+            summary = "Liberar reserva",
+            description = "Devuelve al stock las unidades reservadas, por ejemplo al vaciar o abandonar el carrito"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reserva liberada",
+                    content = @Content(schema = @Schema(implementation = ReservaStockResponse.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Reserva inexistente, ya liberada o vencida",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
+    })
+    @PostMapping("release/{reservaId}")
+    public ResponseEntity<?> liberar(
+            @Parameter(description = "ID de la reserva", required = true)
+            @PathVariable String reservaId) {
+        return handleResult(stockReservaService.liberar(reservaId), HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Confirmar reserva",
+            description = "Cierra la reserva tras el pago; el stock queda descontado"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Reserva confirmada"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Reserva inexistente o vencida",
+                    content = @Content(schema = @Schema(implementation = ServiceResult.class)))
+    })
+    @PostMapping("confirm/{reservaId}")
+    public ResponseEntity<?> confirmar(
+            @Parameter(description = "ID de la reserva", required = true)
+            @PathVariable String reservaId) {
+        ServiceResult<Void> result = stockReservaService.confirmar(reservaId);
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest().body(result.getErrors());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<?> handleResult(ServiceResult<?> result, HttpStatus successStatus) {
+        if (result.hasErrors()) {
+            return ResponseEntity.badRequest().body(result.getErrors());
+        }
+        return ResponseEntity.status(successStatus).body(result.getData());
+    }
+}
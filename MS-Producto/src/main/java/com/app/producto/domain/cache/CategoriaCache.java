@@ -0,0 +1,148 @@
+package com.app.producto.domain.cache;
+
+import com.app.producto.domain.model.Categoria;
+import com.app.producto.dto.CategoriaDto;
+import com.app.producto.dto.ConteoCategoria;
+import com.app.producto.repository.CategoriaRepository;
+import com.app.producto.repository.ProductoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Listado de categorías en memoria, con la cantidad de productos activos de cada una.
+ * Cada versión es inmutable y se reemplaza entera: las lecturas no tocan la base ni bloquean.
+ * Las altas, cambios y bajas de categorías recargan el listado desde la base; las de productos
+ * solo vuelven a contar las categorías afectadas. La resincronización periódica recoge los cambios hechos
+ * por otras instancias.
+ */
+@Slf4j
+@Component
+public class CategoriaCache {
+
+    /**
+     * Categorías ordenadas por id y el ETag fuerte de su representación JSON.
+     * Los DTO se comparten entre lecturas y no deben modificarse.
+     */
+    public record Listado(List<CategoriaDto> categorias, String etag) {
+    }
+
+    private final CategoriaRepository categoriaRepository;
+    private final ProductoRepository productoRepository;
+    private final ObjectWriter writer;
+    private volatile Listado listado;
+
+    public CategoriaCache(CategoriaRepository categoriaRepository,
+                          ProductoRepository productoRepository,
+                          ObjectMapper objectMapper) {
+        this.categoriaRepository = categoriaRepository;
+        this.productoRepository = productoRepository;
+        this.writer = objectMapper.writerFor(CategoriaDto[].class);
+    }
+
+    public Listado obtener() {
+        Listado actual = listado;
+        return actual != null ? actual : recargar();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${producto.app.categoriasResyncMs:300000}",
+            initialDelayString = "${producto.app.categoriasResyncMs:300000}")
+    public void resincronizar() {
+        recargar();
+    }
+
+    public synchronized Listado recargar() {
+        Map<Long, Long> conteos = productoRepository.contarActivosPorCategoria().stream()
+                .collect(Collectors.toMap(ConteoCategoria::getCategoriaId, ConteoCategoria::getTotal));
+        List<CategoriaDto> categorias = categoriaRepository.findAll().stream()
+                .map(categoria -> toDto(categoria, conteos.getOrDefault(categoria.getId(), 0L)))
+                .sorted(Comparator.comparing(CategoriaDto::getId))
+                .toList();
+        listado = crear(categorias);
+        log.debug("Listado de categorías recargado: {} categorías", categorias.size());
+        return listado;
+    }
+
+    /**
+     * Vuelve a contar en la base los productos activos de {@code categoriaIds}; se llama después
+     * del commit. Toma el mismo candado que {@link #recargar()}, así que quien corre último ya lee
+     * el cambio confirmado: una recarga intercalada no lo cuenta dos veces, como pasaba al sumar
+     * variaciones. Sin listado cargado no hace nada: la primera lectura lo arma desde la base.
+     */
+    public synchronized void recontar(Collection<Long> categoriaIds) {
+        Listado actual = listado;
+        if (actual == null) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (CategoriaDto dto : actual.categorias()) {
+            if (categoriaIds.contains(dto.getId())) {
+                ids.add(dto.getId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> conteos = productoRepository.contarActivosPorCategoria(ids).stream()
+                .collect(Collectors.toMap(ConteoCategoria::getCategoriaId, ConteoCategoria::getTotal));
+        List<CategoriaDto> categorias = new ArrayList<>(actual.categorias().size());
+        boolean cambio = false;
+        for (CategoriaDto dto : actual.categorias()) {
+            long total = conteos.getOrDefault(dto.getId(), 0L);
+            if (ids.contains(dto.getId()) && total != dto.getProductosActivos()) {
+                dto = CategoriaDto.builder()
+                        .id(dto.getId())
+                        .nombre(dto.getNombre())
+                        .descripcion(dto.getDescripcion())
+                        .productosActivos(total)
+                        .build();
+                cambio = true;
+            }
+            categorias.add(dto);
+        }
+        if (cambio) {
+            listado = crear(Collections.unmodifiableList(categorias));
+        }
+    }
+
+    private Listado crear(List<CategoriaDto> categorias) {
+        try {
+            byte[] json = writer.writeValueAsBytes(categorias.toArray(CategoriaDto[]::new));
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return new Listado(categorias, "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CategoriaDto toDto(Categoria categoria, long productosActivos) {
+        return CategoriaDto.builder()
+                .id(categoria.getId())
+                .nombre(categoria.getNombre())
+                .descripcion(categoria.getDescripcion())
+                .productosActivos(productosActivos)
+                .build();
+    }
+}
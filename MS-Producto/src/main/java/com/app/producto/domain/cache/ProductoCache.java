@@ -0,0 +1,118 @@
+package com.app.producto.domain.cache;
+
+import com.app.producto.dto.ProductoDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caché read-through de productos por id para {@code GET /api/productos/get/{id}}.
+ * Cada entrada guarda el DTO ya armado y su JSON serializado, así una lectura caliente
+ * no toca la base ni Jackson. La carga es single-flight por id: lecturas concurrentes
+ * de un id ausente esperan a una sola consulta. Los ids inexistentes no se cachean.
+ */
+@Component
+public class ProductoCache {
+
+    /**
+     * Producto cacheado junto con su representación JSON.
+     */
+    public record Entrada(ProductoDto producto, byte[] json) {
+    }
+
+    private final ObjectWriter writer;
+    private final Cache<Long, Entrada> cache;
+    // Cuenta las invalidaciones; una carga por lote no cachea si cambió mientras leía la base
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    public ProductoCache(ObjectMapper objectMapper,
+                         ObjectProvider<MeterRegistry> meterRegistry,
+                         @Value("${producto.app.cacheMaxSize:10000}") long maxSize,
+                         @Value("${producto.app.cacheTtlMs:600000}") long ttlMs) {
+        this.writer = objectMapper.writerFor(ProductoDto.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "productos"));
+    }
+
+    /**
+     * Devuelve la entrada del producto, cargándola con {@code cargador} si no está.
+     * Si el cargador devuelve null el resultado es null y no queda nada cacheado.
+     */
+    public Entrada obtener(Long id, Function<Long, ProductoDto> cargador) {
+        return cache.get(id, key -> {
+            ProductoDto producto = cargador.apply(key);
+            return producto == null ? null : new Entrada(producto, serializar(producto));
+        });
+    }
+
+    /**
+     * Entrada cacheada del producto, sin cargarla si no está.
+     */
+    public Entrada obtenerSiPresente(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Versión por lote de {@link #obtener}: {@code cargador} recibe solo los ids ausentes en la
+     * caché, en una única llamada. Los ids que el cargador no devuelve quedan fuera del resultado.
+     * <p>
+     * La carga por lote no es single-flight. Si hubo cualquier {@link #invalidar} mientras el
+     * cargador leía la base, lo leído se devuelve pero no se cachea, porque podría ser anterior
+     * a la escritura invalidada.
+     */
+    public Map<Long, Entrada> obtenerTodos(Set<Long> ids, Function<Set<Long>, Map<Long, ProductoDto>> cargador) {
+        Map<Long, Entrada> resultado = new HashMap<>(cache.getAllPresent(ids));
+        Set<Long> faltantes = new HashSet<>(ids);
+        faltantes.removeAll(resultado.keySet());
+        if (faltantes.isEmpty()) {
+            return resultado;
+        }
+        long generacion = invalidaciones.get();
+        cargador.apply(Set.copyOf(faltantes)).forEach((id, producto) -> {
+            Entrada cargada = new Entrada(producto, serializar(producto));
+            // compute toma el mismo lock por id que invalidar: o ve el cambio de generación
+            // o la invalidación posterior borra lo que deja
+            Entrada cacheada = cache.asMap().compute(id, (key, actual) ->
+                    actual != null || invalidaciones.get() != generacion ? actual : cargada);
+            resultado.put(id, cacheada != null ? cacheada : cargada);
+        });
+        return resultado;
+    }
+
+    /**
+     * Descarta el producto. Una carga en curso con {@link #obtener} termina antes y se descarta;
+     * una con {@link #obtenerTodos} ya no se cachea.
+     */
+    public void invalidar(Long id) {
+        invalidaciones.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    private byte[] serializar(ProductoDto producto) {
+        try {
+            return writer.writeValueAsBytes(producto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.app.producto.domain.evento;
+
+import com.app.producto.dto.EventoProductoDto;
+import com.app.producto.dto.EventosPagina;
+import com.app.producto.repository.EventoProductoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.app.dto.ServiceResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Feed de cambios de producto reanudable desde un offset (la última secuencia recibida).
+ * Se lee por long-poll o por SSE; en ambos casos el consumidor se registra antes de leer la
+ * base, así un lote publicado mientras tanto le llega por {@link #publicar} y no se pierde.
+ * <p>
+ * {@link #publicar} no escribe en los sockets SSE: encola en el buffer acotado de cada
+ * suscripción y un hilo del pool {@code sse-eventos} lo vacía, uno por suscripción con envíos. Un cliente lento solo frena su
+ * propio envío; si su buffer se llena se le cierra la conexión y reanuda con
+ * {@code Last-Event-ID}.
+ */
+@Slf4j
+@Component
+public class ProductoEventoFeed {
+
+    private final EventoProductoRepository eventoProductoRepository;
+    private final int maxLimite;
+    private final long sseTimeoutMs;
+    private final int sseBuffer;
+    // Hilos de plataforma: SseEmitter escribe dentro de un synchronized y fijaría los virtuales
+    private final ExecutorService envios = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sse-eventos");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Espera> esperas = ConcurrentHashMap.newKeySet();
+    private final Set<Suscripcion> suscripciones = ConcurrentHashMap.newKeySet();
+
+    public ProductoEventoFeed(EventoProductoRepository eventoProductoRepository,
+                              @Value("${producto.app.eventosMaxLimit:1000}") int maxLimite,
+                              @Value("${producto.app.eventosSseTimeoutMs:1800000}") long sseTimeoutMs,
+                              @Value("${producto.app.eventosSseBuffer:1000}") int sseBuffer) {
+        this.eventoProductoRepository = eventoProductoRepository;
+        this.maxLimite = maxLimite;
+        this.sseTimeoutMs = sseTimeoutMs;
+        this.sseBuffer = sseBuffer;
+    }
+
+    private record Espera(long desde, int limite, DeferredResult<Object> resultado,
+                          Function<EventosPagina, ?> respuesta) {
+
+        void responder(EventosPagina pagina) {
+            resultado.setResult(respuesta.apply(pagina));
+        }
+    }
+
+    /**
+     * Solo quien tiene {@code enviando} escribe en el emitter y toca {@code ultima}; al crearla
+     * lo tiene {@link #suscribir} mientras manda lo pendiente.
+     */
+    private static final class Suscripcion {
+        private final SseEmitter emitter;
+        private final BlockingQueue<EventoProductoDto> buffer;
+        private final AtomicBoolean enviando = new AtomicBoolean(true);
+        private long ultima;
+
+        private Suscripcion(SseEmitter emitter, long desde, int capacidad) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacidad);
+            this.ultima = desde;
+        }
+    }
+
+    /**
+     * Valida el offset y el límite; un offset anterior a lo que conserva el outbox obliga al
+     * consumidor a resincronizar su réplica.
+     */
+    public ServiceResult<Integer> validar(long desde, Integer limite) {
+        List<String> errors = new ArrayList<>();
+        if (desde < 0) {
+            errors.add("El offset no puede ser negativo");
+        }
+        if (limite != null && (limite < 1 || limite > maxLimite)) {
+            errors.add("El límite debe estar entre 1 y " + maxLimite);
+        }
+        if (errors.isEmpty() && desde > 0) {
+            long minima = eventoProductoRepository.minSecuencia();
+            if (minima > desde + 1) {
+                errors.add("El offset " + desde + " ya no está disponible; el evento más antiguo es el " + minima);
+            }
+        }
+        return errors.isEmpty() ? new ServiceResult<>(limite == null ? maxLimite : limite) : new ServiceResult<>(errors);
+    }
+
+    public EventosPagina leer(long desde, int limite) {
+        List<EventoProductoDto> eventos = eventoProductoRepository
+                .findBySecuenciaGreaterThanOrderBySecuenciaAsc(desde, PageRequest.of(0, limite)).stream()
+                .map(ProductoEventoRelay::toDto)
+                .toList();
+        return pagina(eventos, desde);
+    }
+
+    /**
+     * Long-poll: responde de inmediato si hay eventos posteriores a {@code desde}; si no, cuando
+     * el relay publique el próximo lote o, vencida la espera, con una página vacía.
+     * {@code respuesta} convierte la página en el cuerpo que devuelve el controlador.
+     */
+    public DeferredResult<Object> esperar(long desde, int limite, long esperaMs,
+                                          Function<EventosPagina, ?> respuesta) {
+        DeferredResult<Object> resultado = new DeferredResult<>(esperaMs, () -> respuesta.apply(pagina(List.of(), desde)));
+        Espera espera = new Espera(desde, limite, resultado, respuesta);
+        esperas.add(espera);
+        resultado.onCompletion(() -> esperas.remove(espera));
+
+        EventosPagina pagina = leer(desde, limite);
+        if (!pagina.getEventos().isEmpty()) {
+            espera.responder(pagina);
+        }
+        return resultado;
+    }
+
+    /**
+     * SSE: envía lo pendiente desde {@code desde} y luego cada lote publicado. El id de cada
+     * evento es su secuencia, así EventSource se reanuda solo con {@code Last-Event-ID}.
+     * <p>
+     * Lo pendiente se manda antes de que Spring MVC conecte el emitter, que lo retiene en
+     * memoria; por eso se envía a lo sumo una página de {@code eventosMaxLimit}. Si quedan
+     * más, la conexión se cierra tras la página y el cliente sigue desde su último id.
+     */
+    public SseEmitter suscribir(long desde) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Suscripcion suscripcion = new Suscripcion(emitter, desde, sseBuffer);
+        suscripciones.add(suscripcion);
+        emitter.onCompletion(() -> suscripciones.remove(suscripcion));
+        emitter.onTimeout(() -> suscripciones.remove(suscripcion));
+        emitter.onError(e -> suscripciones.remove(suscripcion));
+
+        List<EventoProductoDto> pendientes = leer(suscripcion.ultima, maxLimite).getEventos();
+        enviar(suscripcion, pendientes);
+        if (pendientes.size() == maxLimite && suscripciones.remove(suscripcion)) {
+            emitter.complete();
+            return emitter;
+        }
+        // Lo publicado durante la lectura quedó en el buffer
+        suscripcion.enviando.set(false);
+        programar(suscripcion);
+        return emitter;
+    }
+
+    /**
+     * Entrega un lote recién publicado (ordenado por secuencia) a las esperas y suscripciones.
+     */
+    void publicar(List<EventoProductoDto> eventos) {
+        for (Espera espera : esperas) {
+            List<EventoProductoDto> nuevos = eventos.stream()
+                    .filter(evento -> evento.getSecuencia() > espera.desde())
+                    .limit(espera.limite())
+                    .toList();
+            if (!nuevos.isEmpty()) {
+                espera.responder(pagina(nuevos, espera.desde()));
+            }
+        }
+        for (Suscripcion suscripcion : suscripciones) {
+            for (EventoProductoDto evento : eventos) {
+                if (!suscripcion.buffer.offer(evento)) {
+                    // Va atrasado: se corta y al reconectar lee desde la base con su último id
+                    log.debug("Suscripción SSE atrasada en más de {} eventos, se desconecta", sseBuffer);
+                    suscripciones.remove(suscripcion);
+                    suscripcion.buffer.clear();
+                    // complete espera el monitor del emitter, que retiene el envío lento
+                    envios.execute(suscripcion.emitter::complete);
+                    break;
+                }
+            }
+            programar(suscripcion);
+        }
+    }
+
+    /**
+     * Lanza el envío del buffer si hay algo y nadie lo está enviando ya.
+     */
+    private void programar(Suscripcion suscripcion) {
+        if (!suscripcion.buffer.isEmpty() && suscripcion.enviando.compareAndSet(false, true)) {
+            envios.execute(() -> vaciar(suscripcion));
+        }
+    }
+
+    private void vaciar(Suscripcion suscripcion) {
+        do {
+            List<EventoProductoDto> lote = new ArrayList<>();
+            suscripcion.buffer.drainTo(lote);
+            if (suscripciones.contains(suscripcion)) {
+                enviar(suscripcion, lote);
+            }
+            suscripcion.enviando.set(false);
+            // Un evento encolado justo antes de soltar el flag no queda esperando al próximo lote
+        } while (!suscripcion.buffer.isEmpty() && suscripcion.enviando.compareAndSet(false, true));
+    }
+
+    private void enviar(Suscripcion suscripcion, List<EventoProductoDto> eventos) {
+        try {
+            for (EventoProductoDto evento : eventos) {
+                if (evento.getSecuencia() > suscripcion.ultima) {
+                    suscripcion.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(evento.getSecuencia()))
+                            .name(evento.getTipo().name())
+                            .data(evento));
+                    suscripcion.ultima = evento.getSecuencia();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: deja de recibir y reanuda con su último id al reconectar
+            log.debug("Suscripción SSE cerrada: {}", e.getMessage());
+            suscripciones.remove(suscripcion);
+            suscripcion.emitter.completeWithError(e);
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        envios.shutdownNow();
+    }
+
+    private static EventosPagina pagina(List<EventoProductoDto> eventos, long desde) {
+        return EventosPagina.builder()
+                .eventos(eventos)
+                .ultimaSecuencia(eventos.isEmpty() ? desde : eventos.get(eventos.size() - 1).getSecuencia())
+                .build();
+    }
+}
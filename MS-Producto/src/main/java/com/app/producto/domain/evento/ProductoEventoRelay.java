@@ -0,0 +1,144 @@
+package com.app.producto.domain.evento;
+
+import com.app.producto.domain.model.EventoProducto;
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.service.ProductoService;
+import com.app.producto.dto.EventoProductoDto;
+import com.app.producto.repository.EventoProductoRepository;
+import com.app.producto.repository.ProductoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publica el outbox por lotes. En cada pasada asigna secuencia a las filas pendientes en una
+ * sola transacción (el índice único sobre {@code secuencia} hace que, con varias instancias,
+ * solo una gane cada número) y luego difunde al feed todo lo publicado desde la última pasada,
+ * incluidos los lotes que secuenció otra instancia.
+ */
+@Slf4j
+@Component
+public class ProductoEventoRelay {
+
+    private final EventoProductoRepository eventoProductoRepository;
+    private final ProductoRepository productoRepository;
+    private final ProductoService productoService;
+    private final ProductoEventoFeed productoEventoFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int tamanoLote;
+    private final int retencionDias;
+    private Long ultimaDifundida;
+
+    public ProductoEventoRelay(EventoProductoRepository eventoProductoRepository,
+                               ProductoRepository productoRepository,
+                               ProductoService productoService,
+                               ProductoEventoFeed productoEventoFeed,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${producto.app.eventosBatchSize:500}") int tamanoLote,
+                               @Value("${producto.app.eventosRetencionDias:7}") int retencionDias) {
+        this.eventoProductoRepository = eventoProductoRepository;
+        this.productoRepository = productoRepository;
+        this.productoService = productoService;
+        this.productoEventoFeed = productoEventoFeed;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.tamanoLote = tamanoLote;
+        this.retencionDias = retencionDias;
+    }
+
+    @Scheduled(fixedDelayString = "${producto.app.eventosRelayMs:500}")
+    public synchronized void publicar() {
+        if (ultimaDifundida == null) {
+            ultimaDifundida = eventoProductoRepository.maxSecuencia();
+        }
+        try {
+            int secuenciados;
+            do {
+                secuenciados = secuenciar();
+            } while (secuenciados == tamanoLote);
+        } catch (DataAccessException e) {
+            // Otra instancia secuenció el mismo lote; sus eventos se difunden igual más abajo
+            log.debug("Lote de eventos no secuenciado: {}", e.getMessage());
+        }
+        difundir();
+    }
+
+    @Scheduled(fixedDelayString = "${producto.app.eventosPurgeMs:3600000}")
+    public void purgar() {
+        Integer eliminados = transactionTemplate.execute(status ->
+                eventoProductoRepository.eliminarPublicadosAntesDe(LocalDateTime.now().minusDays(retencionDias)));
+        if (eliminados != null && eliminados > 0) {
+            log.info("Eventos de producto purgados: {}", eliminados);
+        }
+    }
+
+    private int secuenciar() {
+        Integer secuenciados = transactionTemplate.execute(status -> {
+            List<EventoProducto> pendientes = eventoProductoRepository.findBySecuenciaIsNullOrderByIdAsc(
+                    PageRequest.of(0, tamanoLote));
+            if (pendientes.isEmpty()) {
+                return 0;
+            }
+
+            Set<Long> ids = pendientes.stream().map(EventoProducto::getProductoId).collect(Collectors.toSet());
+            Map<Long, Producto> productos = productoRepository.findAllConCategoriaByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Producto::getId, Function.identity()));
+            long siguiente = eventoProductoRepository.maxSecuencia() + 1;
+            LocalDateTime ahora = LocalDateTime.now();
+            for (EventoProducto evento : pendientes) {
+                Producto producto = evento.getTipo() == EventoProducto.Tipo.ELIMINADO
+                        ? null : productos.get(evento.getProductoId());
+                evento.setSecuencia(siguiente++);
+                evento.setPayload(producto == null ? null : serializar(producto));
+                evento.setFechaPublicacion(ahora);
+            }
+            return pendientes.size();
+        });
+        return secuenciados == null ? 0 : secuenciados;
+    }
+
+    private void difundir() {
+        List<EventoProducto> nuevos;
+        do {
+            nuevos = eventoProductoRepository.findBySecuenciaGreaterThanOrderBySecuenciaAsc(ultimaDifundida,
+                    PageRequest.of(0, tamanoLote));
+            if (!nuevos.isEmpty()) {
+                productoEventoFeed.publicar(nuevos.stream().map(ProductoEventoRelay::toDto).toList());
+                ultimaDifundida = nuevos.get(nuevos.size() - 1).getSecuencia();
+            }
+        } while (nuevos.size() == tamanoLote);
+    }
+
+    private String serializar(Producto producto) {
+        try {
+            return objectMapper.writeValueAsString(productoService.toDto(producto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el producto " + producto.getId(), e);
+        }
+    }
+
+    static EventoProductoDto toDto(EventoProducto evento) {
+        return EventoProductoDto.builder()
+                .secuencia(evento.getSecuencia())
+                .productoId(evento.getProductoId())
+                .tipo(evento.getTipo())
+                .producto(evento.getPayload())
+                .fecha(evento.getFechaRegistro())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.app.producto.domain.evento;
+
+import com.app.producto.domain.model.EventoProducto;
+import com.app.producto.repository.EventoProductoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Registra cambios de producto en el outbox. Exige una transacción en curso: la fila se confirma
+ * o se descarta junto con el cambio que describe. Solo guarda el id y el tipo; la foto del
+ * producto la agrega el relay al publicar.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductoOutbox {
+
+    private final EventoProductoRepository eventoProductoRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(EventoProducto.Tipo tipo, Long productoId) {
+        eventoProductoRepository.save(evento(tipo, productoId, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(EventoProducto.Tipo tipo, Collection<Long> productoIds) {
+        LocalDateTime ahora = LocalDateTime.now();
+        eventoProductoRepository.saveAll(productoIds.stream()
+                .map(productoId -> evento(tipo, productoId, ahora))
+                .toList());
+    }
+
+    private static EventoProducto evento(EventoProducto.Tipo tipo, Long productoId, LocalDateTime fecha) {
+        return EventoProducto.builder()
+                .tipo(tipo)
+                .productoId(productoId)
+                .fechaRegistro(fecha)
+                .build();
+    }
+}
@@ -14,7 +14,8 @@ import java.util.List;
 @Builder
 public class Categoria {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categorias_seq")
+    @SequenceGenerator(name = "categorias_seq", sequenceName = "categorias_seq", allocationSize = 10)
     @Column(name = "id_categoria")
     private Long id;
 
@@ -0,0 +1,49 @@
+package com.app.producto.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del outbox de cambios de producto. Se inserta en la misma transacción que el cambio,
+ * sin secuencia; el relay le asigna {@code secuencia} (correlativa y sin huecos) y la foto del
+ * producto en {@code payload} al publicarla.
+ */
+@Entity
+@Table(name = "eventos_producto", indexes = {
+        @Index(name = "idx_eventos_producto_secuencia", columnList = "secuencia", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoProducto {
+
+    public enum Tipo { CREADO, ACTUALIZADO, ELIMINADO, STOCK }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_producto_seq")
+    @SequenceGenerator(name = "eventos_producto_seq", sequenceName = "eventos_producto_seq", allocationSize = 50)
+    @Column(name = "id_evento")
+    private Long id;
+
+    private Long secuencia;
+
+    @Column(name = "id_producto", nullable = false)
+    private Long productoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Tipo tipo;
+
+    // ProductoDto en JSON; null si el producto ya no existe al publicar
+    @Lob
+    private String payload;
+
+    @Column(name = "fecha_registro", nullable = false)
+    private LocalDateTime fechaRegistro;
+
+    @Column(name = "fecha_publicacion")
+    private LocalDateTime fechaPublicacion;
+}
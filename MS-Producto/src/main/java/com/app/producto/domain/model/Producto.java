@@ -1,5 +1,7 @@
 package com.app.producto.domain.model;
 
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.shared.util.AtributosProductoConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import lombok.*;
@@ -10,14 +12,22 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "productos")
+@Table(name = "productos", indexes = {
+        // Índices del listado por cursor: filtro de igualdad primero y id_producto al final para el orden
+        @Index(name = "idx_productos_categoria_activo", columnList = "id_categoria, activo, id_producto"),
+        @Index(name = "idx_productos_catalogo_activo", columnList = "catalogo, activo, id_producto"),
+        @Index(name = "idx_productos_activo_precio", columnList = "activo, precio, id_producto"),
+        // Exportación incremental (?since=)
+        @Index(name = "idx_productos_fecha_actualizacion", columnList = "fecha_actualizacion, id_producto")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Producto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productos_seq")
+    @SequenceGenerator(name = "productos_seq", sequenceName = "productos_seq", allocationSize = 50)
     @Column(name = "id_producto")
     private Long id;
 
@@ -59,7 +69,23 @@ public class Producto {
     @Transient // Indica que no es persistente en BD
     private Long proveedoresId;
 
+    // El DEFAULT rellena las filas existentes al agregar la columna
+    @Column(name = "fecha_actualizacion", columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime fechaActualizacion;
+
+    // Bloqueo optimista y ETag de las lecturas; los UPDATE de stock también la incrementan
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     @Column(columnDefinition = "json")
     @JdbcTypeCode(SqlTypes.JSON)
-    private String atributos;
+    @Convert(converter = AtributosProductoConverter.class)
+    private AtributosProducto atributos;
+
+    @PrePersist
+    @PreUpdate
+    void marcarActualizacion() {
+        fechaActualizacion = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,39 @@
+package com.app.producto.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unidades descontadas del stock de un producto mientras el carrito se paga. Una reserva
+ * ({@code reservaId}) agrupa una fila por producto; al vencer, el barrido devuelve las unidades.
+ */
+@Entity
+@Table(name = "reservas_stock", indexes = {
+        @Index(name = "idx_reservas_stock_reserva", columnList = "reserva_id"),
+        @Index(name = "idx_reservas_stock_expira", columnList = "expira_en")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservaStock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservas_stock_seq")
+    @SequenceGenerator(name = "reservas_stock_seq", sequenceName = "reservas_stock_seq", allocationSize = 50)
+    @Column(name = "id_reserva_stock")
+    private Long id;
+
+    @Column(name = "reserva_id", nullable = false, length = 36)
+    private String reservaId;
+
+    @Column(name = "id_producto", nullable = false)
+    private Long productoId;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+}
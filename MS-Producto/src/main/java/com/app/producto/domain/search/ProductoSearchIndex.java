@@ -0,0 +1,299 @@
+package com.app.producto.domain.search;
+
+import com.app.producto.domain.model.Producto;
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.dto.ProductoBasicoDto;
+import com.app.producto.repository.ProductoExportRepository;
+import com.app.producto.shared.util.AtributosProductoConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre nombre, descripción, SKU, marca y tipo para el typeahead.
+ * Los términos se normalizan (minúsculas, sin tildes) y cada uno apunta a un {@code long[]}
+ * ordenado de ids. Las consultas buscan cada palabra por prefijo y exigen que aparezcan todas.
+ * Las listas de un prefijo se mezclan de forma perezosa y la intersección se detiene al reunir
+ * el límite, así que un prefijo de una o dos letras no recorre ni ordena todas sus listas.
+ * <p>
+ * Las lecturas no bloquean: cada lista de ids es inmutable y se reemplaza entera al cambiar.
+ * Las escrituras se serializan para mantener consistente el índice directo (id → términos).
+ * Durante una reconstrucción también se encolan y se vuelven a aplicar sobre el índice nuevo,
+ * para que un alta o baja concurrente con la lectura de la tabla no se pierda en el reemplazo.
+ */
+@Slf4j
+@Component
+public class ProductoSearchIndex {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] VACIO = new long[0];
+
+    private final ProductoExportRepository productoExportRepository;
+    private final int fetchSize;
+
+    private volatile ConcurrentNavigableMap<String, long[]> terminos = new ConcurrentSkipListMap<>();
+    private volatile Map<Long, String[]> terminosPorProducto = new ConcurrentHashMap<>();
+    private volatile Map<Long, ProductoBasicoDto> documentos = new ConcurrentHashMap<>();
+    // Cambios recibidos mientras se reconstruye; null fuera de una reconstrucción. Protegido por this
+    private List<Runnable> pendientes;
+
+    public ProductoSearchIndex(ProductoExportRepository productoExportRepository,
+                               @Value("${producto.app.exportFetchSize:500}") int fetchSize) {
+        this.productoExportRepository = productoExportRepository;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Carga inicial con el cursor de la exportación, sin materializar entidades.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (this) {
+            if (pendientes != null) {
+                log.warn("Reconstrucción del índice de búsqueda ya en curso");
+                return;
+            }
+            pendientes = new ArrayList<>();
+        }
+        try {
+            cargar();
+        } finally {
+            synchronized (this) {
+                pendientes = null;
+            }
+        }
+    }
+
+    private void cargar() {
+        long inicio = System.currentTimeMillis();
+        Map<String, List<Long>> acumulado = new HashMap<>();
+        Map<Long, String[]> porProducto = new ConcurrentHashMap<>();
+        Map<Long, ProductoBasicoDto> docs = new ConcurrentHashMap<>();
+
+        productoExportRepository.recorrer(null, fetchSize, fila -> {
+            long id = fila.getLong("id_producto");
+            AtributosProducto atributos = AtributosProductoConverter.leer(fila.getString("atributos"));
+            String[] terminosProducto = terminosDe(fila.getString("nombre"), fila.getString("descripcion"),
+                    fila.getString("codigo_sku"), atributos);
+            for (String termino : terminosProducto) {
+                acumulado.computeIfAbsent(termino, key -> new ArrayList<>()).add(id);
+            }
+            porProducto.put(id, terminosProducto);
+            docs.put(id, new ProductoBasicoDto(id, fila.getString("codigo_sku"), fila.getString("nombre")));
+        });
+
+        ConcurrentSkipListMap<String, long[]> nuevos = new ConcurrentSkipListMap<>();
+        acumulado.forEach((termino, ids) -> nuevos.put(termino, ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray()));
+
+        int reaplicados;
+        synchronized (this) {
+            terminos = nuevos;
+            terminosPorProducto = porProducto;
+            documentos = docs;
+            // Repetir los cambios concurrentes es inocuo si la lectura ya los había visto
+            pendientes.forEach(Runnable::run);
+            reaplicados = pendientes.size();
+        }
+        log.info("Índice de búsqueda construido: {} productos, {} términos, {} cambios reaplicados en {} ms",
+                docs.size(), nuevos.size(), reaplicados, System.currentTimeMillis() - inicio);
+    }
+
+    public synchronized void indexar(Producto producto) {
+        if (producto.getId() == null) {
+            return;
+        }
+        long id = producto.getId();
+        String[] nuevos = terminosDe(producto.getNombre(), producto.getDescripcion(), producto.getCodigoSku(),
+                producto.getAtributos());
+        ProductoBasicoDto documento = new ProductoBasicoDto(id, producto.getCodigoSku(), producto.getNombre());
+        aplicarIndexado(id, nuevos, documento);
+        if (pendientes != null) {
+            pendientes.add(() -> aplicarIndexado(id, nuevos, documento));
+        }
+    }
+
+    public synchronized void eliminar(Long id) {
+        aplicarEliminacion(id);
+        if (pendientes != null) {
+            pendientes.add(() -> aplicarEliminacion(id));
+        }
+    }
+
+    private void aplicarIndexado(long id, String[] nuevos, ProductoBasicoDto documento) {
+        String[] anteriores = terminosPorProducto.getOrDefault(id, new String[0]);
+
+        Set<String> quitar = new HashSet<>(Arrays.asList(anteriores));
+        for (String termino : nuevos) {
+            if (!quitar.remove(termino)) {
+                terminos.compute(termino, (key, ids) -> agregar(ids == null ? VACIO : ids, id));
+            }
+        }
+        quitar.forEach(termino -> terminos.computeIfPresent(termino, (key, ids) -> quitarId(ids, id)));
+
+        terminosPorProducto.put(id, nuevos);
+        documentos.put(id, documento);
+    }
+
+    private void aplicarEliminacion(Long id) {
+        String[] anteriores = terminosPorProducto.remove(id);
+        if (anteriores != null) {
+            for (String termino : anteriores) {
+                terminos.computeIfPresent(termino, (key, ids) -> quitarId(ids, id));
+            }
+        }
+        documentos.remove(id);
+    }
+
+    /**
+     * Productos cuyo texto contiene, por prefijo, todas las palabras de la consulta, en orden de id.
+     */
+    public List<ProductoBasicoDto> buscar(String consulta, int limite) {
+        String[] palabras = tokenizar(consulta).toArray(String[]::new);
+        if (palabras.length == 0) {
+            return List.of();
+        }
+
+        ConcurrentNavigableMap<String, long[]> indice = terminos;
+        Map<Long, ProductoBasicoDto> docs = documentos;
+        Union[] uniones = new Union[palabras.length];
+        for (int i = 0; i < palabras.length; i++) {
+            uniones[i] = new Union(indice.subMap(palabras[i], true, palabras[i] + Character.MAX_VALUE, false).values());
+        }
+
+        // Intersección por saltos: cada palabra avanza hasta el candidato y, si lo supera, lo sube
+        List<ProductoBasicoDto> productos = new ArrayList<>(Math.min(limite, 16));
+        long candidato = Long.MIN_VALUE;
+        siguiente:
+        while (productos.size() < limite) {
+            for (Union union : uniones) {
+                if (!union.avanzarHasta(candidato)) {
+                    break siguiente;
+                }
+                if (union.actual() != candidato) {
+                    candidato = union.actual();
+                    continue siguiente;
+                }
+            }
+            ProductoBasicoDto doc = docs.get(candidato);
+            if (doc != null) {
+                productos.add(doc);
+            }
+            if (candidato == Long.MAX_VALUE) {
+                break;
+            }
+            candidato++;
+        }
+        return productos;
+    }
+
+    public int size() {
+        return documentos.size();
+    }
+
+    /**
+     * Minúsculas, sin tildes ni diéresis ("Algodón" → "algodon") y separado en palabras.
+     */
+    public static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String plano = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARADORES.split(plano.toLowerCase(Locale.ROOT)))
+                .filter(palabra -> !palabra.isEmpty())
+                .toList();
+    }
+
+    private static String[] terminosDe(String nombre, String descripcion, String codigoSku, AtributosProducto atributos) {
+        Set<String> terminos = new HashSet<>();
+        terminos.addAll(tokenizar(nombre));
+        terminos.addAll(tokenizar(descripcion));
+        terminos.addAll(tokenizar(codigoSku));
+        if (atributos != null) {
+            terminos.addAll(tokenizar(atributos.getMarca()));
+            terminos.addAll(tokenizar(atributos.getTipo()));
+        }
+        return terminos.toArray(String[]::new);
+    }
+
+    private static long[] agregar(long[] ids, long id) {
+        int posicion = Arrays.binarySearch(ids, id);
+        if (posicion >= 0) {
+            return ids;
+        }
+        int insercion = -posicion - 1;
+        long[] copia = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copia, 0, insercion);
+        copia[insercion] = id;
+        System.arraycopy(ids, insercion, copia, insercion + 1, ids.length - insercion);
+        return copia;
+    }
+
+    // Devuelve null cuando la lista queda vacía para que compute quite el término
+    private static long[] quitarId(long[] ids, long id) {
+        int posicion = Arrays.binarySearch(ids, id);
+        if (posicion < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] copia = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copia, 0, posicion);
+        System.arraycopy(ids, posicion + 1, copia, posicion, ids.length - posicion - 1);
+        return copia;
+    }
+
+    /**
+     * Unión perezosa de las listas ordenadas de los términos de un prefijo: un montículo con la
+     * posición de cada lista entrega los ids en orden sin copiarlos ni ordenarlos de nuevo.
+     */
+    private static final class Union {
+
+        private final long[][] listas;
+        private final int[] posiciones;
+        private final PriorityQueue<Integer> monticulo;
+
+        Union(Collection<long[]> listas) {
+            this.listas = listas.toArray(long[][]::new);
+            this.posiciones = new int[this.listas.length];
+            this.monticulo = new PriorityQueue<>(Math.max(1, this.listas.length),
+                    Comparator.comparingLong(i -> this.listas[i][posiciones[i]]));
+            for (int i = 0; i < this.listas.length; i++) {
+                if (this.listas[i].length > 0) {
+                    monticulo.add(i);
+                }
+            }
+        }
+
+        long actual() {
+            int lista = monticulo.element();
+            return listas[lista][posiciones[lista]];
+        }
+
+        /**
+         * Deja en {@link #actual()} el menor id mayor o igual que {@code objetivo}; false si no queda.
+         */
+        boolean avanzarHasta(long objetivo) {
+            while (!monticulo.isEmpty() && actual() < objetivo) {
+                int lista = monticulo.poll();
+                long[] ids = listas[lista];
+                int posicion = Arrays.binarySearch(ids, posiciones[lista], ids.length, objetivo);
+                posiciones[lista] = posicion >= 0 ? posicion : -posicion - 1;
+                if (posiciones[lista] < ids.length) {
+                    monticulo.add(lista);
+                }
+            }
+            return !monticulo.isEmpty();
+        }
+    }
+}
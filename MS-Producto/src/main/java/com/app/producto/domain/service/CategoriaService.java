@@ -1,6 +1,7 @@
 package com.app.producto.domain.service;
 
 
+import com.app.producto.domain.cache.CategoriaCache;
 import com.app.producto.dto.*;
 import com.app.producto.domain.model.Categoria;
 import com.app.producto.repository.CategoriaRepository;
@@ -10,12 +11,12 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CategoriaService {
     private final CategoriaRepository categoriaRepository;
+    private final CategoriaCache categoriaCache;
 
     public ServiceResult<CategoriaDto> crearCategoria(CategoriaDto dto) {
         List<String> errors = new ArrayList<>();
@@ -31,6 +32,7 @@ public class CategoriaService {
                     .descripcion(dto.getDescripcion())
                     .build();
             categoriaRepository.save(categoria);
+            categoriaCache.recargar();
             return new ServiceResult<>(dto);
 
         } catch(Exception e) {
@@ -38,20 +40,13 @@ public class CategoriaService {
             return new ServiceResult<>(errors);
         }
     }
-    public ServiceResult<List<CategoriaDto>> listarCategorias() {
+    /**
+     * Sirve el listado en memoria; solo la primera llamada (o una tras un error de carga) va a la base.
+     */
+    public ServiceResult<CategoriaCache.Listado> listarCategorias() {
         List<String> errors = new ArrayList<>();
         try {
-            List<Categoria> categorias = categoriaRepository.findAll();
-
-            List<CategoriaDto> dtoList = categorias.stream()
-                    .map(cat -> CategoriaDto.builder()
-                            .id(cat.getId())
-                            .nombre(cat.getNombre())
-                            .descripcion(cat.getDescripcion())
-                            .build())
-                    .collect(Collectors.toList());
-
-            return new ServiceResult<>(dtoList);
+            return new ServiceResult<>(categoriaCache.obtener());
 
         } catch (Exception e) {
             errors.add("Error al listar categorías: " + e.getMessage());
@@ -67,7 +62,7 @@ public class CategoriaService {
             }
 
             categoriaRepository.deleteById(id);
-
+            categoriaCache.recargar();
 
         } catch (Exception e) {
             errors.add("Error al eliminar categoría: " + e.getMessage());
@@ -96,6 +91,7 @@ public class CategoriaService {
             categoria.setDescripcion(dto.getDescripcion());
 
             categoriaRepository.save(categoria);
+            categoriaCache.recargar();
 
             return new ServiceResult<>(dto);
 
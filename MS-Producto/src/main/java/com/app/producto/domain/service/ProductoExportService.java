@@ -0,0 +1,86 @@
+package com.app.producto.domain.service;
+
+import com.app.producto.repository.ProductoExportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exporta el catálogo como NDJSON (un producto por línea) escribiendo cada fila apenas se lee,
+ * así la memoria no depende del tamaño del catálogo. {@code atributos} se copia tal cual desde
+ * la columna JSON, sin parsearlo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductoExportService {
+
+    private final ProductoExportRepository productoExportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${producto.app.exportFetchSize:500}")
+    private int exportFetchSize;
+
+    /**
+     * Escribe los productos actualizados desde {@code since} (todos si es nulo) y retorna
+     * cuántos se exportaron. No cierra {@code out}.
+     */
+    public long exportar(LocalDateTime since, OutputStream out) throws IOException {
+        AtomicLong total = new AtomicLong();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            productoExportRepository.recorrer(since, exportFetchSize, fila -> {
+                try {
+                    escribirFila(json, fila);
+                } catch (IOException e) {
+                    // El cliente cortó la conexión: se aborta la consulta
+                    throw new UncheckedIOException(e);
+                }
+                total.incrementAndGet();
+            });
+        }
+        return total.get();
+    }
+
+    private void escribirFila(JsonGenerator json, ResultSet fila) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeNumberField("id", fila.getLong("id_producto"));
+        json.writeStringField("codigoSku", fila.getString("codigo_sku"));
+        json.writeStringField("nombre", fila.getString("nombre"));
+        json.writeStringField("descripcion", fila.getString("descripcion"));
+        json.writeStringField("imagePrimary", fila.getString("image_primary"));
+        json.writeStringField("imageSecondary", fila.getString("image_secondary"));
+        json.writeNumberField("precio", fila.getBigDecimal("precio"));
+        json.writeNumberField("costo", fila.getBigDecimal("costo"));
+        json.writeObjectField("stock", fila.getObject("stock", Integer.class));
+        json.writeStringField("catalogo", fila.getString("catalogo"));
+        json.writeStringField("serial", fila.getString("serial"));
+        json.writeObjectField("activo", fila.getObject("activo", Boolean.class));
+        json.writeObjectField("categoriaId", fila.getObject("id_categoria", Long.class));
+        json.writeStringField("fechaCreacion", formatear(fila.getTimestamp("fecha_creacion")));
+        json.writeStringField("fechaActualizacion", formatear(fila.getTimestamp("fecha_actualizacion")));
+        String atributos = fila.getString("atributos");
+        json.writeFieldName("atributos");
+        if (atributos == null || atributos.isBlank()) {
+            json.writeNull();
+        } else {
+            json.writeRawValue(atributos);
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private String formatear(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.producto.domain.service;
+
+import com.app.producto.dto.FiltroAtributos;
+import com.app.producto.dto.ProductoDto;
+import com.app.producto.dto.ProductoFacetasResultado;
+import com.app.producto.dto.ProductoListado;
+import com.app.producto.dto.ProductoPagina;
+import com.app.producto.repository.ProductoFacetasRepository;
+import lombok.RequiredArgsConstructor;
+import org.app.dto.ServiceResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class ProductoFacetasService {
+    @Value("${producto.app.listPageSize:50}")
+    private int listPageSize;
+    @Value("${producto.app.listMaxPageSize:200}")
+    private int listMaxPageSize;
+    private final ProductoFacetasRepository productoFacetasRepository;
+    private final ProductoService productoService;
+
+    /**
+     * Productos activos que cumplen los filtros de atributos, paginados por cursor. Los conteos
+     * de facetas solo se calculan en la primera página (sin cursor), porque no cambian al avanzar.
+     */
+    public ServiceResult<ProductoFacetasResultado> filtrar(FiltroAtributos filtro, Long cursor, Integer tamano) {
+        List<String> errors = new ArrayList<>();
+        if (tamano != null && tamano < 1) {
+            errors.add("El tamaño de página debe ser mayor a 0");
+            return new ServiceResult<>(errors);
+        }
+
+        try {
+            int limite = Math.min(tamano != null ? tamano : listPageSize, listMaxPageSize);
+            List<ProductoListado> filas = productoFacetasRepository.buscar(filtro, cursor, limite + 1);
+            boolean hayMas = filas.size() > limite;
+            List<ProductoDto> productos = filas.stream()
+                    .limit(limite)
+                    .map(productoService::toDto)
+                    .toList();
+
+            Map<String, Map<String, Long>> facetas = null;
+            if (cursor == null) {
+                facetas = new LinkedHashMap<>();
+                for (String faceta : ProductoFacetasRepository.FACETAS) {
+                    facetas.put(faceta, productoFacetasRepository.contar(faceta, filtro));
+                }
+            }
+
+            ProductoPagina pagina = ProductoPagina.builder()
+                    .productos(productos)
+                    .tamano(productos.size())
+                    .siguienteCursor(hayMas ? productos.get(productos.size() - 1).getId() : null)
+                    .hayMas(hayMas)
+                    .build();
+            return new ServiceResult<>(new ProductoFacetasResultado(pagina, facetas));
+
+        } catch (Exception e) {
+            errors.add("Error al filtrar productos: " + e.getMessage());
+            return new ServiceResult<>(errors);
+        }
+    }
+}
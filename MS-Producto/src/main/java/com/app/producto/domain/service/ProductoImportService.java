@@ -0,0 +1,459 @@
+package com.app.producto.domain.service;
+
+import com.app.producto.domain.cache.CategoriaCache;
+import com.app.producto.domain.evento.ProductoOutbox;
+import com.app.producto.domain.model.Categoria;
+import com.app.producto.domain.model.EventoProducto;
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.search.ProductoSearchIndex;
+import com.app.producto.dto.ErrorImportacion;
+import com.app.producto.dto.ProductoDto;
+import com.app.producto.dto.ProductoImportResultado;
+import com.app.producto.repository.CategoriaRepository;
+import com.app.producto.repository.ProductoImportRepository;
+import com.app.producto.shared.client.ProveedorClientService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.app.dto.ServiceResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de productos desde CSV o NDJSON. El archivo se lee línea a línea y se
+ * procesa en lotes de {@code producto.app.importBatchSize} filas: SKU y serial se validan con
+ * un solo {@code IN} por lote, categorías y proveedores se resuelven una vez por id en toda la
+ * importación y las filas válidas se insertan con batch JDBC en una transacción por lote.
+ */
+@Slf4j
+@Service
+public class ProductoImportService {
+
+    public enum Formato { CSV, NDJSON }
+
+    /**
+     * Columnas aceptadas en el CSV; son los nombres de campo de ProductoDto. Las listas
+     * (tallas, colores) van separadas por '|' y especificaciones como clave=valor|clave=valor.
+     */
+    static final Set<String> COLUMNAS = Set.of("codigoSku", "nombre", "descripcion", "imagePrimary",
+            "imageSecondary", "precio", "costo", "stock", "catalogo", "serial", "categoriaId", "proveedorId",
+            "tipo", "tallas", "colores", "material", "marca", "temporada", "especificaciones");
+
+    private final ProductoImportRepository productoImportRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final ProveedorClientService proveedorClientService;
+    private final ProductoSearchIndex productoSearchIndex;
+    private final CategoriaCache categoriaCache;
+    private final ProductoOutbox productoOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader lectorJson;
+    private final int tamanoLote;
+
+    public ProductoImportService(ProductoImportRepository productoImportRepository,
+                                 CategoriaRepository categoriaRepository,
+                                 ProveedorClientService proveedorClientService,
+                                 ProductoSearchIndex productoSearchIndex,
+                                 CategoriaCache categoriaCache,
+                                 ProductoOutbox productoOutbox,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${producto.app.importBatchSize:500}") int tamanoLote) {
+        this.productoImportRepository = productoImportRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.proveedorClientService = proveedorClientService;
+        this.productoSearchIndex = productoSearchIndex;
+        this.categoriaCache = categoriaCache;
+        this.productoOutbox = productoOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.lectorJson = objectMapper.readerFor(ProductoDto.class);
+        this.tamanoLote = tamanoLote;
+    }
+
+    /**
+     * Fila leída del archivo con los errores acumulados en las distintas validaciones.
+     */
+    private static final class Fila {
+        private final long linea;
+        private final ProductoDto dto;
+        private final List<String> errores = new ArrayList<>();
+        private boolean reintentable;
+
+        private Fila(long linea, ProductoDto dto) {
+            this.linea = linea;
+            this.dto = dto;
+        }
+
+        private boolean valida() {
+            return errores.isEmpty();
+        }
+    }
+
+    /**
+     * Estado que se conserva entre lotes: ids ya resueltos y SKU/seriales ya vistos en el archivo.
+     */
+    private static final class Estado {
+        private long total;
+        private long importados;
+        private final List<ErrorImportacion> errores = new ArrayList<>();
+        private final Map<Long, Categoria> categorias = new HashMap<>();
+        private final Set<Long> categoriasInexistentes = new HashSet<>();
+        private final Map<Long, ProveedorClientService.Verificacion> proveedores = new HashMap<>();
+        private final Set<String> skusVistos = new HashSet<>();
+        private final Set<String> serialesVistos = new HashSet<>();
+    }
+
+    public ServiceResult<ProductoImportResultado> importar(InputStream entrada, Formato formato) throws IOException {
+        List<String> errors = new ArrayList<>();
+        long inicio = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+
+        long numeroLinea = 0;
+        List<String> cabecera = null;
+        if (formato == Formato.CSV) {
+            String primera = reader.readLine();
+            numeroLinea++;
+            if (primera == null || primera.isBlank()) {
+                errors.add("El archivo CSV no tiene cabecera");
+                return new ServiceResult<>(errors);
+            }
+            cabecera = parsearLineaCsv(primera.strip());
+            List<String> desconocidas = cabecera.stream().filter(columna -> !COLUMNAS.contains(columna)).toList();
+            if (!desconocidas.isEmpty()) {
+                errors.add("Columnas desconocidas en la cabecera: " + String.join(", ", desconocidas));
+                return new ServiceResult<>(errors);
+            }
+        }
+
+        Estado estado = new Estado();
+        List<Fila> lote = new ArrayList<>(tamanoLote);
+        String linea;
+        while ((linea = reader.readLine()) != null) {
+            numeroLinea++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            estado.total++;
+            lote.add(leerFila(numeroLinea, linea, cabecera, formato));
+            if (lote.size() == tamanoLote) {
+                procesarLote(lote, estado);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            procesarLote(lote, estado);
+        }
+
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        long filasPorSegundo = estado.total * 1000 / Math.max(1, duracionMs);
+        log.info("Importación {}: {} filas, {} importadas, {} rechazadas en {} ms ({} filas/s)", formato,
+                estado.total, estado.importados, estado.errores.size(), duracionMs, filasPorSegundo);
+
+        return new ServiceResult<>(ProductoImportResultado.builder()
+                .total(estado.total)
+                .importados(estado.importados)
+                .rechazados(estado.errores.size())
+                .errores(estado.errores)
+                .duracionMs(duracionMs)
+                .filasPorSegundo(filasPorSegundo)
+                .build());
+    }
+
+    private Fila leerFila(long numeroLinea, String linea, List<String> cabecera, Formato formato) {
+        if (formato == Formato.NDJSON) {
+            try {
+                return new Fila(numeroLinea, lectorJson.readValue(linea));
+            } catch (JsonProcessingException e) {
+                Fila fila = new Fila(numeroLinea, new ProductoDto());
+                fila.errores.add("JSON inválido: " + e.getOriginalMessage());
+                return fila;
+            }
+        }
+
+        Fila fila = new Fila(numeroLinea, new ProductoDto());
+        List<String> valores = parsearLineaCsv(linea);
+        if (valores.size() != cabecera.size()) {
+            fila.errores.add("Se esperaban " + cabecera.size() + " columnas y hay " + valores.size());
+            return fila;
+        }
+        for (int i = 0; i < cabecera.size(); i++) {
+            String valor = valores.get(i).isBlank() ? null : valores.get(i).strip();
+            try {
+                asignarCampo(fila.dto, cabecera.get(i), valor);
+            } catch (NumberFormatException e) {
+                fila.errores.add("Valor inválido para " + cabecera.get(i) + ": " + valor);
+            }
+        }
+        return fila;
+    }
+
+    private void procesarLote(List<Fila> lote, Estado estado) {
+        lote.forEach(this::validarCampos);
+
+        Set<String> skus = new HashSet<>();
+        Set<String> seriales = new HashSet<>();
+        Set<Long> categoriasNuevas = new HashSet<>();
+        for (Fila fila : lote) {
+            if (fila.valida()) {
+                skus.add(fila.dto.getCodigoSku());
+                if (fila.dto.getSerial() != null) {
+                    seriales.add(fila.dto.getSerial());
+                }
+                Long categoriaId = fila.dto.getCategoriaId();
+                if (!estado.categorias.containsKey(categoriaId) && !estado.categoriasInexistentes.contains(categoriaId)) {
+                    categoriasNuevas.add(categoriaId);
+                }
+            }
+        }
+
+        // Validación por conjunto: una consulta por lote en vez de dos por fila
+        Set<String> skusExistentes = productoImportRepository.skusExistentes(skus);
+        Set<String> serialesExistentes = productoImportRepository.serialesExistentes(seriales);
+        if (!categoriasNuevas.isEmpty()) {
+            categoriaRepository.findAllById(categoriasNuevas).forEach(c -> estado.categorias.put(c.getId(), c));
+            categoriasNuevas.stream()
+                    .filter(id -> !estado.categorias.containsKey(id))
+                    .forEach(estado.categoriasInexistentes::add);
+        }
+
+        List<Fila> aInsertar = new ArrayList<>();
+        for (Fila fila : lote) {
+            if (!fila.valida()) {
+                continue;
+            }
+            ProductoDto dto = fila.dto;
+            if (skusExistentes.contains(dto.getCodigoSku())) {
+                fila.errores.add("El SKU ya existe");
+            }
+            if (dto.getSerial() != null && serialesExistentes.contains(dto.getSerial())) {
+                fila.errores.add("El serial ya está registrado");
+            }
+            if (!estado.categorias.containsKey(dto.getCategoriaId())) {
+                fila.errores.add("Categoría no encontrada con ID " + dto.getCategoriaId());
+            }
+            switch (verificarProveedor(dto.getProveedorId(), estado)) {
+                case NO_EXISTE -> fila.errores.add("Proveedor con ID " + dto.getProveedorId() + " no existe");
+                case NO_VERIFICABLE -> {
+                    fila.errores.add("Proveedor con ID " + dto.getProveedorId()
+                            + " no verificable: MS-Proveedores no respondió, reintente la fila");
+                    fila.reintentable = true;
+                }
+                case EXISTE -> {
+                }
+            }
+            // Duplicados dentro del archivo: gana la primera fila válida
+            if (fila.valida() && !estado.skusVistos.add(dto.getCodigoSku())) {
+                fila.errores.add("El SKU está repetido en el archivo");
+            }
+            if (fila.valida() && dto.getSerial() != null && !estado.serialesVistos.add(dto.getSerial())) {
+                estado.skusVistos.remove(dto.getCodigoSku());
+                fila.errores.add("El serial está repetido en el archivo");
+            }
+            if (fila.valida()) {
+                aInsertar.add(fila);
+            }
+        }
+
+        insertar(aInsertar, estado);
+        for (Fila fila : lote) {
+            if (!fila.valida()) {
+                estado.errores.add(ErrorImportacion.builder()
+                        .linea(fila.linea)
+                        .codigoSku(fila.dto.getCodigoSku())
+                        .errores(fila.errores)
+                        .reintentable(fila.reintentable)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Cada proveedor se consulta una sola vez en toda la importación, salvo que MS-Proveedores
+     * no haya respondido: eso no se recuerda y la fila siguiente vuelve a consultar (con el
+     * circuito abierto el fallback responde sin esperar).
+     */
+    private ProveedorClientService.Verificacion verificarProveedor(Long proveedorId, Estado estado) {
+        ProveedorClientService.Verificacion verificacion = estado.proveedores.get(proveedorId);
+        if (verificacion == null) {
+            verificacion = proveedorClientService.verificarProveedor(proveedorId);
+            if (verificacion != ProveedorClientService.Verificacion.NO_VERIFICABLE) {
+                estado.proveedores.put(proveedorId, verificacion);
+            }
+        }
+        return verificacion;
+    }
+
+    private void insertar(List<Fila> filas, Estado estado) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        List<Producto> productos = filas.stream()
+                .map(fila -> toEntity(fila.dto, estado.categorias.get(fila.dto.getCategoriaId())))
+                .toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                productoImportRepository.insertar(productos);
+                productoOutbox.registrar(EventoProducto.Tipo.CREADO, productos.stream().map(Producto::getId).toList());
+            });
+        } catch (DataAccessException e) {
+            // Por ejemplo un SKU insertado por otra petición entre la validación y el INSERT
+            // El lote no quedó en la base: sus SKU y seriales dejan de contar como vistos para que
+            // una fila posterior del archivo con el mismo valor no se rechace como repetida
+            log.warn("Lote de importación rechazado: {}", e.getMessage());
+            for (Fila fila : filas) {
+                estado.skusVistos.remove(fila.dto.getCodigoSku());
+                if (fila.dto.getSerial() != null) {
+                    estado.serialesVistos.remove(fila.dto.getSerial());
+                }
+                fila.errores.add("Error al insertar el lote: " + e.getMostSpecificCause().getMessage());
+                fila.reintentable = true;
+            }
+            return;
+        }
+        estado.importados += filas.size();
+        productos.forEach(productoSearchIndex::indexar);
+        categoriaCache.recontar(productos.stream()
+                .map(producto -> producto.getCategoria().getId())
+                .collect(Collectors.toSet()));
+    }
+
+    private void validarCampos(Fila fila) {
+        if (!fila.valida()) {
+            return;
+        }
+        ProductoDto dto = fila.dto;
+        if (dto.getCodigoSku() == null || dto.getCodigoSku().isBlank()) {
+            fila.errores.add("El SKU es obligatorio");
+        }
+        if (dto.getNombre() == null || dto.getNombre().isBlank()) {
+            fila.errores.add("El nombre es obligatorio");
+        }
+        if (dto.getPrecio() == null) {
+            fila.errores.add("El precio es obligatorio");
+        }
+        if (dto.getStock() != null && dto.getStock() < 0) {
+            fila.errores.add("El stock no puede ser negativo");
+        }
+        if (dto.getCategoriaId() == null) {
+            fila.errores.add("La categoría es obligatoria");
+        }
+        if (dto.getProveedorId() == null) {
+            fila.errores.add("El proveedor es obligatorio");
+        }
+    }
+
+    private Producto toEntity(ProductoDto dto, Categoria categoria) {
+        return Producto.builder()
+                .codigoSku(dto.getCodigoSku())
+                .nombre(dto.getNombre())
+                .imagePrimary(dto.getImagePrimary())
+                .imageSecondary(dto.getImageSecondary())
+                .descripcion(dto.getDescripcion())
+                .precio(dto.getPrecio())
+                .costo(dto.getCosto())
+                .stock(Objects.requireNonNullElse(dto.getStock(), 0))
+                .catalogo(dto.getCatalogo())
+                .serial(dto.getSerial())
+                .activo(true)
+                .categoria(categoria)
+                .proveedoresId(dto.getProveedorId())
+                .atributos(ProductoService.buildAtributos(dto))
+                .build();
+    }
+
+    private static void asignarCampo(ProductoDto dto, String columna, String valor) {
+        switch (columna) {
+            case "codigoSku" -> dto.setCodigoSku(valor);
+            case "nombre" -> dto.setNombre(valor);
+            case "descripcion" -> dto.setDescripcion(valor);
+            case "imagePrimary" -> dto.setImagePrimary(valor);
+            case "imageSecondary" -> dto.setImageSecondary(valor);
+            case "precio" -> dto.setPrecio(valor == null ? null : new BigDecimal(valor));
+            case "costo" -> dto.setCosto(valor == null ? null : new BigDecimal(valor));
+            case "stock" -> dto.setStock(valor == null ? null : Integer.valueOf(valor));
+            case "catalogo" -> dto.setCatalogo(valor);
+            case "serial" -> dto.setSerial(valor);
+            case "categoriaId" -> dto.setCategoriaId(valor == null ? null : Long.valueOf(valor));
+            case "proveedorId" -> dto.setProveedorId(valor == null ? null : Long.valueOf(valor));
+            case "tipo" -> dto.setTipo(valor);
+            case "tallas" -> dto.setTallas(lista(valor));
+            case "colores" -> dto.setColores(lista(valor));
+            case "material" -> dto.setMaterial(valor);
+            case "marca" -> dto.setMarca(valor);
+            case "temporada" -> dto.setTemporada(valor);
+            case "especificaciones" -> dto.setEspecificaciones(especificaciones(valor));
+            default -> throw new IllegalArgumentException("Columna desconocida: " + columna);
+        }
+    }
+
+    private static List<String> lista(String valor) {
+        return valor == null ? null : Arrays.stream(valor.split("\\|")).map(String::strip).filter(v -> !v.isEmpty()).toList();
+    }
+
+    private static Map<String, String> especificaciones(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        Map<String, String> mapa = new LinkedHashMap<>();
+        for (String par : valor.split("\\|")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                mapa.put(par.substring(0, igual).strip(), par.substring(igual + 1).strip());
+            }
+        }
+        return mapa;
+    }
+
+    /**
+     * Separa una línea CSV por comas respetando campos entre comillas dobles ("" escapa una comilla).
+     * Cada registro debe ocupar una sola línea.
+     */
+    static List<String> parsearLineaCsv(String linea) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                valores.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        valores.add(actual.toString());
+        return valores;
+    }
+}
@@ -1,62 +1,59 @@
 package com.app.producto.domain.service;
 
+import com.app.producto.domain.cache.CategoriaCache;
+import com.app.producto.domain.cache.ProductoCache;
+import com.app.producto.domain.evento.ProductoOutbox;
+import com.app.producto.domain.search.ProductoSearchIndex;
 import com.app.producto.dto.AtributosProducto;
+import com.app.producto.dto.ProductoBasicoDto;
+import com.app.producto.dto.ProductoFiltro;
+import com.app.producto.dto.ProductoListado;
+import com.app.producto.dto.ProductoLote;
+import com.app.producto.dto.ProductoPagina;
 import com.app.producto.dto.ProductoDto;
 import com.app.producto.dto.ProveedorResponse;
 import com.app.producto.domain.model.Categoria;
+import com.app.producto.domain.model.EventoProducto;
 import com.app.producto.domain.model.Producto;
 import com.app.producto.repository.CategoriaRepository;
 import com.app.producto.repository.ProductoRepository;
-import com.app.producto.shared.client.MicroserviceClient;
-import com.app.producto.shared.security.TokenContext;
-import com.app.producto.shared.util.JsonAttributeHelper;
+import com.app.producto.shared.client.ProveedorClientService;
 import lombok.RequiredArgsConstructor;
 import org.app.dto.ServiceResult;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductoService {
-    @Value("${auth.url.provMicro}")
-    private String AUTH_SERVICE_URL;
-    private final MicroserviceClient microserviceClient;
+    @Value("${producto.app.listPageSize:50}")
+    private int listPageSize;
+    @Value("${producto.app.listMaxPageSize:200}")
+    private int listMaxPageSize;
+    @Value("${producto.app.searchDefaultLimit:10}")
+    private int searchDefaultLimit;
+    @Value("${producto.app.searchMaxLimit:50}")
+    private int searchMaxLimit;
+    @Value("${producto.app.batchMaxIds:200}")
+    private int batchMaxIds;
+    private final ProveedorClientService proveedorClientService;
     private final CategoriaRepository categoriaRepository;
     private final ProductoRepository productoRepository;
-
-    @Cacheable("proveedores")
-    @CircuitBreaker(name = "proveedorService", fallbackMethod = "fallbackProveedor")
-    public ProveedorResponse consultarProveedor(Long proveedorId) {
-        String token = TokenContext.getToken();
-        String url = AUTH_SERVICE_URL + "/api/ms-inventario/proveedor/" + proveedorId;
-
-        ResponseEntity<ProveedorResponse> response = microserviceClient.enviarConToken(
-                url,
-                HttpMethod.GET,
-                null,
-                ProveedorResponse.class,
-                token
-        );
-
-        if (!response.getStatusCode().is2xxSuccessful()) {
-            throw new RuntimeException("Error al obtener proveedor");
-        }
-
-        return response.getBody();
-    }
-
-    public ProveedorResponse fallbackProveedor(Long proveedorId, Throwable t) {
-        System.out.println("Fallback ejecutado para proveedor " + proveedorId + " por error: " + t.getMessage());
-        return null;
-    }
+    private final ProductoSearchIndex productoSearchIndex;
+    private final ProductoCache productoCache;
+    private final CategoriaCache categoriaCache;
+    private final ProductoOutbox productoOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     public ServiceResult<ProductoDto> crearProducto(ProductoDto dto) {
         List<String> errors = new ArrayList<>();
@@ -82,7 +79,14 @@ public class ProductoService {
 
             Producto producto = toEntity(dto);
             producto.setCategoria(categoria);
-            productoRepository.save(producto);
+            transactionTemplate.executeWithoutResult(status -> {
+                productoRepository.save(producto);
+                productoOutbox.registrar(EventoProducto.Tipo.CREADO, producto.getId());
+            });
+            if (Boolean.TRUE.equals(producto.getActivo())) {
+                categoriaCache.recontar(List.of(categoria.getId()));
+            }
+            productoSearchIndex.indexar(producto);
             return new ServiceResult<>(toDto(producto));
 
         } catch(Exception e) {
@@ -91,13 +95,39 @@ public class ProductoService {
         }
     }
 
-    public ServiceResult<List<ProductoDto>> listarProductos() {
+    /**
+     * Listado paginado por cursor sobre el id: cada página se lee con una proyección de las
+     * columnas del listado y {@code tamano} se limita a {@code producto.app.listMaxPageSize}.
+     */
+    public ServiceResult<ProductoPagina> listarProductos(Long cursor, Integer tamano, ProductoFiltro filtro) {
         List<String> errors = new ArrayList<>();
+        if (tamano != null && tamano < 1) {
+            errors.add("El tamaño de página debe ser mayor a 0");
+        }
+        if (filtro.getPrecioMin() != null && filtro.getPrecioMax() != null
+                && filtro.getPrecioMin().compareTo(filtro.getPrecioMax()) > 0) {
+            errors.add("El precio mínimo no puede ser mayor al precio máximo");
+        }
+        if (!errors.isEmpty()) {
+            return new ServiceResult<>(errors);
+        }
+
         try {
-            List<ProductoDto> dtoList = productoRepository.findAll().stream()
+            int limite = Math.min(tamano != null ? tamano : listPageSize, listMaxPageSize);
+            // Se pide una fila extra solo para saber si hay otra página
+            List<ProductoListado> filas = productoRepository.listarPagina(cursor, filtro, limite + 1);
+            boolean hayMas = filas.size() > limite;
+            List<ProductoDto> productos = filas.stream()
+                    .limit(limite)
                     .map(this::toDto)
                     .toList();
-            return new ServiceResult<>(dtoList);
+
+            return new ServiceResult<>(ProductoPagina.builder()
+                    .productos(productos)
+                    .tamano(productos.size())
+                    .siguienteCursor(hayMas ? productos.get(productos.size() - 1).getId() : null)
+                    .hayMas(hayMas)
+                    .build());
 
         } catch (Exception e) {
             errors.add("Error al listar productos: " + e.getMessage());
@@ -105,18 +135,99 @@ public class ProductoService {
         }
     }
 
+    /**
+     * Typeahead sobre el índice en memoria: no consulta la base.
+     */
+    public ServiceResult<List<ProductoBasicoDto>> buscarProductos(String consulta, Integer limite) {
+        List<String> errors = new ArrayList<>();
+        if (consulta == null || consulta.isBlank()) {
+            errors.add("La consulta es obligatoria");
+            return new ServiceResult<>(errors);
+        }
+        int maximo = Math.min(limite != null && limite > 0 ? limite : searchDefaultLimit, searchMaxLimit);
+        return new ServiceResult<>(productoSearchIndex.buscar(consulta, maximo));
+    }
+
     public ServiceResult<ProductoDto> obtenerProducto(Long id) {
         List<String> errors = new ArrayList<>();
+        ProductoCache.Entrada entrada = obtenerEntrada(id, errors);
+        return entrada == null ? new ServiceResult<>(errors) : new ServiceResult<>(entrada.producto());
+    }
+
+    /**
+     * Igual que {@link #obtenerProducto(Long)} pero devuelve la entrada de la caché, con el JSON
+     * ya serializado.
+     */
+    public ServiceResult<ProductoCache.Entrada> obtenerProductoCacheado(Long id) {
+        List<String> errors = new ArrayList<>();
+        ProductoCache.Entrada entrada = obtenerEntrada(id, errors);
+        return entrada == null ? new ServiceResult<>(errors) : new ServiceResult<>(entrada);
+    }
+
+    /**
+     * Versión actual del producto para validar un ETag sin cargarlo: sale de la caché si está y
+     * si no de una consulta que solo lee la versión. Nulo si el producto no existe.
+     */
+    public Long obtenerVersion(Long id) {
+        ProductoCache.Entrada entrada = productoCache.obtenerSiPresente(id);
+        return entrada != null
+                ? entrada.producto().getVersion()
+                : productoRepository.findVersionById(id).orElse(null);
+    }
+
+    private ProductoCache.Entrada obtenerEntrada(Long id, List<String> errors) {
         try {
-            Producto producto = productoRepository.findById(id).orElse(null);
-            if (producto == null) {
+            ProductoCache.Entrada entrada = productoCache.obtener(id,
+                    key -> productoRepository.findById(key).map(this::toDto).orElse(null));
+            if (entrada == null) {
                 errors.add("Producto no encontrado con ID " + id);
-                return new ServiceResult<>(errors);
             }
-            return new ServiceResult<>(toDto(producto));
+            return entrada;
 
         } catch (Exception e) {
             errors.add("Error al obtener producto: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Resuelve varios productos en una llamada: los que no están en la caché se leen con una
+     * sola consulta (con su categoría) y se cachean. El mapa conserva el orden de {@code ids}.
+     */
+    public ServiceResult<ProductoLote> obtenerProductos(List<Long> ids) {
+        List<String> errors = new ArrayList<>();
+        Set<Long> pedidos = ids == null ? Set.of() : new LinkedHashSet<>(ids);
+        if (pedidos.isEmpty()) {
+            errors.add("Debe indicar al menos un ID");
+        } else if (pedidos.size() > batchMaxIds) {
+            errors.add("Máximo " + batchMaxIds + " IDs por consulta");
+        }
+        if (!errors.isEmpty()) {
+            return new ServiceResult<>(errors);
+        }
+
+        try {
+            Map<Long, ProductoCache.Entrada> encontrados = productoCache.obtenerTodos(pedidos,
+                    faltantes -> productoRepository.findAllConCategoriaByIdIn(faltantes).stream()
+                            .collect(Collectors.toMap(Producto::getId, this::toDto)));
+
+            Map<Long, ProductoDto> productos = new LinkedHashMap<>();
+            List<Long> faltantes = new ArrayList<>();
+            for (Long id : pedidos) {
+                ProductoCache.Entrada entrada = encontrados.get(id);
+                if (entrada != null) {
+                    productos.put(id, entrada.producto());
+                } else {
+                    faltantes.add(id);
+                }
+            }
+            return new ServiceResult<>(ProductoLote.builder()
+                    .productos(productos)
+                    .faltantes(faltantes)
+                    .build());
+
+        } catch (Exception e) {
+            errors.add("Error al obtener productos: " + e.getMessage());
             return new ServiceResult<>(errors);
         }
     }
@@ -137,15 +248,16 @@ public class ProductoService {
             }
             if (!errors.isEmpty()) return new ServiceResult<>(errors);
 
-            ProveedorResponse prov = consultarProveedor(dto.getProveedorId());
+            ProveedorResponse prov = proveedorClientService.consultarProveedor(dto.getProveedorId());
             if (prov == null) {
                 errors.add("Proveedor con ID " + dto.getProveedorId() + " no existe");
                 return new ServiceResult<>(errors);
             }
 
+            Long categoriaAnterior = producto.getCategoria() != null ? producto.getCategoria().getId() : null;
+
             // Actualizar atributos
-            String atributosJson = buildAtributosJson(dto);
-            producto.setAtributos(atributosJson);
+            producto.setAtributos(buildAtributos(dto));
 
             producto.setNombre(dto.getNombre());
             producto.setImagePrimary(dto.getImagePrimary());
@@ -157,8 +269,18 @@ public class ProductoService {
             producto.setProveedoresId(prov.getId());
             producto.setCategoria(categoria);
 
-            productoRepository.save(producto);
-            return new ServiceResult<>(toDto(producto));
+            // save() fusiona la entidad; la copia guardada trae la versión nueva
+            Producto guardado = transactionTemplate.execute(status -> {
+                Producto actualizado = productoRepository.save(producto);
+                productoOutbox.registrar(EventoProducto.Tipo.ACTUALIZADO, id);
+                return actualizado;
+            });
+            productoCache.invalidar(id);
+            if (Boolean.TRUE.equals(producto.getActivo()) && !categoria.getId().equals(categoriaAnterior)) {
+                categoriaCache.recontar(Arrays.asList(categoriaAnterior, categoria.getId()));
+            }
+            productoSearchIndex.indexar(guardado);
+            return new ServiceResult<>(toDto(guardado));
 
         } catch (Exception e) {
             errors.add("Error al actualizar producto: " + e.getMessage());
@@ -169,11 +291,20 @@ public class ProductoService {
     public ServiceResult<Void> eliminarProducto(Long id) {
         List<String> errors = new ArrayList<>();
         try {
-            if (!productoRepository.existsById(id)) {
+            Producto producto = productoRepository.findById(id).orElse(null);
+            if (producto == null) {
                 errors.add("Producto con ID " + id + " no existe");
                 return new ServiceResult<>(errors);
             }
-            productoRepository.deleteById(id);
+            transactionTemplate.executeWithoutResult(status -> {
+                productoRepository.delete(producto);
+                productoOutbox.registrar(EventoProducto.Tipo.ELIMINADO, id);
+            });
+            productoCache.invalidar(id);
+            if (Boolean.TRUE.equals(producto.getActivo()) && producto.getCategoria() != null) {
+                categoriaCache.recontar(List.of(producto.getCategoria().getId()));
+            }
+            productoSearchIndex.eliminar(id);
         } catch (Exception e) {
             errors.add("Error al eliminar producto: " + e.getMessage());
             return new ServiceResult<>(errors);
@@ -183,14 +314,11 @@ public class ProductoService {
 
     public Producto toEntity(ProductoDto dto) throws Exception {
         if (dto == null) return null;
-        ProveedorResponse prov = consultarProveedor(dto.getProveedorId());
+        ProveedorResponse prov = proveedorClientService.consultarProveedor(dto.getProveedorId());
         if (prov == null) {
             throw new Exception("Proveedor con ID " + dto.getProveedorId() + " no existe");
         }
 
-        // Construir JSON de atributos
-        String atributosJson = buildAtributosJson(dto);
-
         return Producto.builder()
                 .id(dto.getId())
                 .codigoSku(dto.getCodigoSku())
@@ -203,7 +331,7 @@ public class ProductoService {
                 .catalogo(dto.getCatalogo())
                 .serial(dto.getSerial())
                 .proveedoresId(dto.getProveedorId())
-                .atributos(atributosJson) // Agregar atributos
+                .atributos(buildAtributos(dto))
                 .build();
     }
 
@@ -222,59 +350,56 @@ public class ProductoService {
                 .catalogo(producto.getCatalogo())
                 .serial(producto.getSerial())
                 .stock(producto.getStock())
+                .version(producto.getVersion())
                 .categoriaId(producto.getCategoria() != null ? producto.getCategoria().getId() : null);
 
-        // Si hay atributos, parsearlos y agregarlos al DTO
-        if (producto.getAtributos() != null && !producto.getAtributos().trim().isEmpty()) {
-            Map<String, Object> atributosMap = JsonAttributeHelper.jsonToMap(producto.getAtributos());
-            populateDtoFromAtributos(builder, atributosMap);
-        }
+        populateDtoFromAtributos(builder, producto.getAtributos());
 
         return builder.build();
     }
 
-    // Método auxiliar para construir JSON de atributos
-    private String buildAtributosJson(ProductoDto dto) {
-        try {
-            AtributosProducto atributos = AtributosProducto.builder()
-                    .tipo(dto.getTipo())
-                    .tallas(dto.getTallas())
-                    .colores(dto.getColores())
-                    .material(dto.getMaterial())
-                    .marca(dto.getMarca())
-                    .temporada(dto.getTemporada())
-                    .especificaciones(dto.getEspecificaciones())
-                    .build();
-
-            return JsonAttributeHelper.atributosToJson(atributos);
-        } catch (Exception e) {
-            // En caso de error, retornar JSON básico
-            return "{\"tipo\":\"" + dto.getTipo() + "\"}";
-        }
+    public ProductoDto toDto(ProductoListado fila) {
+        ProductoDto.ProductoDtoBuilder builder = ProductoDto.builder()
+                .id(fila.getId())
+                .codigoSku(fila.getCodigoSku())
+                .nombre(fila.getNombre())
+                .imagePrimary(fila.getImagePrimary())
+                .imageSecondary(fila.getImageSecondary())
+                .precio(fila.getPrecio())
+                .stock(fila.getStock())
+                .catalogo(fila.getCatalogo())
+                .version(fila.getVersion())
+                .categoriaId(fila.getCategoriaId());
+
+        populateDtoFromAtributos(builder, fila.getAtributos());
+
+        return builder.build();
     }
 
-    // Método auxiliar para poblar DTO desde atributos JSON
-    private void populateDtoFromAtributos(ProductoDto.ProductoDtoBuilder builder, Map<String, Object> atributosMap) {
-        if (atributosMap.containsKey("tipo")) {
-            builder.tipo((String) atributosMap.get("tipo"));
-        }
-        if (atributosMap.containsKey("tallas")) {
-            builder.tallas((List<String>) atributosMap.get("tallas"));
-        }
-        if (atributosMap.containsKey("colores")) {
-            builder.colores((List<String>) atributosMap.get("colores"));
-        }
-        if (atributosMap.containsKey("material")) {
-            builder.material((String) atributosMap.get("material"));
-        }
-        if (atributosMap.containsKey("marca")) {
-            builder.marca((String) atributosMap.get("marca"));
-        }
-        if (atributosMap.containsKey("temporada")) {
-            builder.temporada((String) atributosMap.get("temporada"));
-        }
-        if (atributosMap.containsKey("especificaciones")) {
-            builder.especificaciones((Map<String, String>) atributosMap.get("especificaciones"));
+    // Método auxiliar para armar los atributos; el converter de la entidad los guarda como JSON
+    static AtributosProducto buildAtributos(ProductoDto dto) {
+        return AtributosProducto.builder()
+                .tipo(dto.getTipo())
+                .tallas(dto.getTallas())
+                .colores(dto.getColores())
+                .material(dto.getMaterial())
+                .marca(dto.getMarca())
+                .temporada(dto.getTemporada())
+                .especificaciones(dto.getEspecificaciones())
+                .build();
+    }
+
+    // Método auxiliar para poblar DTO desde los atributos ya tipados
+    private void populateDtoFromAtributos(ProductoDto.ProductoDtoBuilder builder, AtributosProducto atributos) {
+        if (atributos == null) {
+            return;
         }
+        builder.tipo(atributos.getTipo())
+                .tallas(atributos.getTallas())
+                .colores(atributos.getColores())
+                .material(atributos.getMaterial())
+                .marca(atributos.getMarca())
+                .temporada(atributos.getTemporada())
+                .especificaciones(atributos.getEspecificaciones());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package com.app.producto.domain.service;
+
+import com.app.producto.domain.cache.ProductoCache;
+import com.app.producto.domain.evento.ProductoOutbox;
+import com.app.producto.domain.model.EventoProducto;
+import com.app.producto.domain.model.ReservaStock;
+import com.app.producto.dto.ItemReserva;
+import com.app.producto.dto.ReservaStockRequest;
+import com.app.producto.dto.ReservaStockResponse;
+import com.app.producto.repository.ProductoRepository;
+import com.app.producto.repository.ReservaStockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.app.dto.ServiceResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Reserva atómica de stock para un carrito. Cada producto se descuenta con un UPDATE condicional
+ * ({@code stock >= cantidad}) sin leer antes, así dos compradores no pueden llevarse la misma
+ * última unidad. Las unidades quedan apartadas en {@code reservas_stock} hasta que la reserva se
+ * confirma, se libera o vence; el barrido periódico devuelve las vencidas.
+ */
+@Slf4j
+@Service
+public class StockReservaService {
+
+    private final ProductoRepository productoRepository;
+    private final ReservaStockRepository reservaStockRepository;
+    private final ProductoCache productoCache;
+    private final ProductoOutbox productoOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlMs;
+    private final int maxItems;
+    private final int tamanoBarrido;
+
+    public StockReservaService(ProductoRepository productoRepository,
+                               ReservaStockRepository reservaStockRepository,
+                               ProductoCache productoCache,
+                               ProductoOutbox productoOutbox,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${producto.app.reservaTtlMs:900000}") long ttlMs,
+                               @Value("${producto.app.reservaMaxItems:100}") int maxItems,
+                               @Value("${producto.app.reservaSweepBatch:500}") int tamanoBarrido) {
+        this.productoRepository = productoRepository;
+        this.reservaStockRepository = reservaStockRepository;
+        this.productoCache = productoCache;
+        this.productoOutbox = productoOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.ttlMs = ttlMs;
+        this.maxItems = maxItems;
+        this.tamanoBarrido = tamanoBarrido;
+    }
+
+    public ServiceResult<ReservaStockResponse> reservar(ReservaStockRequest request) {
+        List<String> errors = new ArrayList<>();
+        Map<Long, Integer> cantidades = agrupar(request, errors);
+        if (!errors.isEmpty()) {
+            return new ServiceResult<>(errors);
+        }
+
+        String reservaId = UUID.randomUUID().toString();
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime expiraEn = ahora.plusNanos(ttlMs * 1_000_000);
+        try {
+            Long rechazado = transactionTemplate.execute(status -> {
+                // Orden fijo por id: dos carritos con los mismos productos bloquean las filas en el mismo orden
+                for (Map.Entry<Long, Integer> item : cantidades.entrySet()) {
+                    if (productoRepository.descontarStock(item.getKey(), item.getValue(), ahora) == 0) {
+                        status.setRollbackOnly();
+                        return item.getKey();
+                    }
+                }
+                reservaStockRepository.saveAll(cantidades.entrySet().stream()
+                        .map(item -> ReservaStock.builder()
+                                .reservaId(reservaId)
+                                .productoId(item.getKey())
+                                .cantidad(item.getValue())
+                                .expiraEn(expiraEn)
+                                .build())
+                        .toList());
+                productoOutbox.registrar(EventoProducto.Tipo.STOCK, cantidades.keySet());
+                return null;
+            });
+            if (rechazado != null) {
+                errors.add(productoRepository.existsById(rechazado)
+                        ? "Stock insuficiente para el producto con ID " + rechazado
+                        : "Producto no encontrado con ID " + rechazado);
+                return new ServiceResult<>(errors);
+            }
+        } catch (DataAccessException e) {
+            log.error("Error al reservar stock: {}", e.getMessage());
+            errors.add("Error al reservar stock: " + e.getMessage());
+            return new ServiceResult<>(errors);
+        }
+
+        cantidades.keySet().forEach(productoCache::invalidar);
+        return new ServiceResult<>(ReservaStockResponse.builder()
+                .reservaId(reservaId)
+                .expiraEn(expiraEn)
+                .items(cantidades.entrySet().stream()
+                        .map(item -> new ItemReserva(item.getKey(), item.getValue()))
+                        .toList())
+                .build());
+    }
+
+    /**
+     * Devuelve al stock las unidades de la reserva. Es idempotente: una reserva ya liberada,
+     * confirmada o vencida responde error sin tocar el stock.
+     */
+    public ServiceResult<ReservaStockResponse> liberar(String reservaId) {
+        List<String> errors = new ArrayList<>();
+        List<ReservaStock> liberadas = transactionTemplate.execute(status ->
+                reponer(reservaStockRepository.findByReservaId(reservaId)));
+        if (liberadas == null || liberadas.isEmpty()) {
+            errors.add("Reserva no encontrada o ya liberada: " + reservaId);
+            return new ServiceResult<>(errors);
+        }
+
+        liberadas.forEach(reserva -> productoCache.invalidar(reserva.getProductoId()));
+        return new ServiceResult<>(ReservaStockResponse.builder()
+                .reservaId(reservaId)
+                .items(liberadas.stream()
+                        .map(reserva -> new ItemReserva(reserva.getProductoId(), reserva.getCantidad()))
+                        .toList())
+                .build());
+    }
+
+    /**
+     * Cierra la reserva tras el pago: las unidades quedan descontadas de forma definitiva.
+     */
+    public ServiceResult<Void> confirmar(String reservaId) {
+        List<String> errors = new ArrayList<>();
+        Integer eliminadas = transactionTemplate.execute(status -> reservaStockRepository.eliminarReserva(reservaId));
+        if (eliminadas == null || eliminadas == 0) {
+            errors.add("Reserva no encontrada o vencida: " + reservaId);
+        }
+        return new ServiceResult<>(errors);
+    }
+
+    @Scheduled(fixedDelayString = "${producto.app.reservaSweepMs:30000}")
+    public void liberarVencidas() {
+        int total = 0;
+        List<ReservaStock> vencidas;
+        do {
+            vencidas = reservaStockRepository.findByExpiraEnBefore(LocalDateTime.now(),
+                    PageRequest.of(0, tamanoBarrido));
+            List<ReservaStock> candidatas = vencidas;
+            List<ReservaStock> liberadas = transactionTemplate.execute(status -> reponer(candidatas));
+            if (liberadas != null) {
+                Set<Long> productos = new HashSet<>();
+                liberadas.forEach(reserva -> productos.add(reserva.getProductoId()));
+                productos.forEach(productoCache::invalidar);
+                total += liberadas.size();
+            }
+        } while (vencidas.size() == tamanoBarrido);
+
+        if (total > 0) {
+            log.info("Reservas de stock vencidas liberadas: {}", total);
+        }
+    }
+
+    /**
+     * Borra cada fila y repone su stock solo si este llamado fue el que la borró.
+     */
+    private List<ReservaStock> reponer(List<ReservaStock> reservas) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<ReservaStock> liberadas = new ArrayList<>();
+        for (ReservaStock reserva : reservas) {
+            if (reservaStockRepository.eliminar(reserva.getId()) == 1) {
+                productoRepository.reponerStock(reserva.getProductoId(), reserva.getCantidad(), ahora);
+                liberadas.add(reserva);
+            }
+        }
+        if (!liberadas.isEmpty()) {
+            productoOutbox.registrar(EventoProducto.Tipo.STOCK,
+                    liberadas.stream().map(ReservaStock::getProductoId).distinct().toList());
+        }
+        return liberadas;
+    }
+
+    private Map<Long, Integer> agrupar(ReservaStockRequest request, List<String> errors) {
+        Map<Long, Integer> cantidades = new TreeMap<>();
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            errors.add("Debe indicar al menos un producto a reservar");
+            return cantidades;
+        }
+        for (ItemReserva item : request.getItems()) {
+            if (item.getProductoId() == null) {
+                errors.add("El ID del producto es obligatorio");
+            } else if (item.getCantidad() == null || item.getCantidad() < 1) {
+                errors.add("La cantidad debe ser mayor a 0 para el producto con ID " + item.getProductoId());
+            } else {
+                cantidades.merge(item.getProductoId(), item.getCantidad(), Integer::sum);
+            }
+        }
+        if (cantidades.size() > maxItems) {
+            errors.add("Máximo " + maxItems + " productos por reserva");
+        }
+        return cantidades;
+    }
+}
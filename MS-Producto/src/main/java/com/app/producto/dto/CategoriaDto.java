@@ -15,4 +15,6 @@ public class CategoriaDto {
     @NotBlank(message = "El nombre es obligatorio")
     private String nombre;
     private String descripcion;
+    // Solo lectura: lo calcula el listado de categorías
+    private Long productosActivos;
 }
\ No newline at end of file
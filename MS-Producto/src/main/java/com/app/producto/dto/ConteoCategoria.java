@@ -0,0 +1,14 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Cantidad de productos activos de una categoría.
+ */
+@Data
+@AllArgsConstructor
+public class ConteoCategoria {
+    private Long categoriaId;
+    private Long total;
+}
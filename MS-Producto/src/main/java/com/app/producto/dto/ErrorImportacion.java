@@ -0,0 +1,24 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Fila rechazada de una importación: {@code linea} es el número de línea en el archivo (desde 1).
+ * {@code reintentable} indica que la fila se rechazó por un servicio externo no disponible o porque
+ * falló el INSERT de su lote, y no por sus datos, así que puede reenviarse sin cambios.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorImportacion {
+    private long linea;
+    private String codigoSku;
+    private List<String> errores;
+    private boolean reintentable;
+}
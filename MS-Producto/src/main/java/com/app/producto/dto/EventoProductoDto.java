@@ -0,0 +1,28 @@
+package com.app.producto.dto;
+
+import com.app.producto.domain.model.EventoProducto;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio publicado de un producto. {@code producto} es la foto al momento de publicar (el JSON
+ * guardado en el outbox, sin volver a deserializarlo); viene null en ELIMINADO o si el producto
+ * ya no existe.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoProductoDto {
+    private Long secuencia;
+    private Long productoId;
+    private EventoProducto.Tipo tipo;
+    @JsonRawValue
+    private String producto;
+    private LocalDateTime fecha;
+}
@@ -0,0 +1,21 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Eventos posteriores al offset pedido; {@code ultimaSecuencia} es el offset para la siguiente
+ * consulta (igual al pedido si no hubo eventos).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventosPagina {
+    private List<EventoProductoDto> eventos;
+    private Long ultimaSecuencia;
+}
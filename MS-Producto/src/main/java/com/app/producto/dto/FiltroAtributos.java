@@ -0,0 +1,23 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros de la búsqueda por facetas sobre los atributos del producto. Los valores se comparan
+ * tal cual están guardados (por ejemplo "Negro", "M"); los campos nulos no filtran.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroAtributos {
+    private String tipo;
+    private String talla;
+    private String color;
+    private String marca;
+    private String temporada;
+    private Long categoriaId;
+}
@@ -27,6 +27,8 @@ public class ProductoDto {
     private String catalogo;
     private String serial;
     private Long proveedorId;
+    // Versión de la entidad; también es el ETag de GET /api/productos/get/{id}
+    private Long version;
 
     private String tipo;
     private List<String> tallas;
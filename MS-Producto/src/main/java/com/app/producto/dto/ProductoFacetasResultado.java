@@ -0,0 +1,21 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Página de productos que cumplen los filtros más el conteo por valor de cada faceta
+ * (tipo, tallas, colores, marca, temporada).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoFacetasResultado {
+    private ProductoPagina pagina;
+    private Map<String, Map<String, Long>> facetas;
+}
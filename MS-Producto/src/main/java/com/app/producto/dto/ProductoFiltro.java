@@ -0,0 +1,23 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Filtros opcionales del listado de productos; los campos nulos no filtran.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoFiltro {
+    private Long categoriaId;
+    private String catalogo;
+    private Boolean activo;
+    private BigDecimal precioMin;
+    private BigDecimal precioMax;
+}
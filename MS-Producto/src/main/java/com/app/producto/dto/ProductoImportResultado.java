@@ -0,0 +1,21 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoImportResultado {
+    private long total;
+    private long importados;
+    private long rechazados;
+    private List<ErrorImportacion> errores;
+    private long duracionMs;
+    private long filasPorSegundo;
+}
@@ -0,0 +1,28 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila del listado de productos: solo las columnas que expone el listado,
+ * leídas con una proyección en vez de la entidad completa.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoListado {
+    private Long id;
+    private String codigoSku;
+    private String nombre;
+    private String imagePrimary;
+    private String imageSecondary;
+    private BigDecimal precio;
+    private Integer stock;
+    private String catalogo;
+    private Long categoriaId;
+    private AtributosProducto atributos;
+    private Long version;
+}
@@ -0,0 +1,21 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de la consulta por lote: productos encontrados por id y los ids pedidos que no existen.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoLote {
+    private Map<Long, ProductoDto> productos;
+    private List<Long> faltantes;
+}
@@ -0,0 +1,23 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del listado paginado por cursor: {@code siguienteCursor} es el último id de la
+ * página y se envía como {@code cursor} para pedir la siguiente; es nulo en la última.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductoPagina {
+    private List<ProductoDto> productos;
+    private int tamano;
+    private Long siguienteCursor;
+    private boolean hayMas;
+}
@@ -0,0 +1,19 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Productos de un carrito completo a reservar en una sola operación: o se reservan todos o ninguno.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaStockRequest {
+    private List<ItemReserva> items;
+}
@@ -0,0 +1,19 @@
+package com.app.producto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaStockResponse {
+    private String reservaId;
+    private LocalDateTime expiraEn;
+    private List<ItemReserva> items;
+}
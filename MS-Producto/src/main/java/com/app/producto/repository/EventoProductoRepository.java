@@ -0,0 +1,28 @@
+package com.app.producto.repository;
+
+import com.app.producto.domain.model.EventoProducto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventoProductoRepository extends JpaRepository<EventoProducto, Long> {
+
+    List<EventoProducto> findBySecuenciaIsNullOrderByIdAsc(Pageable pageable);
+
+    List<EventoProducto> findBySecuenciaGreaterThanOrderBySecuenciaAsc(Long secuencia, Pageable pageable);
+
+    @Query("select coalesce(max(e.secuencia), 0) from EventoProducto e")
+    long maxSecuencia();
+
+    @Query("select coalesce(min(e.secuencia), 0) from EventoProducto e where e.secuencia is not null")
+    long minSecuencia();
+
+    @Modifying
+    @Query("delete from EventoProducto e where e.secuencia is not null and e.fechaPublicacion < :fecha")
+    int eliminarPublicadosAntesDe(@Param("fecha") LocalDateTime fecha);
+}
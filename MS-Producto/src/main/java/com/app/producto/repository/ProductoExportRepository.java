@@ -0,0 +1,49 @@
+package com.app.producto.repository;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Lectura del catálogo completo con un cursor JDBC de solo avance: las filas se entregan una a
+ * una al {@link RowCallbackHandler} sin armar listas ni entidades administradas. Con MySQL solo
+ * esta sentencia usa streaming fila a fila del driver (el resto del pool sigue con lecturas
+ * normales); mientras dura la conexión queda ocupada, por eso el handler no debe consultar la
+ * base. Con otros drivers se aplica {@code fetchSize}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductoExportRepository {
+
+    private static final String COLUMNAS = "SELECT id_producto, codigo_sku, nombre, descripcion, image_primary, "
+            + "image_secondary, precio, costo, stock, catalogo, serial, activo, id_categoria, "
+            + "fecha_creacion, fecha_actualizacion, atributos FROM productos";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void recorrer(LocalDateTime since, int fetchSize, RowCallbackHandler handler) {
+        String sql = since == null
+                ? COLUMNAS + " ORDER BY id_producto"
+                : COLUMNAS + " WHERE fecha_actualizacion >= ? ORDER BY fecha_actualizacion, id_producto";
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (ps.isWrapperFor(JdbcStatement.class)) {
+                ps.unwrap(JdbcStatement.class).enableStreamingResults();
+            } else {
+                ps.setFetchSize(fetchSize);
+            }
+            if (since != null) {
+                ps.setTimestamp(1, Timestamp.valueOf(since));
+            }
+            return ps;
+        }, handler);
+    }
+}
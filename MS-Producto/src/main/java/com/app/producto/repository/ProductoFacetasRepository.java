@@ -0,0 +1,114 @@
+package com.app.producto.repository;
+
+import com.app.producto.dto.FiltroAtributos;
+import com.app.producto.dto.ProductoListado;
+import com.app.producto.shared.util.AtributosProductoConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de la búsqueda por facetas. tipo, marca y temporada se filtran por las columnas
+ * generadas indexadas y tallas/colores con {@code MEMBER OF} sobre los índices multi-valor
+ * (ver AtributosIndexInitializer), de modo que MySQL resuelve los filtros por índice.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductoFacetasRepository {
+
+    public static final List<String> FACETAS = List.of("tipo", "tallas", "colores", "marca", "temporada");
+
+    private static final int MAX_VALORES_FACETA = 50;
+
+    private static final RowMapper<ProductoListado> LISTADO = (rs, rowNum) -> new ProductoListado(
+            rs.getLong("id_producto"),
+            rs.getString("codigo_sku"),
+            rs.getString("nombre"),
+            rs.getString("image_primary"),
+            rs.getString("image_secondary"),
+            rs.getBigDecimal("precio"),
+            rs.getObject("stock", Integer.class),
+            rs.getString("catalogo"),
+            rs.getObject("id_categoria", Long.class),
+            AtributosProductoConverter.leer(rs.getString("atributos")),
+            rs.getObject("version", Long.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<ProductoListado> buscar(FiltroAtributos filtro, Long cursor, int limite) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limite", limite);
+        StringBuilder sql = new StringBuilder("SELECT p.id_producto, p.codigo_sku, p.nombre, p.image_primary, ")
+                .append("p.image_secondary, p.precio, p.stock, p.catalogo, p.id_categoria, p.atributos, p.version ")
+                .append("FROM productos p WHERE ")
+                .append(condiciones(filtro, null, params));
+        if (cursor != null) {
+            sql.append(" AND p.id_producto > :cursor");
+            params.addValue("cursor", cursor);
+        }
+        sql.append(" ORDER BY p.id_producto LIMIT :limite");
+
+        return jdbcTemplate.query(sql.toString(), params, LISTADO);
+    }
+
+    /**
+     * Conteo de productos por valor de la faceta, aplicando todos los filtros salvo el de la
+     * propia faceta para que el cliente vea las alternativas disponibles.
+     */
+    public Map<String, Long> contar(String faceta, FiltroAtributos filtro) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = condiciones(filtro, faceta, params);
+        String sql = switch (faceta) {
+            case "tallas", "colores" -> "SELECT jt.valor AS valor, COUNT(*) AS total FROM productos p, "
+                    + "JSON_TABLE(p.atributos, '$." + faceta + "[*]' COLUMNS (valor VARCHAR(50) PATH '$')) jt "
+                    + "WHERE " + where + " GROUP BY jt.valor";
+            case "tipo", "marca", "temporada" -> "SELECT p.atributos_" + faceta + " AS valor, COUNT(*) AS total "
+                    + "FROM productos p WHERE " + where + " AND p.atributos_" + faceta + " IS NOT NULL "
+                    + "GROUP BY p.atributos_" + faceta;
+            default -> throw new IllegalArgumentException("Faceta desconocida: " + faceta);
+        };
+
+        Map<String, Long> conteo = new LinkedHashMap<>();
+        jdbcTemplate.query(sql + " ORDER BY total DESC, valor LIMIT " + MAX_VALORES_FACETA, params,
+                rs -> {
+                    conteo.put(rs.getString("valor"), rs.getLong("total"));
+                });
+        return conteo;
+    }
+
+    private String condiciones(FiltroAtributos filtro, String excluir, MapSqlParameterSource params) {
+        List<String> condiciones = new ArrayList<>();
+        condiciones.add("p.activo = TRUE");
+        if (filtro.getCategoriaId() != null) {
+            condiciones.add("p.id_categoria = :categoriaId");
+            params.addValue("categoriaId", filtro.getCategoriaId());
+        }
+        if (filtro.getTipo() != null && !"tipo".equals(excluir)) {
+            condiciones.add("p.atributos_tipo = :tipo");
+            params.addValue("tipo", filtro.getTipo());
+        }
+        if (filtro.getMarca() != null && !"marca".equals(excluir)) {
+            condiciones.add("p.atributos_marca = :marca");
+            params.addValue("marca", filtro.getMarca());
+        }
+        if (filtro.getTemporada() != null && !"temporada".equals(excluir)) {
+            condiciones.add("p.atributos_temporada = :temporada");
+            params.addValue("temporada", filtro.getTemporada());
+        }
+        if (filtro.getTalla() != null && !"tallas".equals(excluir)) {
+            condiciones.add(":talla MEMBER OF (p.atributos->'$.tallas')");
+            params.addValue("talla", filtro.getTalla());
+        }
+        if (filtro.getColor() != null && !"colores".equals(excluir)) {
+            condiciones.add(":color MEMBER OF (p.atributos->'$.colores')");
+            params.addValue("color", filtro.getColor());
+        }
+        return String.join(" AND ", condiciones);
+    }
+}
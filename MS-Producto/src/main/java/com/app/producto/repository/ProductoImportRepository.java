@@ -0,0 +1,54 @@
+package com.app.producto.repository;
+
+import com.app.producto.domain.model.Producto;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Acceso por lotes de la importación masiva: validaciones con un solo {@code IN} por lote e
+ * inserción con batch JDBC a través de Hibernate.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductoImportRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public Set<String> skusExistentes(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT codigo_sku FROM productos WHERE codigo_sku IN (:valores)",
+                new MapSqlParameterSource("valores", skus), String.class));
+    }
+
+    public Set<String> serialesExistentes(Collection<String> seriales) {
+        if (seriales.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT serial FROM productos WHERE serial IN (:valores)",
+                new MapSqlParameterSource("valores", seriales), String.class));
+    }
+
+    /**
+     * Persiste el lote y lo vacía de inmediato: con ids pooled-lo y {@code hibernate.jdbc.batch_size}
+     * Hibernate envía los INSERT en batch sin pedir claves generadas. Debe llamarse dentro de
+     * una transacción; al volver, cada producto ya tiene su id asignado.
+     */
+    public void insertar(List<Producto> productos) {
+        productos.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -1,17 +1,61 @@
 package com.app.producto.repository;
 
 import com.app.producto.domain.model.Producto;
+import com.app.producto.dto.ConteoCategoria;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductoRepository extends JpaRepository<Producto, Long> {
+public interface ProductoRepository extends JpaRepository<Producto, Long>, ProductoRepositoryCustom {
     boolean existsByCodigoSku(String codigoSku);
 
     Optional<Producto> findBySerial(String serial);
 
     boolean existsBySerial(String serial);
 
+    /**
+     * Trae la categoría en el mismo SELECT, así la lectura para la caché y la actualización no
+     * dejan un proxy por inicializar al mapear a DTO.
+     */
+    @Override
+    @EntityGraph(attributePaths = "categoria")
+    Optional<Producto> findById(Long id);
+
+    @EntityGraph(attributePaths = "categoria")
     List<Producto> findByCatalogo(String catalogo);
+
+    @Query("select p.version from Producto p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.app.producto.dto.ConteoCategoria(p.categoria.id, count(p)) from Producto p "
+            + "where p.activo = true and p.categoria is not null group by p.categoria.id")
+    List<ConteoCategoria> contarActivosPorCategoria();
+
+    @Query("select new com.app.producto.dto.ConteoCategoria(p.categoria.id, count(p)) from Producto p "
+            + "where p.activo = true and p.categoria.id in :categoriaIds group by p.categoria.id")
+    List<ConteoCategoria> contarActivosPorCategoria(@Param("categoriaIds") Collection<Long> categoriaIds);
+
+    @Query("select p from Producto p left join fetch p.categoria where p.id in :ids")
+    List<Producto> findAllConCategoriaByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Descuenta solo si alcanza: la condición y la resta van en el mismo UPDATE, sin leer antes.
+     * Devuelve 0 si el producto no existe o no tiene stock suficiente.
+     */
+    @Modifying
+    @Query("update Producto p set p.stock = p.stock - :cantidad, p.fechaActualizacion = :fecha, "
+            + "p.version = p.version + 1 where p.id = :id and p.stock >= :cantidad")
+    int descontarStock(@Param("id") Long id, @Param("cantidad") int cantidad, @Param("fecha") LocalDateTime fecha);
+
+    @Modifying
+    @Query("update Producto p set p.stock = coalesce(p.stock, 0) + :cantidad, p.fechaActualizacion = :fecha, "
+            + "p.version = p.version + 1 where p.id = :id")
+    int reponerStock(@Param("id") Long id, @Param("cantidad") int cantidad, @Param("fecha") LocalDateTime fecha);
 }
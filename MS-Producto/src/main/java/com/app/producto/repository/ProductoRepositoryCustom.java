@@ -0,0 +1,15 @@
+package com.app.producto.repository;
+
+import com.app.producto.dto.ProductoFiltro;
+import com.app.producto.dto.ProductoListado;
+
+import java.util.List;
+
+public interface ProductoRepositoryCustom {
+
+    /**
+     * Hasta {@code limite} productos con id mayor a {@code cursor} (todos si es nulo),
+     * ordenados por id y filtrados solo por los campos no nulos del filtro.
+     */
+    List<ProductoListado> listarPagina(Long cursor, ProductoFiltro filtro, int limite);
+}
@@ -0,0 +1,71 @@
+package com.app.producto.repository;
+
+import com.app.producto.domain.model.Producto;
+import com.app.producto.dto.ProductoFiltro;
+import com.app.producto.dto.ProductoListado;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listado por keyset sobre {@code id_producto}: los predicados se agregan solo para los filtros
+ * presentes, así MySQL puede usar el índice compuesto que corresponde en vez de un
+ * {@code (:param IS NULL OR ...)} que obliga a recorrer la tabla.
+ */
+public class ProductoRepositoryImpl implements ProductoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductoListado> listarPagina(Long cursor, ProductoFiltro filtro, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductoListado> query = cb.createQuery(ProductoListado.class);
+        Root<Producto> producto = query.from(Producto.class);
+
+        List<Predicate> predicados = new ArrayList<>();
+        if (cursor != null) {
+            predicados.add(cb.greaterThan(producto.get("id"), cursor));
+        }
+        if (filtro.getCategoriaId() != null) {
+            predicados.add(cb.equal(producto.get("categoria").get("id"), filtro.getCategoriaId()));
+        }
+        if (filtro.getCatalogo() != null) {
+            predicados.add(cb.equal(producto.get("catalogo"), filtro.getCatalogo()));
+        }
+        if (filtro.getActivo() != null) {
+            predicados.add(cb.equal(producto.get("activo"), filtro.getActivo()));
+        }
+        if (filtro.getPrecioMin() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(producto.get("precio"), filtro.getPrecioMin()));
+        }
+        if (filtro.getPrecioMax() != null) {
+            predicados.add(cb.lessThanOrEqualTo(producto.get("precio"), filtro.getPrecioMax()));
+        }
+
+        query.select(cb.construct(ProductoListado.class,
+                        producto.get("id"),
+                        producto.get("codigoSku"),
+                        producto.get("nombre"),
+                        producto.get("imagePrimary"),
+                        producto.get("imageSecondary"),
+                        producto.get("precio"),
+                        producto.get("stock"),
+                        producto.get("catalogo"),
+                        producto.get("categoria").get("id"),
+                        producto.get("atributos"),
+                        producto.get("version")))
+                .where(predicados.toArray(Predicate[]::new))
+                .orderBy(cb.asc(producto.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+}
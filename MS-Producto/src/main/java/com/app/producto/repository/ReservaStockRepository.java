@@ -0,0 +1,30 @@
+package com.app.producto.repository;
+
+import com.app.producto.domain.model.ReservaStock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReservaStockRepository extends JpaRepository<ReservaStock, Long> {
+
+    List<ReservaStock> findByReservaId(String reservaId);
+
+    List<ReservaStock> findByExpiraEnBefore(LocalDateTime fecha, Pageable pageable);
+
+    /**
+     * Devuelve 1 solo a quien borró la fila: liberación, confirmación y barrido pueden competir
+     * por la misma reserva y únicamente el ganador repone el stock.
+     */
+    @Modifying
+    @Query("delete from ReservaStock r where r.id = :id")
+    int eliminar(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from ReservaStock r where r.reservaId = :reservaId")
+    int eliminarReserva(@Param("reservaId") String reservaId);
+}
@@ -0,0 +1,99 @@
+package com.app.producto.shared.client;
+
+import com.app.producto.dto.ProveedorResponse;
+import com.app.producto.shared.security.TokenContext;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Consulta de proveedores contra MS-Proveedores. Vive fuera de ProductoService para que
+ * las llamadas pasen por el proxy: invocadas desde la misma clase, {@code @Cacheable}
+ * y {@code @CircuitBreaker} no se aplicaban. La caché "proveedores" se configura en
+ * {@code spring.cache.caffeine.spec} (tamaño, TTL y estadísticas).
+ */
+@Service
+@RequiredArgsConstructor
+public class ProveedorClientService {
+
+    public static final String CACHE_PROVEEDORES = "proveedores";
+
+    /**
+     * Resultado de {@link #verificarProveedor}: NO_VERIFICABLE es un error de MS-Proveedores
+     * (caída, timeout o circuito abierto) y no dice nada sobre la existencia del proveedor.
+     */
+    public enum Verificacion { EXISTE, NO_EXISTE, NO_VERIFICABLE }
+
+    private static final Logger logger = LoggerFactory.getLogger(ProveedorClientService.class);
+
+    @Value("${auth.url.provMicro}")
+    private String AUTH_SERVICE_URL;
+    private final MicroserviceClient microserviceClient;
+
+    // El null del fallback no se cachea: un corte breve de MS-Proveedores no debe dejar
+    // al proveedor como inexistente hasta que venza el TTL
+    @Cacheable(cacheNames = CACHE_PROVEEDORES, unless = "#result == null")
+    @CircuitBreaker(name = "proveedorService", fallbackMethod = "fallbackProveedor")
+    public ProveedorResponse consultarProveedor(Long proveedorId) {
+        return consultar(proveedorId);
+    }
+
+    /**
+     * Como {@link #consultarProveedor}, pero distingue un proveedor inexistente (MS-Proveedores
+     * responde 400 o 404 para ese id) de uno que no se pudo consultar.
+     */
+    @CircuitBreaker(name = "proveedorService", fallbackMethod = "fallbackVerificacion")
+    public Verificacion verificarProveedor(Long proveedorId) {
+        try {
+            return consultar(proveedorId) != null ? Verificacion.EXISTE : Verificacion.NO_EXISTE;
+        } catch (HttpClientErrorException.BadRequest | HttpClientErrorException.NotFound e) {
+            // Respuesta válida del servicio: no cuenta como falla para el circuito
+            return Verificacion.NO_EXISTE;
+        }
+    }
+
+    private ProveedorResponse consultar(Long proveedorId) {
+        String token = TokenContext.getToken();
+        String url = AUTH_SERVICE_URL + "/api/ms-inventario/proveedor/" + proveedorId;
+
+        ResponseEntity<ProveedorResponse> response = microserviceClient.enviarConToken(
+                url,
+                HttpMethod.GET,
+                null,
+                ProveedorResponse.class,
+                token
+        );
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("Error al obtener proveedor");
+        }
+
+        return response.getBody();
+    }
+
+    public ProveedorResponse fallbackProveedor(Long proveedorId, Throwable t) {
+        logger.warn("Fallback ejecutado para proveedor {} por error: {}", proveedorId, t.getMessage());
+        return null;
+    }
+
+    public Verificacion fallbackVerificacion(Long proveedorId, Throwable t) {
+        logger.warn("Proveedor {} no verificable por error: {}", proveedorId, t.getMessage());
+        return Verificacion.NO_VERIFICABLE;
+    }
+
+    /**
+     * Invocado por MS-Proveedores al modificar o eliminar un proveedor.
+     */
+    @CacheEvict(cacheNames = CACHE_PROVEEDORES, key = "#proveedorId")
+    public void evictProveedor(Long proveedorId) {
+        logger.debug("Proveedor {} eliminado de la caché", proveedorId);
+    }
+}
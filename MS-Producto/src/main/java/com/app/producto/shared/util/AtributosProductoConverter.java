@@ -0,0 +1,61 @@
+package com.app.producto.shared.util;
+
+import com.app.producto.dto.AtributosProducto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Convierte la columna JSON {@code atributos} directamente a {@link AtributosProducto}.
+ * El reader y el writer se crean una sola vez y son inmutables, así que se comparten entre
+ * hilos sin volver a resolver serializadores ni pasar por un {@code Map<String, Object>}.
+ */
+@Slf4j
+@Converter
+public class AtributosProductoConverter implements AttributeConverter<AtributosProducto, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            // Igual de permisivo que JsonAttributeHelper con el JSON ya guardado
+            .configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true)
+            .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final ObjectReader READER = MAPPER.readerFor(AtributosProducto.class);
+    private static final ObjectWriter WRITER = MAPPER.writerFor(AtributosProducto.class);
+
+    @Override
+    public String convertToDatabaseColumn(AtributosProducto atributos) {
+        return atributos == null ? null : escribir(atributos);
+    }
+
+    @Override
+    public AtributosProducto convertToEntityAttribute(String json) {
+        return leer(json);
+    }
+
+    public static AtributosProducto leer(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return READER.readValue(json);
+        } catch (JsonProcessingException e) {
+            log.warn("Atributos con JSON inválido, se ignoran: {}", json, e);
+            return null;
+        }
+    }
+
+    public static String escribir(AtributosProducto atributos) {
+        try {
+            return WRITER.writeValueAsString(atributos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudieron serializar los atributos del producto", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.producto;
+
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.shared.util.AtributosProductoConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtributosProductoConverterTest {
+
+    private final AtributosProductoConverter converter = new AtributosProductoConverter();
+
+    @Test
+    void convert_deberiaIrYVolverSinPerderCampos() {
+        AtributosProducto atributos = AtributosProducto.builder()
+                .tipo("hoddie")
+                .tallas(List.of("S", "M"))
+                .colores(List.of("Negro"))
+                .material("Algodón")
+                .marca("Necronet")
+                .temporada("Invierno")
+                .especificaciones(Map.of("manga", "larga"))
+                .build();
+
+        String json = converter.convertToDatabaseColumn(atributos);
+
+        assertEquals(atributos, converter.convertToEntityAttribute(json));
+    }
+
+    @Test
+    void convertToEntityAttribute_deberiaIgnorarCamposDesconocidos() {
+        AtributosProducto atributos = converter.convertToEntityAttribute("{'tipo':'polo',legacy:true}");
+
+        assertEquals("polo", atributos.getTipo());
+    }
+
+    @Test
+    void convertToEntityAttribute_deberiaRetornarNuloConJsonVacioOInvalido() {
+        assertNull(converter.convertToEntityAttribute(null));
+        assertNull(converter.convertToEntityAttribute(" "));
+        assertNull(converter.convertToEntityAttribute("{no-es-json"));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+}
@@ -0,0 +1,76 @@
+package com.app.producto;
+
+import com.app.producto.shared.client.AuthClientService;
+import com.app.producto.shared.security.TokenResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthClientServiceTest {
+
+    private static final String URL = "http://localhost:9001/api/auth/validate-token";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private AuthClientService authClientService;
+
+    @BeforeEach
+    void setUp() {
+        authClientService = new AuthClientService(restTemplate,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), 100, 300_000, 30_000);
+        ReflectionTestUtils.setField(authClientService, "AUTH_SERVICE_URL", URL);
+    }
+
+    @Test
+    void validateToken_deberiaConsultarUnaSolaVezCuandoTokenEsValido() {
+        when(restTemplate.postForEntity(eq(URL), any(), eq(TokenResponse.class)))
+                .thenReturn(ResponseEntity.ok(new TokenResponse()));
+
+        assertTrue(authClientService.validateToken("token-valido"));
+        assertTrue(authClientService.validateToken("token-valido"));
+
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(), eq(TokenResponse.class));
+    }
+
+    @Test
+    void validateToken_deberiaCachearRechazoCuandoTokenEsInvalido() {
+        when(restTemplate.postForEntity(eq(URL), any(), eq(TokenResponse.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+
+        assertThrows(BadCredentialsException.class, () -> authClientService.validateToken("token-invalido"));
+        assertThrows(BadCredentialsException.class, () -> authClientService.validateToken("token-invalido"));
+
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(), eq(TokenResponse.class));
+    }
+
+    @Test
+    void validateToken_deberiaNoCachearCuandoTokenYaExpiro() {
+        // Payload {"exp":1} ya vencido: la validación positiva no debe reutilizarse
+        String expirado = "eyJhbGciOiJIUzI1NiJ9.eyJleHAiOjF9.firma";
+        when(restTemplate.postForEntity(eq(URL), any(), eq(TokenResponse.class)))
+                .thenReturn(ResponseEntity.ok(new TokenResponse()));
+
+        authClientService.validateToken(expirado);
+        authClientService.validateToken(expirado);
+
+        verify(restTemplate, times(2)).postForEntity(anyString(), any(), eq(TokenResponse.class));
+    }
+}
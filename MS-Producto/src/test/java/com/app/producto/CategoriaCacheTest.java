@@ -0,0 +1,125 @@
+package com.app.producto;
+
+import com.app.producto.domain.cache.CategoriaCache;
+import com.app.producto.domain.model.Categoria;
+import com.app.producto.domain.model.Producto;
+import com.app.producto.dto.CategoriaDto;
+import com.app.producto.repository.CategoriaRepository;
+import com.app.producto.repository.ProductoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class CategoriaCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private CategoriaCache categoriaCache;
+    private Categoria poleras;
+    private Categoria pantalones;
+
+    @BeforeEach
+    void setUp() {
+        poleras = entityManager.persist(Categoria.builder().nombre("Poleras").build());
+        pantalones = entityManager.persist(Categoria.builder().nombre("Pantalones").build());
+        entityManager.persist(Categoria.builder().nombre("Vacía").build());
+        producto("POL-1", poleras, true);
+        producto("POL-2", poleras, true);
+        producto("POL-3", poleras, false);
+        producto("PAN-1", pantalones, true);
+        entityManager.flush();
+
+        categoriaCache = new CategoriaCache(categoriaRepository, productoRepository, new ObjectMapper());
+    }
+
+    @Test
+    void obtener_deberiaContarSoloLosProductosActivos() {
+        List<CategoriaDto> categorias = categoriaCache.obtener().categorias();
+
+        assertEquals(List.of("Poleras", "Pantalones", "Vacía"), categorias.stream().map(CategoriaDto::getNombre).toList());
+        assertEquals(List.of(2L, 1L, 0L), categorias.stream().map(CategoriaDto::getProductosActivos).toList());
+        assertSame(categoriaCache.obtener(), categoriaCache.obtener());
+    }
+
+    @Test
+    void recontar_deberiaLeerLosConteosDeLaBaseYCambiarElEtag() {
+        CategoriaCache.Listado inicial = categoriaCache.obtener();
+        producto("POL-4", poleras, true);
+        entityManager.flush();
+
+        categoriaCache.recontar(List.of(poleras.getId(), pantalones.getId()));
+
+        CategoriaCache.Listado recontado = categoriaCache.obtener();
+        assertEquals(List.of(3L, 1L, 0L), recontado.categorias().stream().map(CategoriaDto::getProductosActivos).toList());
+        assertNotEquals(inicial.etag(), recontado.etag());
+        // La versión anterior sigue intacta para quien ya la tenía
+        assertEquals(2L, inicial.categorias().get(0).getProductosActivos());
+    }
+
+    @Test
+    void recontar_noDeberiaContarDosVecesUnCambioQueYaVioLaRecarga() {
+        categoriaCache.obtener();
+        producto("POL-4", poleras, true);
+        entityManager.flush();
+
+        // La resincronización corre entre el commit y el aviso del servicio
+        categoriaCache.recargar();
+        categoriaCache.recontar(List.of(poleras.getId()));
+
+        assertEquals(3L, categoriaCache.obtener().categorias().get(0).getProductosActivos());
+    }
+
+    @Test
+    void recontar_deberiaIgnorarCategoriasDesconocidas() {
+        CategoriaCache.Listado inicial = categoriaCache.obtener();
+
+        categoriaCache.recontar(Arrays.asList(999L, null));
+        categoriaCache.recontar(List.of(poleras.getId()));
+
+        assertSame(inicial, categoriaCache.obtener());
+    }
+
+    @Test
+    void recargar_deberiaIncluirCategoriasNuevasConEtagEstable() {
+        String etag = categoriaCache.obtener().etag();
+        assertEquals(etag, categoriaCache.recargar().etag());
+
+        entityManager.persist(Categoria.builder().nombre("Zapatos").build());
+        entityManager.flush();
+
+        CategoriaCache.Listado recargado = categoriaCache.recargar();
+        assertEquals(4, recargado.categorias().size());
+        assertNotEquals(etag, recargado.etag());
+        assertTrue(recargado.etag().matches("\"[0-9a-f]{32}\""));
+    }
+
+    private void producto(String sku, Categoria categoria, boolean activo) {
+        entityManager.persist(Producto.builder()
+                .codigoSku(sku)
+                .nombre(sku)
+                .precio(BigDecimal.TEN)
+                .activo(activo)
+                .categoria(categoria)
+                .build());
+    }
+}
@@ -1,4 +1,5 @@
 package com.app.producto;
+import com.app.producto.domain.cache.CategoriaCache;
 import com.app.producto.dto.CategoriaDto;
 import com.app.producto.domain.model.Categoria;
 import com.app.producto.repository.CategoriaRepository;
@@ -11,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +26,9 @@ public class CategoriaServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private CategoriaCache categoriaCache;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -56,6 +61,7 @@ public class CategoriaServiceTest {
         assertEquals("Electrónicos", result.getData().getNombre());
         verify(categoriaRepository, times(1)).existsByNombre(anyString());
         verify(categoriaRepository, times(1)).save(any(Categoria.class));
+        verify(categoriaCache).recargar();
     }
     @Test
     void crearCategoria_deberiaRetornarErrorCuandoYaExiste() {
@@ -65,8 +71,20 @@ public class CategoriaServiceTest {
         assertEquals("La categoría ya existe", result.getErrors().get(0));
         verify(categoriaRepository, times(1)).existsByNombre(anyString());
         verify(categoriaRepository, never()).save(any(Categoria.class));
+        verify(categoriaCache, never()).recargar();
     }
 
+    @Test
+    void listarCategorias_deberiaServirElListadoEnMemoria() {
+        CategoriaCache.Listado listado = new CategoriaCache.Listado(List.of(categoriaDto), "\"abc\"");
+        when(categoriaCache.obtener()).thenReturn(listado);
+
+        ServiceResult<CategoriaCache.Listado> result = categoriaService.listarCategorias();
+
+        assertFalse(result.hasErrors());
+        assertSame(listado, result.getData());
+        verifyNoInteractions(categoriaRepository);
+    }
 
     @Test
     void eliminarCategoria_deberiaEliminarCuandoExiste() {
@@ -80,6 +98,7 @@ public class CategoriaServiceTest {
         assertFalse(result.hasErrors());
         verify(categoriaRepository, times(1)).existsById(id);
         verify(categoriaRepository, times(1)).deleteById(id);
+        verify(categoriaCache).recargar();
     }
 
     @Test
@@ -0,0 +1,103 @@
+package com.app.producto;
+
+import com.app.producto.shared.security.JwksKeyLocator;
+import com.app.producto.shared.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "9ab67789df495410c1798fea3ccb00fb8816221312a10b4e00a874a7e4b46960cd8495067622053e6e6ad36addae12c4308921ad8ba01ab23ce2f5bfc1936691ce66bec658cca86526e52e6f337276e5900817fff24fbf04124c3d26a51b364966360da1b4b1eb0a6e6d99988fe21637cbbfb5b092e1ff2a894d658b422ff98ae57f16798286a1d3535052f4f81093a0a80dd3fcc2f6f3516d021f07f824ec809b5868bc439e578a4c82253c02abb0364412a3cc2a86845a91ad2a11285299a594c04815467df481d2a2a0af7f92a61456259ae79789ca4263ea83d017d85169464178dc34f044a2daafd5ad5e325dc7a55ce4cb7fdcfeba0c9c8d90f05a31e6";
+
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtVerifier = new JwtVerifier(SECRET);
+    }
+
+    private String token(String secret, long expiresInMs, List<String> roles) {
+        Date now = new Date();
+        var builder = Jwts.builder()
+                .subject("admin")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expiresInMs));
+        if (roles != null) {
+            builder.claim(JwtVerifier.ROLES_CLAIM, roles);
+        }
+        return builder.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), Jwts.SIG.HS256).compact();
+    }
+
+    @Test
+    void verify_deberiaRetornarClaimsYRolesCuandoTokenEsValido() {
+        Claims claims = jwtVerifier.verify(token(SECRET, 60_000, List.of("ROLE_USER", "ROLE_ADMIN")));
+
+        List<GrantedAuthority> authorities = jwtVerifier.getAuthorities(claims);
+
+        assertEquals("admin", claims.getSubject());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"),
+                authorities.stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void verify_deberiaRetornarSinAutoridadesCuandoTokenNoTraeRoles() {
+        Claims claims = jwtVerifier.verify(token(SECRET, 60_000, null));
+
+        assertTrue(jwtVerifier.getAuthorities(claims).isEmpty());
+    }
+
+    @Test
+    void verify_deberiaRechazarTokenExpirado() {
+        String expirado = token(SECRET, -60_000, null);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtVerifier.verify(expirado));
+    }
+
+    @Test
+    void verify_deberiaRechazarTokenFirmadoConOtraClave() {
+        String otraClave = SECRET.replace('9', '8');
+        String token = token(otraClave, 60_000, null);
+
+        assertThrows(SignatureException.class, () -> jwtVerifier.verify(token));
+    }
+
+    @Test
+    void verify_deberiaValidarTokenRs256ConClaveDelJwkSet() {
+        KeyPair keyPair = Jwts.SIG.RS256.keyPair().build();
+        JwksKeyLocator locator = mock(JwksKeyLocator.class);
+        when(locator.getKey("k1")).thenReturn(keyPair.getPublic());
+        JwtVerifier verifier = new JwtVerifier("", locator);
+
+        String token = Jwts.builder()
+                .header().keyId("k1").and()
+                .subject("admin")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+
+        assertEquals("admin", verifier.verify(token).getSubject());
+    }
+
+    @Test
+    void verify_deberiaRechazarHs256CuandoNoHaySecretoConfigurado() {
+        JwtVerifier verifier = new JwtVerifier("", mock(JwksKeyLocator.class));
+        String token = token(SECRET, 60_000, null);
+
+        assertThrows(SignatureException.class, () -> verifier.verify(token));
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.producto;
+
+import com.app.producto.domain.cache.ProductoCache;
+import com.app.producto.dto.ProductoDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductoCacheTest {
+
+    private ProductoCache productoCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        productoCache = new ProductoCache(new ObjectMapper(), mock(ObjectProvider.class), 100, 60_000);
+    }
+
+    @Test
+    void obtenerTodos_deberiaCargarSoloLosFaltantesYCachearlos() {
+        List<Set<Long>> pedidos = new ArrayList<>();
+        Function<Set<Long>, Map<Long, ProductoDto>> cargador = ids -> {
+            pedidos.add(ids);
+            return productos(ids, 0L);
+        };
+
+        productoCache.obtenerTodos(Set.of(1L, 2L), cargador);
+        Map<Long, ProductoCache.Entrada> resultado = productoCache.obtenerTodos(Set.of(1L, 2L, 3L), cargador);
+
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(3L)), pedidos);
+        assertEquals(Set.of(1L, 2L, 3L), resultado.keySet());
+        assertNotNull(productoCache.obtenerSiPresente(3L));
+    }
+
+    @Test
+    void obtenerTodos_noDeberiaCachearLoLeidoAntesDeUnaInvalidacion() throws Exception {
+        CountDownLatch leyendo = new CountDownLatch(1);
+        CountDownLatch invalidado = new CountDownLatch(1);
+        CompletableFuture<Map<Long, ProductoCache.Entrada>> carga = CompletableFuture.supplyAsync(() ->
+                productoCache.obtenerTodos(Set.of(1L, 2L), ids -> {
+                    Map<Long, ProductoDto> anteriores = productos(ids, 0L);
+                    leyendo.countDown();
+                    await(invalidado);
+                    return anteriores;
+                }));
+
+        assertTrue(leyendo.await(5, TimeUnit.SECONDS));
+        productoCache.invalidar(1L);
+        invalidado.countDown();
+
+        assertEquals(0L, carga.get(5, TimeUnit.SECONDS).get(1L).producto().getVersion());
+        assertNull(productoCache.obtenerSiPresente(1L));
+        ProductoCache.Entrada actual = productoCache.obtener(1L, id -> productos(Set.of(id), 1L).get(id));
+        assertEquals(1L, actual.producto().getVersion());
+    }
+
+    private static Map<Long, ProductoDto> productos(Set<Long> ids, long version) {
+        return ids.stream().collect(Collectors.toMap(Function.identity(),
+                id -> ProductoDto.builder().id(id).nombre("producto " + id).version(version).build()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
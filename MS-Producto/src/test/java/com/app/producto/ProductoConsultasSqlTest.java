@@ -0,0 +1,136 @@
+package com.app.producto;
+
+import com.app.producto.domain.cache.ProductoCache;
+import com.app.producto.domain.model.Categoria;
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.service.ProductoService;
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.dto.ProductoFiltro;
+import com.app.producto.repository.CategoriaRepository;
+import com.app.producto.repository.ProductoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Regresión de N+1: cada lectura de productos debe costar las mismas sentencias SQL con
+ * cualquier cantidad de filas. Cada producto va en su propia categoría para que un acceso
+ * perezoso a la categoría se note como una consulta extra por fila.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProductoConsultasSqlTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    private Statistics statistics;
+    private ProductoService productoService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        productoService = new ProductoService(null, categoriaRepository, productoRepository, null,
+                new ProductoCache(new ObjectMapper(), mock(ObjectProvider.class), 1000, 60_000), null, null, null);
+        ReflectionTestUtils.setField(productoService, "listMaxPageSize", 200);
+        ReflectionTestUtils.setField(productoService, "batchMaxIds", 200);
+    }
+
+    @Test
+    void listarProductos_deberiaUsarUnaSolaConsultaPorPagina() {
+        List<Long> ids = crearProductos(40);
+
+        assertEquals(1, sentencias(() -> assertEquals(3,
+                productoService.listarProductos(null, 3, new ProductoFiltro()).getData().getTamano())));
+        assertEquals(1, sentencias(() -> assertEquals(39,
+                productoService.listarProductos(ids.get(0), 100, new ProductoFiltro()).getData().getTamano())));
+    }
+
+    @Test
+    void obtenerProductos_deberiaUsarUnaSolaConsultaPorLote() {
+        List<Long> ids = crearProductos(40);
+
+        assertEquals(1, sentencias(() -> assertEquals(3,
+                productoService.obtenerProductos(ids.subList(0, 3)).getData().getProductos().size())));
+        // Los tres primeros ya están en caché: solo se consultan los 37 restantes
+        assertEquals(1, sentencias(() -> assertEquals(40,
+                productoService.obtenerProductos(ids).getData().getProductos().size())));
+    }
+
+    @Test
+    void obtenerProducto_deberiaTraerLaCategoriaEnLaMismaConsulta() {
+        List<Long> ids = crearProductos(2);
+
+        assertEquals(1, sentencias(() -> assertNotNull(
+                productoService.obtenerProducto(ids.get(0)).getData().getCategoriaId())));
+        assertEquals(1, sentencias(() -> assertTrue(productoRepository.findById(ids.get(1))
+                .orElseThrow().getCategoria().getNombre().startsWith("Categoría"))));
+    }
+
+    @Test
+    void findByCatalogo_deberiaTraerLasCategoriasSinConsultasExtra() {
+        crearProductos(3);
+        assertEquals(1, sentencias(() -> productoRepository.findByCatalogo("verano")
+                .forEach(producto -> assertNotNull(producto.getCategoria().getNombre()))));
+
+        crearProductos(30);
+        assertEquals(1, sentencias(() -> productoRepository.findByCatalogo("verano")
+                .forEach(producto -> assertNotNull(producto.getCategoria().getNombre()))));
+    }
+
+    private int sentencias(Runnable lectura) {
+        entityManager.clear();
+        statistics.clear();
+        lectura.run();
+        return (int) statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> crearProductos(int cantidad) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Categoria categoria = entityManager.persist(Categoria.builder()
+                    .nombre("Categoría " + ids.size() + "-" + System.nanoTime())
+                    .build());
+            Producto producto = entityManager.persist(Producto.builder()
+                    .codigoSku("SKU-" + System.nanoTime())
+                    .nombre("Producto " + i)
+                    .precio(BigDecimal.TEN)
+                    .catalogo("verano")
+                    .stock(i)
+                    .categoria(categoria)
+                    .atributos(AtributosProducto.builder().tipo("polera").build())
+                    .build());
+            ids.add(producto.getId());
+        }
+        entityManager.flush();
+        return ids;
+    }
+}
@@ -0,0 +1,207 @@
+package com.app.producto;
+
+import com.app.producto.domain.evento.ProductoEventoFeed;
+import com.app.producto.domain.evento.ProductoEventoRelay;
+import com.app.producto.domain.evento.ProductoOutbox;
+import com.app.producto.domain.model.Categoria;
+import com.app.producto.domain.model.EventoProducto;
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.service.ProductoService;
+import com.app.producto.dto.EventoProductoDto;
+import com.app.producto.dto.EventosPagina;
+import com.app.producto.repository.EventoProductoRepository;
+import com.app.producto.repository.ProductoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProductoEventoRelayTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventoProductoRepository eventoProductoRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductoOutbox productoOutbox;
+    private ProductoEventoFeed productoEventoFeed;
+    private ProductoEventoRelay productoEventoRelay;
+    private Producto polera;
+
+    @BeforeEach
+    void setUp() {
+        Categoria poleras = entityManager.persist(Categoria.builder().nombre("Poleras").build());
+        polera = entityManager.persist(Producto.builder()
+                .codigoSku("POL-1")
+                .nombre("Polera básica")
+                .precio(BigDecimal.TEN)
+                .stock(3)
+                .categoria(poleras)
+                .build());
+        entityManager.flush();
+
+        productoOutbox = new ProductoOutbox(eventoProductoRepository);
+        productoEventoFeed = new ProductoEventoFeed(eventoProductoRepository, 10, 60_000, 2);
+        productoEventoRelay = new ProductoEventoRelay(eventoProductoRepository, productoRepository,
+                new ProductoService(null, null, null, null, null, null, null, null), productoEventoFeed,
+                new TransactionTemplate(transactionManager), new ObjectMapper(), 2, 7);
+    }
+
+    @Test
+    void publicar_deberiaAsignarSecuenciasCorrelativasYLaFotoDelProducto() {
+        productoOutbox.registrar(EventoProducto.Tipo.CREADO, polera.getId());
+        productoOutbox.registrar(EventoProducto.Tipo.STOCK, List.of(polera.getId(), 999L));
+        productoOutbox.registrar(EventoProducto.Tipo.ELIMINADO, polera.getId());
+
+        productoEventoRelay.publicar();
+
+        List<EventoProductoDto> eventos = productoEventoFeed.leer(0, 10).getEventos();
+        assertEquals(List.of(1L, 2L, 3L, 4L), eventos.stream().map(EventoProductoDto::getSecuencia).toList());
+        assertTrue(eventos.get(0).getProducto().contains("\"nombre\":\"Polera básica\""));
+        assertTrue(eventos.get(1).getProducto().contains("\"stock\":3"));
+        // El producto 999 no existe y el ELIMINADO nunca lleva foto
+        assertNull(eventos.get(2).getProducto());
+        assertNull(eventos.get(3).getProducto());
+        assertEquals(0, eventoProductoRepository.findBySecuenciaIsNullOrderByIdAsc(Pageable.unpaged()).size());
+    }
+
+    @Test
+    void esperar_deberiaResponderCuandoElRelayPublica() {
+        productoOutbox.registrar(EventoProducto.Tipo.ACTUALIZADO, polera.getId());
+        productoEventoRelay.publicar();
+
+        DeferredResult<Object> inmediata = productoEventoFeed.esperar(0, 10, 60_000, Function.identity());
+        assertEquals(1L, ((EventosPagina) inmediata.getResult()).getUltimaSecuencia());
+
+        DeferredResult<Object> pendiente = productoEventoFeed.esperar(1, 10, 60_000, Function.identity());
+        assertFalse(pendiente.hasResult());
+
+        productoOutbox.registrar(EventoProducto.Tipo.STOCK, polera.getId());
+        productoEventoRelay.publicar();
+
+        EventosPagina pagina = (EventosPagina) pendiente.getResult();
+        assertEquals(1, pagina.getEventos().size());
+        assertEquals(EventoProducto.Tipo.STOCK, pagina.getEventos().get(0).getTipo());
+        assertEquals(2L, pagina.getUltimaSecuencia());
+    }
+
+    @Test
+    void validar_deberiaRechazarOffsetsPurgados() {
+        for (int i = 0; i < 3; i++) {
+            productoOutbox.registrar(EventoProducto.Tipo.ACTUALIZADO, polera.getId());
+        }
+        productoEventoRelay.publicar();
+        eventoProductoRepository.findBySecuenciaGreaterThanOrderBySecuenciaAsc(0L, PageRequest.of(0, 2))
+                .forEach(evento -> evento.setFechaPublicacion(LocalDateTime.now().minusDays(30)));
+        entityManager.flush();
+
+        productoEventoRelay.purgar();
+
+        assertFalse(productoEventoFeed.validar(2, null).hasErrors());
+        assertEquals(List.of("El offset 1 ya no está disponible; el evento más antiguo es el 3"),
+                productoEventoFeed.validar(1, null).getErrors());
+        assertEquals(List.of("El límite debe estar entre 1 y 10"), productoEventoFeed.validar(2, 11).getErrors());
+    }
+
+    @Test
+    void publicar_noDeberiaEsperarAUnaSuscripcionLentaYDeberiaCortarla() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch lentaCerrada = new CountDownLatch(1);
+        CountDownLatch rapidaRecibio = new CountDownLatch(6);
+        conectar(productoEventoFeed.suscribir(0), () -> esperar(liberar), lentaCerrada);
+        conectar(productoEventoFeed.suscribir(0), rapidaRecibio::countDown, new CountDownLatch(1));
+
+        long inicio = System.nanoTime();
+        // La lenta retiene hasta 2 ya tomados del buffer más 2 encolados: el quinto la desborda
+        for (int i = 0; i < 6; i++) {
+            productoOutbox.registrar(EventoProducto.Tipo.STOCK, polera.getId());
+            productoEventoRelay.publicar();
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 2_000);
+        assertTrue(rapidaRecibio.await(5, TimeUnit.SECONDS));
+
+        // Cortada, se cierra en cuanto suelta el envío bloqueado
+        liberar.countDown();
+        assertTrue(lentaCerrada.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void suscribir_deberiaEnviarUnaSolaPaginaPendienteYCerrarSiQuedanMas() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            productoOutbox.registrar(EventoProducto.Tipo.STOCK, polera.getId());
+        }
+        productoEventoRelay.publicar();
+
+        CountDownLatch atrasadaCerrada = new CountDownLatch(1);
+        conectar(productoEventoFeed.suscribir(0), () -> { }, atrasadaCerrada);
+        CountDownLatch alDiaCerrada = new CountDownLatch(1);
+        conectar(productoEventoFeed.suscribir(10), () -> { }, alDiaCerrada);
+
+        // Límite de 10: la que parte de 0 recibe una página y reconecta desde la secuencia 10
+        assertEquals(0, atrasadaCerrada.getCount());
+        assertEquals(1, alDiaCerrada.getCount());
+    }
+
+    /**
+     * Conecta el emitter a un cliente simulado, como lo haría Spring MVC al devolverlo.
+     */
+    private static void conectar(SseEmitter emitter, Runnable alEnviar, CountDownLatch cerrado) throws Exception {
+        Class<?> handler = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        Object cliente = Proxy.newProxyInstance(handler.getClassLoader(), new Class<?>[]{handler},
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "send" -> {
+                        alEnviar.run();
+                        yield null;
+                    }
+                    case "complete" -> {
+                        cerrado.countDown();
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+        Method initialize = ResponseBodyEmitter.class.getDeclaredMethod("initialize", handler);
+        initialize.setAccessible(true);
+        initialize.invoke(emitter, cliente);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
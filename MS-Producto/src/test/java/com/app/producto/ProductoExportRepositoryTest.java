@@ -0,0 +1,71 @@
+package com.app.producto;
+
+import com.app.producto.repository.ProductoExportRepository;
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoExportRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private ProductoExportRepository productoExportRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productoExportRepository = new ProductoExportRepository(jdbcTemplate);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+    }
+
+    @Test
+    void recorrer_deberiaUsarStreamingSoloEnLaSentenciaConMySql() throws Exception {
+        JdbcStatement mysql = mock(JdbcStatement.class);
+        when(statement.isWrapperFor(JdbcStatement.class)).thenReturn(true);
+        when(statement.unwrap(JdbcStatement.class)).thenReturn(mysql);
+
+        crearSentencia();
+
+        verify(mysql).enableStreamingResults();
+        verify(statement, never()).setFetchSize(anyInt());
+        verifyNoMoreInteractions(connection);
+    }
+
+    @Test
+    void recorrer_deberiaUsarElFetchSizeConOtrosDrivers() throws Exception {
+        when(statement.isWrapperFor(JdbcStatement.class)).thenReturn(false);
+
+        crearSentencia();
+
+        verify(statement).setFetchSize(500);
+    }
+
+    private void crearSentencia() throws Exception {
+        productoExportRepository.recorrer(null, 500, fila -> { });
+        ArgumentCaptor<PreparedStatementCreator> creador = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creador.capture(), any(RowCallbackHandler.class));
+        creador.getValue().createPreparedStatement(connection);
+    }
+}
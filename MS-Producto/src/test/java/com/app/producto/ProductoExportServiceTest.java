@@ -0,0 +1,86 @@
+package com.app.producto;
+
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.service.ProductoExportService;
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.repository.ProductoExportRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(ProductoExportRepository.class)
+class ProductoExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductoExportRepository productoExportRepository;
+
+    private ProductoExportService productoExportService;
+
+    @BeforeEach
+    void setUp() {
+        productoExportService = new ProductoExportService(productoExportRepository, objectMapper);
+        ReflectionTestUtils.setField(productoExportService, "exportFetchSize", 2);
+
+        for (int i = 1; i <= 3; i++) {
+            entityManager.persist(Producto.builder()
+                    .codigoSku("SKU" + i)
+                    .nombre("Producto " + i)
+                    .precio(BigDecimal.valueOf(i * 1000L))
+                    .stock(i)
+                    .atributos(i == 2 ? null : AtributosProducto.builder().tipo("polera").tallas(List.of("M")).build())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportar_deberiaEscribirUnProductoPorLinea() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long total = productoExportService.exportar(null, out);
+
+        List<String> lineas = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, total);
+        assertEquals(3, lineas.size());
+        JsonNode primero = objectMapper.readTree(lineas.get(0));
+        assertEquals("SKU1", primero.get("codigoSku").asText());
+        assertEquals(1000, primero.get("precio").asInt());
+        assertEquals("M", primero.get("atributos").get("tallas").get(0).asText());
+        assertNotNull(primero.get("fechaActualizacion").textValue());
+        assertTrue(objectMapper.readTree(lineas.get(1)).get("atributos").isNull());
+    }
+
+    @Test
+    void exportar_deberiaFiltrarPorFechaDeActualizacion() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long total = productoExportService.exportar(LocalDateTime.now().plusMinutes(1), out);
+
+        assertEquals(0, total);
+        assertEquals(0, out.size());
+    }
+}
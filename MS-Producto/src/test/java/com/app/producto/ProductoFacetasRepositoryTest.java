@@ -0,0 +1,71 @@
+package com.app.producto;
+
+import com.app.producto.dto.FiltroAtributos;
+import com.app.producto.repository.ProductoFacetasRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoFacetasRepositoryTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ProductoFacetasRepository productoFacetasRepository;
+
+    private final FiltroAtributos filtro = FiltroAtributos.builder()
+            .tipo("hoddie")
+            .talla("M")
+            .color("Negro")
+            .marca("Necronet")
+            .build();
+
+    @Test
+    void buscar_deberiaFiltrarPorColumnasGeneradasYMemberOf() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+        productoFacetasRepository.buscar(filtro, 40L, 21);
+
+        verify(jdbcTemplate).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("p.atributos_tipo = :tipo"));
+        assertTrue(sql.getValue().contains("p.atributos_marca = :marca"));
+        assertTrue(sql.getValue().contains(":talla MEMBER OF (p.atributos->'$.tallas')"));
+        assertTrue(sql.getValue().contains(":color MEMBER OF (p.atributos->'$.colores')"));
+        assertTrue(sql.getValue().contains("p.id_producto > :cursor"));
+        assertFalse(sql.getValue().contains("atributos_temporada"));
+        assertEquals("M", params.getValue().getValue("talla"));
+        assertEquals(21, params.getValue().getValue("limite"));
+    }
+
+    @Test
+    void contar_deberiaExcluirElFiltroDeLaPropiaFaceta() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+
+        productoFacetasRepository.contar("tallas", filtro);
+
+        verify(jdbcTemplate).query(sql.capture(), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+        assertTrue(sql.getValue().contains("JSON_TABLE(p.atributos, '$.tallas[*]'"));
+        assertFalse(sql.getValue().contains(":talla"));
+        assertTrue(sql.getValue().contains(":color MEMBER OF"));
+    }
+
+    @Test
+    void contar_deberiaRechazarFacetaDesconocida() {
+        assertThrows(IllegalArgumentException.class, () -> productoFacetasRepository.contar("precio", filtro));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,73 @@
+package com.app.producto;
+
+import com.app.producto.domain.service.ProductoFacetasService;
+import com.app.producto.domain.service.ProductoService;
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.dto.FiltroAtributos;
+import com.app.producto.dto.ProductoFacetasResultado;
+import com.app.producto.dto.ProductoListado;
+import com.app.producto.repository.ProductoFacetasRepository;
+import org.app.dto.ServiceResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoFacetasServiceTest {
+
+    @Mock
+    private ProductoFacetasRepository productoFacetasRepository;
+
+    private ProductoFacetasService productoFacetasService;
+
+    private final FiltroAtributos filtro = FiltroAtributos.builder().talla("M").build();
+
+    @BeforeEach
+    void setUp() {
+        productoFacetasService = new ProductoFacetasService(productoFacetasRepository, new ProductoService(null, null, null, null, null, null, null, null));
+        ReflectionTestUtils.setField(productoFacetasService, "listPageSize", 2);
+        ReflectionTestUtils.setField(productoFacetasService, "listMaxPageSize", 200);
+    }
+
+    @Test
+    void filtrar_deberiaIncluirFacetasEnLaPrimeraPagina() {
+        when(productoFacetasRepository.buscar(filtro, null, 3)).thenReturn(List.of(fila(1L), fila(2L), fila(3L)));
+        when(productoFacetasRepository.contar(anyString(), eq(filtro))).thenReturn(Map.of("M", 3L));
+
+        ServiceResult<ProductoFacetasResultado> result = productoFacetasService.filtrar(filtro, null, null);
+
+        assertFalse(result.hasErrors());
+        assertEquals(2, result.getData().getPagina().getTamano());
+        assertEquals(2L, result.getData().getPagina().getSiguienteCursor());
+        assertEquals("hoddie", result.getData().getPagina().getProductos().get(0).getTipo());
+        assertEquals(ProductoFacetasRepository.FACETAS, List.copyOf(result.getData().getFacetas().keySet()));
+        assertEquals(3L, result.getData().getFacetas().get("tallas").get("M"));
+    }
+
+    @Test
+    void filtrar_noDeberiaRecalcularFacetasAlAvanzarDePagina() {
+        when(productoFacetasRepository.buscar(filtro, 2L, 3)).thenReturn(List.of(fila(3L)));
+
+        ServiceResult<ProductoFacetasResultado> result = productoFacetasService.filtrar(filtro, 2L, null);
+
+        assertFalse(result.getData().getPagina().isHayMas());
+        assertNull(result.getData().getFacetas());
+        verify(productoFacetasRepository, never()).contar(anyString(), any());
+    }
+
+    private ProductoListado fila(Long id) {
+        return new ProductoListado(id, "SKU" + id, "Polerón", null, null, BigDecimal.TEN, 1, null, 1L,
+                AtributosProducto.builder().tipo("hoddie").tallas(List.of("M")).build(), 0L);
+    }
+}
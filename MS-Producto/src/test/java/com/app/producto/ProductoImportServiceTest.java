@@ -0,0 +1,250 @@
+package com.app.producto;
+
+import com.app.producto.domain.cache.CategoriaCache;
+import com.app.producto.domain.evento.ProductoOutbox;
+import com.app.producto.domain.model.Categoria;
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.search.ProductoSearchIndex;
+import com.app.producto.domain.service.ProductoImportService;
+import com.app.producto.dto.ErrorImportacion;
+import com.app.producto.dto.ProductoImportResultado;
+import com.app.producto.repository.CategoriaRepository;
+import com.app.producto.repository.EventoProductoRepository;
+import com.app.producto.repository.ProductoImportRepository;
+import com.app.producto.repository.ProductoRepository;
+import com.app.producto.shared.client.ProveedorClientService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.app.dto.ServiceResult;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ProductoImportServiceTest {
+
+    private static final String CABECERA = "codigoSku,nombre,precio,stock,serial,categoriaId,proveedorId,tallas,especificaciones";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventoProductoRepository eventoProductoRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private ProductoImportRepository productoImportRepository;
+    private ProveedorClientService proveedorClientService;
+    private ProductoSearchIndex productoSearchIndex;
+    private CategoriaCache categoriaCache;
+    private ProductoImportService productoImportService;
+    private Categoria poleras;
+
+    @BeforeEach
+    void setUp() {
+        poleras = entityManager.persist(Categoria.builder().nombre("Poleras").build());
+        entityManager.persist(Producto.builder()
+                .codigoSku("EXISTE")
+                .nombre("Ya cargado")
+                .precio(BigDecimal.TEN)
+                .serial("SER-EXISTE")
+                .categoria(poleras)
+                .build());
+        entityManager.flush();
+
+        productoImportRepository = spy(new ProductoImportRepository(
+                new NamedParameterJdbcTemplate(jdbcTemplate), entityManager.getEntityManager()));
+        proveedorClientService = mock(ProveedorClientService.class);
+        when(proveedorClientService.verificarProveedor(1L)).thenReturn(ProveedorClientService.Verificacion.EXISTE);
+        when(proveedorClientService.verificarProveedor(2L)).thenReturn(ProveedorClientService.Verificacion.NO_EXISTE);
+        productoSearchIndex = mock(ProductoSearchIndex.class);
+        categoriaCache = new CategoriaCache(categoriaRepository, productoRepository, new ObjectMapper());
+        productoImportService = new ProductoImportService(productoImportRepository, categoriaRepository,
+                proveedorClientService, productoSearchIndex, categoriaCache, new ProductoOutbox(eventoProductoRepository),
+                new TransactionTemplate(transactionManager),
+                new ObjectMapper(), 2);
+    }
+
+    @Test
+    void importar_deberiaInsertarFilasValidasYReportarErroresPorLinea() throws Exception {
+        String csv = String.join("\n",
+                CABECERA,
+                "SKU1,Polera uno,9990,5,,%d,1,S|M,algodon=100%%".formatted(poleras.getId()),
+                "SKU1,Repetida en archivo,1000,1,,%d,1,,".formatted(poleras.getId()),
+                "SKU2,\"Polera, dos\",12990,,SER2,%d,1,,".formatted(poleras.getId()),
+                "EXISTE,Repetida en BD,1000,1,,%d,1,,".formatted(poleras.getId()),
+                "SKU3,Sin categoría,1000,1,,999,1,,",
+                "SKU4,Proveedor inexistente,1000,1,,%d,2,,".formatted(poleras.getId()),
+                "SKU5,Precio inválido,abc,1,,%d,1,,".formatted(poleras.getId()),
+                "SKU6,Serial existente,1000,1,SER-EXISTE,%d,1,,".formatted(poleras.getId()));
+
+        assertEquals(1L, categoriaCache.obtener().categorias().get(0).getProductosActivos());
+
+        ServiceResult<ProductoImportResultado> result = importar(csv, ProductoImportService.Formato.CSV);
+
+        assertFalse(result.hasErrors());
+        ProductoImportResultado resumen = result.getData();
+        assertEquals(8, resumen.getTotal());
+        assertEquals(2, resumen.getImportados());
+        assertEquals(6, resumen.getRechazados());
+        Map<Long, List<String>> errores = resumen.getErrores().stream()
+                .collect(Collectors.toMap(ErrorImportacion::getLinea, ErrorImportacion::getErrores));
+        assertEquals(List.of("El SKU está repetido en el archivo"), errores.get(3L));
+        assertEquals(List.of("El SKU ya existe"), errores.get(5L));
+        assertEquals(List.of("Categoría no encontrada con ID 999"), errores.get(6L));
+        assertEquals(List.of("Proveedor con ID 2 no existe"), errores.get(7L));
+        assertEquals(List.of("Valor inválido para precio: abc"), errores.get(8L));
+        assertEquals(List.of("El serial ya está registrado"), errores.get(9L));
+
+        assertEquals("Polera, dos", jdbcTemplate.queryForObject(
+                "SELECT nombre FROM productos WHERE codigo_sku = 'SKU2'", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT stock FROM productos WHERE codigo_sku = 'SKU2'", Integer.class));
+        verify(productoSearchIndex, times(2)).indexar(argThat(p -> p.getId() != null));
+        assertEquals(2, eventoProductoRepository.count());
+        assertEquals(3L, categoriaCache.obtener().categorias().get(0).getProductosActivos());
+    }
+
+    @Test
+    void importar_deberiaValidarPorLoteYResolverCadaProveedorUnaVez() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            ndjson.append("{\"codigoSku\":\"NJ").append(i).append("\",\"nombre\":\"Producto ").append(i)
+                    .append("\",\"precio\":1000,\"categoriaId\":").append(poleras.getId())
+                    .append(",\"proveedorId\":1,\"tallas\":[\"M\"]}\n");
+        }
+        ndjson.append("{no es json\n");
+
+        ProductoImportResultado resumen = importar(ndjson.toString(), ProductoImportService.Formato.NDJSON).getData();
+
+        assertEquals(5, resumen.getImportados());
+        assertEquals(6L, resumen.getErrores().get(0).getLinea());
+        assertTrue(resumen.getErrores().get(0).getErrores().get(0).startsWith("JSON inválido"));
+        // Lotes de 2 filas: 3 lotes, una consulta de SKU y un INSERT batch por lote
+        verify(productoImportRepository, times(3)).skusExistentes(anyCollection());
+        verify(productoImportRepository, times(3)).insertar(anyList());
+        verify(proveedorClientService, times(1)).verificarProveedor(1L);
+    }
+
+    @Test
+    void importar_noDeberiaRecordarUnProveedorNoVerificable() throws Exception {
+        when(proveedorClientService.verificarProveedor(3L)).thenReturn(
+                ProveedorClientService.Verificacion.NO_VERIFICABLE, ProveedorClientService.Verificacion.EXISTE);
+        String csv = String.join("\n",
+                CABECERA,
+                "CORTE1,Durante el corte,1000,1,,%d,3,,".formatted(poleras.getId()),
+                "CORTE2,Después del corte,1000,1,,%d,3,,".formatted(poleras.getId()),
+                "CORTE3,Inexistente,1000,1,,%d,2,,".formatted(poleras.getId()));
+
+        ProductoImportResultado resumen = importar(csv, ProductoImportService.Formato.CSV).getData();
+
+        assertEquals(1, resumen.getImportados());
+        ErrorImportacion corte = resumen.getErrores().get(0);
+        assertEquals(2L, corte.getLinea());
+        assertEquals(List.of("Proveedor con ID 3 no verificable: MS-Proveedores no respondió, reintente la fila"),
+                corte.getErrores());
+        assertTrue(corte.isReintentable());
+        assertFalse(resumen.getErrores().get(1).isReintentable());
+        verify(proveedorClientService, times(2)).verificarProveedor(3L);
+    }
+
+    @Test
+    void importar_deberiaLiberarSkusYSerialesDeUnLoteRechazado() throws Exception {
+        doThrow(new DataIntegrityViolationException("SKU insertado por otra petición"))
+                .doCallRealMethod()
+                .when(productoImportRepository).insertar(anyList());
+        String csv = String.join("\n",
+                CABECERA,
+                "LOTE1,Primer lote,1000,1,SER-L1,%d,1,,".formatted(poleras.getId()),
+                "LOTE2,Primer lote,1000,1,,%d,1,,".formatted(poleras.getId()),
+                "LOTE3,Segundo lote,1000,1,,%d,1,,".formatted(poleras.getId()),
+                "LOTE1,Reenvío en el archivo,1000,1,SER-L1,%d,1,,".formatted(poleras.getId()));
+
+        ProductoImportResultado resumen = importar(csv, ProductoImportService.Formato.CSV).getData();
+
+        assertEquals(2, resumen.getImportados());
+        assertEquals(List.of(2L, 3L), resumen.getErrores().stream().map(ErrorImportacion::getLinea).toList());
+        assertTrue(resumen.getErrores().stream().allMatch(ErrorImportacion::isReintentable));
+        assertEquals("Reenvío en el archivo", jdbcTemplate.queryForObject(
+                "SELECT nombre FROM productos WHERE codigo_sku = 'LOTE1'", String.class));
+    }
+
+    @Test
+    void importar_deberiaAgruparLosInsertEnPocasSentencias() throws Exception {
+        ProductoImportService importador = new ProductoImportService(productoImportRepository, categoriaRepository,
+                proveedorClientService, productoSearchIndex, categoriaCache, new ProductoOutbox(eventoProductoRepository),
+                new TransactionTemplate(transactionManager),
+                new ObjectMapper(), 500);
+        StringBuilder csv = new StringBuilder(CABECERA);
+        for (int i = 1; i <= 200; i++) {
+            csv.append("\nCARGA").append(i).append(",Producto ").append(i).append(",1000,1,,")
+                    .append(poleras.getId()).append(",1,,");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ProductoImportResultado resumen = importador.importar(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                ProductoImportService.Formato.CSV).getData();
+
+        assertEquals(200, resumen.getImportados());
+
+        // Con IDENTITY serían 200 sentencias INSERT; con pooled-lo y batch de 50 se prepara una
+        // por lote JDBC, más las llamadas a la secuencia y la consulta de categorías
+        assertEquals(200, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "Sentencias preparadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void importar_deberiaRechazarColumnasDesconocidas() throws Exception {
+        ServiceResult<ProductoImportResultado> result = importar("codigoSku,inventado\nSKU1,x",
+                ProductoImportService.Formato.CSV);
+
+        assertTrue(result.hasErrors());
+        assertEquals("Columnas desconocidas en la cabecera: inventado", result.getErrors().get(0));
+    }
+
+    private ServiceResult<ProductoImportResultado> importar(String contenido, ProductoImportService.Formato formato)
+            throws Exception {
+        return productoImportService.importar(
+                new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), formato);
+    }
+}
@@ -0,0 +1,108 @@
+package com.app.producto;
+
+import com.app.producto.domain.model.Categoria;
+import com.app.producto.domain.model.Producto;
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.dto.ProductoFiltro;
+import com.app.producto.dto.ProductoListado;
+import com.app.producto.repository.ProductoRepository;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProductoRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    private Categoria poleras;
+
+    @BeforeEach
+    void setUp() {
+        poleras = entityManager.persist(Categoria.builder().nombre("Poleras").build());
+        Categoria pantalones = entityManager.persist(Categoria.builder().nombre("Pantalones").build());
+        for (int i = 1; i <= 6; i++) {
+            entityManager.persist(Producto.builder()
+                    .codigoSku("SKU" + i)
+                    .nombre("Producto " + i)
+                    .precio(BigDecimal.valueOf(i * 1000L))
+                    .catalogo(i % 2 == 0 ? "verano" : "invierno")
+                    .activo(i != 3)
+                    .stock(i)
+                    .categoria(i <= 4 ? poleras : pantalones)
+                    .atributos(AtributosProducto.builder().tipo("polera").build())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllConCategoriaByIdIn_deberiaTraerLaCategoriaInicializada() {
+        List<Long> ids = productoRepository.listarPagina(null, new ProductoFiltro(), 2).stream()
+                .map(ProductoListado::getId)
+                .toList();
+        entityManager.clear();
+
+        List<Producto> productos = productoRepository.findAllConCategoriaByIdIn(List.of(ids.get(0), ids.get(1), -1L));
+
+        assertEquals(2, productos.size());
+        assertTrue(productos.stream().allMatch(p -> Hibernate.isInitialized(p.getCategoria())));
+        assertEquals("Poleras", productos.get(0).getCategoria().getNombre());
+    }
+
+    @Test
+    void listarPagina_deberiaRecorrerPorCursorEnOrdenDeId() {
+        ProductoFiltro sinFiltro = new ProductoFiltro();
+
+        List<ProductoListado> primera = productoRepository.listarPagina(null, sinFiltro, 4);
+        List<ProductoListado> segunda = productoRepository.listarPagina(primera.get(3).getId(), sinFiltro, 4);
+
+        assertEquals(4, primera.size());
+        assertEquals(2, segunda.size());
+        assertTrue(primera.get(3).getId() < segunda.get(0).getId());
+        assertEquals("Producto 6", segunda.get(1).getNombre());
+        assertEquals("polera", segunda.get(1).getAtributos().getTipo());
+    }
+
+    @Test
+    void listarPagina_deberiaAplicarSoloLosFiltrosPresentes() {
+        ProductoFiltro filtro = ProductoFiltro.builder()
+                .categoriaId(poleras.getId())
+                .activo(true)
+                .precioMin(BigDecimal.valueOf(2000))
+                .build();
+
+        List<ProductoListado> filas = productoRepository.listarPagina(null, filtro, 10);
+
+        assertEquals(List.of("SKU2", "SKU4"), filas.stream().map(ProductoListado::getCodigoSku).toList());
+        assertEquals(poleras.getId(), filas.get(0).getCategoriaId());
+    }
+
+    @Test
+    void listarPagina_deberiaFiltrarPorCatalogoYPrecioMaximo() {
+        ProductoFiltro filtro = ProductoFiltro.builder()
+                .catalogo("verano")
+                .precioMax(BigDecimal.valueOf(4000))
+                .build();
+
+        List<ProductoListado> filas = productoRepository.listarPagina(null, filtro, 10);
+
+        assertEquals(List.of("SKU2", "SKU4"), filas.stream().map(ProductoListado::getCodigoSku).toList());
+    }
+}
@@ -0,0 +1,150 @@
+package com.app.producto;
+
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.search.ProductoSearchIndex;
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.dto.ProductoBasicoDto;
+import com.app.producto.repository.ProductoExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductoSearchIndexTest {
+
+    @Mock
+    private ProductoExportRepository productoExportRepository;
+
+    private ProductoSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductoSearchIndex(productoExportRepository, 500);
+        index.indexar(producto(1L, "POL-001", "Polera Básica", "Polera de algodón", "Necronet", "polera"));
+        index.indexar(producto(2L, "POL-002", "Polerón Canguro", "Poliéster reciclado", "Urbano", "hoddie"));
+        index.indexar(producto(3L, "JEA-010", "Jeans Slim", "Mezclilla con algodón", "Necronet", "jeans"));
+    }
+
+    @Test
+    void tokenizar_deberiaQuitarTildesYMayusculas() {
+        assertEquals(List.of("algodon", "poliester", "n", "1"), ProductoSearchIndex.tokenizar("Algodón, POLIÉSTER n°1"));
+    }
+
+    @Test
+    void buscar_deberiaCoincidirPorPrefijoSinTildes() {
+        assertEquals(List.of(1L, 2L), ids(index.buscar("pol", 10)));
+        assertEquals(List.of(1L, 3L), ids(index.buscar("Algodon", 10)));
+        assertEquals(List.of(2L), ids(index.buscar("poliester", 10)));
+    }
+
+    @Test
+    void buscar_deberiaExigirTodasLasPalabrasIncluyendoMarcaYSku() {
+        assertEquals(List.of(3L), ids(index.buscar("necronet jea", 10)));
+        assertEquals(List.of(1L), ids(index.buscar("pol-001", 10)));
+        assertEquals(List.of(), ids(index.buscar("urbano algodon", 10)));
+    }
+
+    @Test
+    void buscar_deberiaRespetarElLimite() {
+        assertEquals(List.of(1L), ids(index.buscar("p", 1)));
+    }
+
+    @Test
+    void buscar_deberiaMezclarPrefijosCortosEnOrdenYSinDuplicados() {
+        for (long id = 40; id >= 10; id--) {
+            index.indexar(producto(id, "PRE-" + id, "Prenda plana " + id, "Pack promo", "Marca" + id, "pantalon"));
+        }
+
+        assertEquals(List.of(1L, 2L, 10L, 11L, 12L), ids(index.buscar("p", 5)));
+        assertEquals(List.of(10L, 11L), ids(index.buscar("pa ma", 2)));
+        assertEquals(List.of(1L, 3L), ids(index.buscar("ne a", 10)));
+    }
+
+    @Test
+    void indexar_deberiaReemplazarTerminosAlActualizar() {
+        index.indexar(producto(1L, "POL-001", "Camisa Lino", null, "Necronet", "camisa"));
+
+        assertEquals(List.of(), ids(index.buscar("polera", 10)));
+        assertEquals(List.of(1L), ids(index.buscar("lino", 10)));
+        assertEquals("Camisa Lino", index.buscar("camisa", 10).get(0).getNombre());
+    }
+
+    @Test
+    void eliminar_deberiaQuitarElProductoDelIndice() {
+        index.eliminar(1L);
+
+        assertEquals(List.of(3L), ids(index.buscar("algodon", 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void reconstruir_deberiaCargarDesdeElCursorDeExportacion() throws Exception {
+        ResultSet fila = mock(ResultSet.class);
+        when(fila.getLong("id_producto")).thenReturn(9L);
+        when(fila.getString("nombre")).thenReturn("Chaqueta Impermeable");
+        when(fila.getString("descripcion")).thenReturn(null);
+        when(fila.getString("codigo_sku")).thenReturn("CHA-9");
+        when(fila.getString("atributos")).thenReturn("{\"marca\":\"Montaña\"}");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(2).processRow(fila);
+            return null;
+        }).when(productoExportRepository).recorrer(isNull(), eq(500), any(RowCallbackHandler.class));
+
+        index.reconstruir();
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(9L), ids(index.buscar("montana", 10)));
+        assertEquals(List.of(), ids(index.buscar("polera", 10)));
+    }
+
+    @Test
+    void reconstruir_noDeberiaPerderCambiosHechosDuranteLaLectura() throws Exception {
+        ResultSet fila = mock(ResultSet.class);
+        when(fila.getLong("id_producto")).thenReturn(9L, 1L);
+        when(fila.getString("nombre")).thenReturn("Chaqueta Impermeable", "Polera Básica");
+        when(fila.getString("codigo_sku")).thenReturn("CHA-9", "POL-001");
+        when(fila.getString("descripcion")).thenReturn(null);
+        when(fila.getString("atributos")).thenReturn(null);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(fila);
+            // Alta de un producto que el cursor ya no verá y baja de uno que sí leerá
+            index.indexar(producto(10L, "ZAP-10", "Zapatilla Running", null, "Veloz", "zapatilla"));
+            index.eliminar(1L);
+            assertEquals(List.of(10L), ids(index.buscar("zapatilla", 10)));
+            handler.processRow(fila);
+            return null;
+        }).when(productoExportRepository).recorrer(isNull(), eq(500), any(RowCallbackHandler.class));
+
+        index.reconstruir();
+
+        assertEquals(List.of(10L), ids(index.buscar("zapatilla", 10)));
+        assertEquals(List.of(), ids(index.buscar("polera", 10)));
+        assertEquals(List.of(9L), ids(index.buscar("chaqueta", 10)));
+        assertEquals(2, index.size());
+    }
+
+    private Producto producto(Long id, String sku, String nombre, String descripcion, String marca, String tipo) {
+        return Producto.builder()
+                .id(id)
+                .codigoSku(sku)
+                .nombre(nombre)
+                .descripcion(descripcion)
+                .atributos(AtributosProducto.builder().marca(marca).tipo(tipo).build())
+                .build();
+    }
+
+    private List<Long> ids(List<ProductoBasicoDto> productos) {
+        return productos.stream().map(ProductoBasicoDto::getId).toList();
+    }
+}
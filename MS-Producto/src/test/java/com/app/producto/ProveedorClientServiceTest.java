@@ -0,0 +1,157 @@
+package com.app.producto;
+
+import com.app.producto.dto.ProveedorResponse;
+import com.app.producto.shared.client.MicroserviceClient;
+import com.app.producto.shared.client.ProveedorClientService;
+import com.app.producto.shared.security.TokenContext;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifica la caché "proveedores" a través del proxy de Spring, con una caché Caffeine
+ * equivalente a la de application.yml.
+ */
+@SpringJUnitConfig
+@TestPropertySource(properties = "auth.url.provMicro=http://proveedores")
+class ProveedorClientServiceTest {
+
+    private static final String TEST_TOKEN = "token-de-prueba";
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        MicroserviceClient microserviceClient() {
+            return mock(MicroserviceClient.class);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(ProveedorClientService.CACHE_PROVEEDORES);
+            cacheManager.setCaffeine(Caffeine.newBuilder()
+                    .maximumSize(1000)
+                    .expireAfterWrite(10, TimeUnit.MINUTES)
+                    .recordStats());
+            return cacheManager;
+        }
+
+        @Bean
+        ProveedorClientService proveedorClientService(MicroserviceClient microserviceClient) {
+            return new ProveedorClientService(microserviceClient);
+        }
+    }
+
+    @Autowired
+    private ProveedorClientService proveedorClientService;
+
+    @Autowired
+    private MicroserviceClient microserviceClient;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        TokenContext.setToken(TEST_TOKEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TokenContext.clear();
+        reset(microserviceClient);
+        cacheManager.getCache(ProveedorClientService.CACHE_PROVEEDORES).clear();
+    }
+
+    @Test
+    void consultarProveedor_deberiaRetornarProveedorCuandoExiste() {
+        stubProveedor(1L, proveedor(1L));
+
+        ProveedorResponse response = proveedorClientService.consultarProveedor(1L);
+
+        assertNotNull(response);
+        assertEquals(1L, response.getId());
+        verify(microserviceClient).enviarConToken(eq("http://proveedores/api/ms-inventario/proveedor/1"),
+                eq(HttpMethod.GET), isNull(), eq(ProveedorResponse.class), eq(TEST_TOKEN));
+    }
+
+    @Test
+    void consultarProveedor_deberiaConsultarRemotoUnaSolaVezPorProveedor() {
+        stubProveedor(1L, proveedor(1L));
+
+        proveedorClientService.consultarProveedor(1L);
+        proveedorClientService.consultarProveedor(1L);
+        proveedorClientService.consultarProveedor(1L);
+
+        verify(microserviceClient, times(1)).enviarConToken(anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void consultarProveedor_noDeberiaCachearResultadoNulo() {
+        stubProveedor(2L, null);
+
+        assertNull(proveedorClientService.consultarProveedor(2L));
+        stubProveedor(2L, proveedor(2L));
+
+        assertNotNull(proveedorClientService.consultarProveedor(2L));
+        verify(microserviceClient, times(2)).enviarConToken(anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void verificarProveedor_deberiaDistinguirInexistenteDeNoVerificable() {
+        stubProveedor(1L, proveedor(1L));
+        when(microserviceClient.enviarConToken(endsWith("/proveedor/2"), any(), any(), any(), any()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null));
+
+        assertEquals(ProveedorClientService.Verificacion.EXISTE, proveedorClientService.verificarProveedor(1L));
+        assertEquals(ProveedorClientService.Verificacion.NO_EXISTE, proveedorClientService.verificarProveedor(2L));
+        assertEquals(ProveedorClientService.Verificacion.NO_VERIFICABLE,
+                proveedorClientService.fallbackVerificacion(3L, new ResourceAccessException("timeout")));
+    }
+
+    @Test
+    void evictProveedor_deberiaForzarNuevaConsulta() {
+        stubProveedor(1L, proveedor(1L));
+        proveedorClientService.consultarProveedor(1L);
+
+        proveedorClientService.evictProveedor(1L);
+        proveedorClientService.consultarProveedor(1L);
+
+        verify(microserviceClient, times(2)).enviarConToken(anyString(), any(), any(), any(), any());
+    }
+
+    private void stubProveedor(Long id, ProveedorResponse body) {
+        when(microserviceClient.enviarConToken(endsWith("/proveedor/" + id), eq(HttpMethod.GET), isNull(),
+                eq(ProveedorResponse.class), anyString()))
+                .thenReturn(new ResponseEntity<>(body, HttpStatus.OK));
+    }
+
+    private ProveedorResponse proveedor(Long id) {
+        return ProveedorResponse.builder()
+                .id(id)
+                .nombre("Proveedor Tech")
+                .activo(true)
+                .build();
+    }
+}
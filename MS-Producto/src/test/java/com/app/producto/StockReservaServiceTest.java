@@ -0,0 +1,212 @@
+package com.app.producto;
+
+import com.app.producto.domain.cache.ProductoCache;
+import com.app.producto.domain.evento.ProductoOutbox;
+import com.app.producto.domain.model.Categoria;
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.service.StockReservaService;
+import com.app.producto.dto.ItemReserva;
+import com.app.producto.dto.ReservaStockRequest;
+import com.app.producto.dto.ReservaStockResponse;
+import com.app.producto.repository.CategoriaRepository;
+import com.app.producto.repository.EventoProductoRepository;
+import com.app.producto.repository.ProductoRepository;
+import com.app.producto.repository.ReservaStockRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.app.dto.ServiceResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Usa transacciones reales (sin el rollback de cada test) para que las reservas concurrentes
+ * compitan por la misma fila como en producción.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservaServiceTest {
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ReservaStockRepository reservaStockRepository;
+
+    @Autowired
+    private EventoProductoRepository eventoProductoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductoCache productoCache;
+    private StockReservaService stockReservaService;
+    private Producto polera;
+    private Producto jeans;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Las reservas concurrentes esperan el bloqueo de la fila en vez de fallar al segundo
+        jdbcTemplate.execute("SET DEFAULT_LOCK_TIMEOUT 10000");
+        Categoria poleras = categoriaRepository.save(Categoria.builder().nombre("Poleras").build());
+        polera = productoRepository.save(producto("POL-1", 5, poleras));
+        jeans = productoRepository.save(producto("JEA-1", 1, poleras));
+
+        productoCache = spy(new ProductoCache(new ObjectMapper(), mock(ObjectProvider.class), 100, 60_000));
+        stockReservaService = servicio(900_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservaStockRepository.deleteAll();
+        eventoProductoRepository.deleteAll();
+        productoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @Test
+    void reservar_deberiaReservarTodoElCarritoONada() {
+        ServiceResult<ReservaStockResponse> rechazada = stockReservaService.reservar(reserva(
+                new ItemReserva(polera.getId(), 2), new ItemReserva(jeans.getId(), 3)));
+
+        assertTrue(rechazada.hasErrors());
+        assertEquals("Stock insuficiente para el producto con ID " + jeans.getId(), rechazada.getErrors().get(0));
+        assertEquals(5, stock(polera));
+        assertEquals(0, reservaStockRepository.count());
+
+        ServiceResult<ReservaStockResponse> result = stockReservaService.reservar(reserva(
+                new ItemReserva(polera.getId(), 1), new ItemReserva(jeans.getId(), 1),
+                new ItemReserva(polera.getId(), 1)));
+
+        assertFalse(result.hasErrors());
+        assertEquals(3, stock(polera));
+        assertEquals(0, stock(jeans));
+        assertEquals(2, reservaStockRepository.findByReservaId(result.getData().getReservaId()).size());
+        // La reserva rechazada se revirtió junto con sus eventos; quedan los dos de la exitosa
+        assertEquals(2, eventoProductoRepository.count());
+        verify(productoCache).invalidar(polera.getId());
+        verify(productoCache).invalidar(jeans.getId());
+    }
+
+    @Test
+    void reservar_deberiaInformarProductoInexistente() {
+        ServiceResult<ReservaStockResponse> result = stockReservaService.reservar(reserva(new ItemReserva(999L, 1)));
+
+        assertTrue(result.hasErrors());
+        assertEquals("Producto no encontrado con ID 999", result.getErrors().get(0));
+    }
+
+    @Test
+    void liberar_deberiaReponerElStockUnaSolaVez() {
+        String reservaId = stockReservaService.reservar(reserva(new ItemReserva(polera.getId(), 4)))
+                .getData().getReservaId();
+        assertEquals(1, stock(polera));
+
+        assertFalse(stockReservaService.liberar(reservaId).hasErrors());
+        assertEquals(5, stock(polera));
+
+        assertTrue(stockReservaService.liberar(reservaId).hasErrors());
+        assertEquals(5, stock(polera));
+    }
+
+    @Test
+    void confirmar_deberiaMantenerElDescuento() {
+        String reservaId = stockReservaService.reservar(reserva(new ItemReserva(polera.getId(), 2)))
+                .getData().getReservaId();
+
+        assertFalse(stockReservaService.confirmar(reservaId).hasErrors());
+        stockReservaService.liberarVencidas();
+
+        assertEquals(3, stock(polera));
+        assertTrue(stockReservaService.liberar(reservaId).hasErrors());
+    }
+
+    @Test
+    void liberarVencidas_deberiaDevolverElStockDeReservasVencidas() {
+        String reservaId = servicio(-1_000).reservar(reserva(new ItemReserva(polera.getId(), 5)))
+                .getData().getReservaId();
+        stockReservaService.reservar(reserva(new ItemReserva(jeans.getId(), 1)));
+
+        stockReservaService.liberarVencidas();
+
+        assertEquals(5, stock(polera));
+        assertEquals(0, stock(jeans));
+        assertTrue(stockReservaService.confirmar(reservaId).hasErrors());
+    }
+
+    @Test
+    void reservar_noDeberiaSobrevenderConReservasConcurrentes() throws Exception {
+        int compradores = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < compradores; i++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return !stockReservaService.reservar(reserva(new ItemReserva(polera.getId(), 1))).hasErrors();
+            }));
+        }
+        largada.countDown();
+
+        int exitosas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            exitosas += resultado.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(5, exitosas);
+        assertEquals(0, stock(polera));
+        assertEquals(5, reservaStockRepository.count());
+    }
+
+    private StockReservaService servicio(long ttlMs) {
+        return new StockReservaService(productoRepository, reservaStockRepository, productoCache,
+                new ProductoOutbox(eventoProductoRepository), new TransactionTemplate(transactionManager), ttlMs, 10, 2);
+    }
+
+    private int stock(Producto producto) {
+        return productoRepository.findById(producto.getId()).orElseThrow().getStock();
+    }
+
+    private static ReservaStockRequest reserva(ItemReserva... items) {
+        return new ReservaStockRequest(List.of(items));
+    }
+
+    private static Producto producto(String sku, int stock, Categoria categoria) {
+        return Producto.builder()
+                .codigoSku(sku)
+                .nombre(sku)
+                .precio(BigDecimal.TEN)
+                .stock(stock)
+                .categoria(categoria)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.producto.benchmark;
+
+import com.app.producto.domain.service.ProductoService;
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.dto.ProductoDto;
+import com.app.producto.dto.ProductoListado;
+import com.app.producto.shared.util.AtributosProductoConverter;
+import com.app.producto.shared.util.JsonAttributeHelper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de convertir los atributos de una página de 10.000 productos: el camino anterior
+ * (JSON a {@code Map<String, Object>} y copia con casts) contra el converter tipado con
+ * ObjectReader/ObjectWriter precompilados, en lectura y en escritura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AtributosConversionBenchmark {
+
+    private static final int PRODUCTOS = 10_000;
+
+    private final AtributosProductoConverter converter = new AtributosProductoConverter();
+    private final ProductoService productoService = new ProductoService(null, null, null, null, null, null, null, null);
+    private List<String> columnas;
+    private List<AtributosProducto> atributos;
+
+    @Setup
+    public void setUp() {
+        columnas = new ArrayList<>(PRODUCTOS);
+        atributos = new ArrayList<>(PRODUCTOS);
+        for (int i = 0; i < PRODUCTOS; i++) {
+            AtributosProducto fila = AtributosProducto.builder()
+                    .tipo(i % 2 == 0 ? "polera" : "jeans")
+                    .tallas(List.of("S", "M", "L", "XL"))
+                    .colores(List.of("Negro", "Azul", "Color " + i))
+                    .material("Algodón")
+                    .marca("Marca " + (i % 50))
+                    .temporada("Verano")
+                    .especificaciones(Map.of("manga", "corta", "cuello", "redondo"))
+                    .build();
+            atributos.add(fila);
+            columnas.add(JsonAttributeHelper.atributosToJson(fila));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<ProductoDto> leerConMap() {
+        List<ProductoDto> pagina = new ArrayList<>(PRODUCTOS);
+        for (String json : columnas) {
+            Map<String, Object> map = JsonAttributeHelper.jsonToMap(json);
+            pagina.add(ProductoDto.builder()
+                    .tipo((String) map.get("tipo"))
+                    .tallas((List<String>) map.get("tallas"))
+                    .colores((List<String>) map.get("colores"))
+                    .material((String) map.get("material"))
+                    .marca((String) map.get("marca"))
+                    .temporada((String) map.get("temporada"))
+                    .especificaciones((Map<String, String>) map.get("especificaciones"))
+                    .build());
+        }
+        return pagina;
+    }
+
+    @Benchmark
+    public List<ProductoDto> leerConConverter() {
+        List<ProductoDto> pagina = new ArrayList<>(PRODUCTOS);
+        for (String json : columnas) {
+            pagina.add(productoService.toDto(new ProductoListado(1L, "SKU", "Producto", null, null,
+                    BigDecimal.TEN, 1, null, 1L, converter.convertToEntityAttribute(json), 0L)));
+        }
+        return pagina;
+    }
+
+    @Benchmark
+    public List<String> escribirConHelper() {
+        List<String> filas = new ArrayList<>(PRODUCTOS);
+        for (AtributosProducto fila : atributos) {
+            filas.add(JsonAttributeHelper.atributosToJson(fila));
+        }
+        return filas;
+    }
+
+    @Benchmark
+    public List<String> escribirConConverter() {
+        List<String> filas = new ArrayList<>(PRODUCTOS);
+        for (AtributosProducto fila : atributos) {
+            filas.add(converter.convertToDatabaseColumn(fila));
+        }
+        return filas;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AtributosConversionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.producto.benchmark;
+
+import com.app.producto.dto.ProductoDto;
+import com.app.producto.dto.ProductoPagina;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Costo por respuesta de serializar una página de GET /api/productos/list, con y sin el gzip
+ * de {@code server.compression}. Al terminar cada tamaño de página se imprimen los bytes que
+ * viajan: sin comprimir, comprimidos y los ahorrados. Una revalidación con ETag vigente (304)
+ * no lleva cuerpo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompresionRespuestaBenchmark {
+
+    private static final String[] TIPOS = {"polera", "poleron", "jeans", "camisa", "chaqueta"};
+    private static final String[] MATERIALES = {"algodon", "poliester", "lino", "mezclilla", "lana"};
+
+    @Param({"20", "100", "200"})
+    private int tamano;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ProductoPagina pagina;
+
+    @Setup
+    public void setUp() {
+        List<ProductoDto> productos = new ArrayList<>();
+        for (int i = 1; i <= tamano; i++) {
+            String tipo = TIPOS[i % TIPOS.length];
+            productos.add(ProductoDto.builder()
+                    .id((long) i)
+                    .codigoSku("SKU-" + i)
+                    .nombre(tipo + " modelo " + i)
+                    .imagePrimary("https://cdn.tienda.cl/productos/" + i + "/principal.webp")
+                    .imageSecondary("https://cdn.tienda.cl/productos/" + i + "/secundaria.webp")
+                    .descripcion(tipo + " de " + MATERIALES[i % MATERIALES.length] + " para uso diario")
+                    .precio(BigDecimal.valueOf(9_990 + i * 10L))
+                    .costo(BigDecimal.valueOf(4_500 + i * 5L))
+                    .stock(i % 40)
+                    .categoriaId((long) (i % 12))
+                    .catalogo(i % 2 == 0 ? "verano" : "invierno")
+                    .serial("SER-" + (100_000 + i))
+                    .proveedorId((long) (i % 30))
+                    .version((long) (i % 7))
+                    .tipo(tipo)
+                    .tallas(List.of("S", "M", "L", "XL"))
+                    .colores(List.of("negro", "blanco", "azul"))
+                    .material(MATERIALES[i % MATERIALES.length])
+                    .marca("marca" + (i % 50))
+                    .temporada(i % 2 == 0 ? "verano" : "invierno")
+                    .especificaciones(Map.of("cuidado", "lavar en frio", "origen", "Chile"))
+                    .build());
+        }
+        pagina = ProductoPagina.builder()
+                .productos(productos)
+                .tamano(tamano)
+                .siguienteCursor((long) tamano)
+                .hayMas(true)
+                .build();
+    }
+
+    /**
+     * Bytes del cuerpo en la red con y sin gzip para el tamaño de página actual.
+     */
+    @TearDown(Level.Trial)
+    public void informarBytes() throws IOException {
+        int json = sinComprimir().length;
+        int gzip = comprimido().length;
+        System.out.printf("%n  página de %d: json %d bytes, gzip %d bytes, ahorro %d bytes (%.1f%%)%n",
+                tamano, json, gzip, json - gzip, 100.0 * (json - gzip) / json);
+    }
+
+    @Benchmark
+    public byte[] sinComprimir() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] comprimido() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            objectMapper.writeValue(gzip, pagina);
+        }
+        return salida.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompresionRespuestaBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.app.producto.benchmark;
+
+import com.app.producto.shared.client.AuthClientService;
+import com.app.producto.shared.security.JwtVerifier;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la latencia por request de la validación local del JWT contra el round trip
+ * HTTP a /api/auth/validate-token, con y sin el cache de validaciones de AuthClientService.
+ * El servicio de autenticación se simula con un servidor HTTP en loopback, por lo que el
+ * costo remoto medido es una cota inferior.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "9ab67789df495410c1798fea3ccb00fb8816221312a10b4e00a874a7e4b46960cd8495067622053e6e6ad36addae12c4308921ad8ba01ab23ce2f5bfc1936691ce66bec658cca86526e52e6f337276e5900817fff24fbf04124c3d26a51b364966360da1b4b1eb0a6e6d99988fe21637cbbfb5b092e1ff2a894d658b422ff98ae57f16798286a1d3535052f4f81093a0a80dd3fcc2f6f3516d021f07f824ec809b5868bc439e578a4c82253c02abb0364412a3cc2a86845a91ad2a11285299a594c04815467df481d2a2a0af7f92a61456259ae79789ca4263ea83d017d85169464178dc34f044a2daafd5ad5e325dc7a55ce4cb7fdcfeba0c9c8d90f05a31e6";
+
+    private HttpServer authServer;
+    private AuthClientService authClientService;
+    private AuthClientService cachedAuthClientService;
+    private JwtVerifier jwtVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        authServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        authServer.createContext("/api/auth/validate-token", exchange -> {
+            byte[] body = "{\"message\":\"Token válido\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        authServer.start();
+
+        String url = "http://127.0.0.1:" + authServer.getAddress().getPort() + "/api/auth/validate-token";
+        // Tamaño máximo 0: cada validación llega al servicio remoto
+        authClientService = new AuthClientService(new RestTemplate(), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), 0, 300_000, 30_000);
+        ReflectionTestUtils.setField(authClientService, "AUTH_SERVICE_URL", url);
+        cachedAuthClientService = new AuthClientService(new RestTemplate(), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), 10_000, 300_000, 30_000);
+        ReflectionTestUtils.setField(cachedAuthClientService, "AUTH_SERVICE_URL", url);
+        jwtVerifier = new JwtVerifier(SECRET);
+
+        Date now = new Date();
+        token = Jwts.builder()
+                .subject("admin")
+                .claim(JwtVerifier.ROLES_CLAIM, List.of("ROLE_USER"))
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    @TearDown
+    public void tearDown() {
+        authServer.stop(0);
+    }
+
+    @Benchmark
+    public Object localVerification() {
+        return jwtVerifier.getAuthorities(jwtVerifier.verify(token));
+    }
+
+    @Benchmark
+    public boolean remoteRoundTrip() {
+        return authClientService.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean cachedRemoteValidation() {
+        return cachedAuthClientService.validateToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
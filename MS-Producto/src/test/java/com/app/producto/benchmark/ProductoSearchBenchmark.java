@@ -0,0 +1,115 @@
+package com.app.producto.benchmark;
+
+import com.app.producto.domain.model.Producto;
+import com.app.producto.domain.search.ProductoSearchIndex;
+import com.app.producto.dto.AtributosProducto;
+import com.app.producto.dto.ProductoBasicoDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas por segundo del índice invertido en memoria contra un {@code LIKE '%x%'} por palabra
+ * sobre los mismos campos en H2 en memoria (sin red ni disco, así que favorece al LIKE).
+ * El LIKE además no ignora tildes; el índice sí.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductoSearchBenchmark {
+
+    private static final int PRODUCTOS = 50_000;
+    private static final int LIMITE = 10;
+    private static final String[] TIPOS = {"polera", "poleron", "jeans", "camisa", "chaqueta"};
+    private static final String[] MATERIALES = {"algodon", "poliester", "lino", "mezclilla", "lana"};
+
+    // "p" y "ma" cubren muchos términos: miden la mezcla de prefijos cortos del typeahead
+    @Param({"p", "ma", "algod", "chaqueta lana", "marca42 jeans"})
+    private String consulta;
+
+    private ProductoSearchIndex index;
+    private Connection connection;
+    private PreparedStatement like;
+
+    @Setup
+    public void setUp() throws SQLException {
+        index = new ProductoSearchIndex(null, 500);
+        connection = DriverManager.getConnection("jdbc:h2:mem:busqueda;DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS productos");
+            ddl.execute("CREATE TABLE productos (id_producto BIGINT PRIMARY KEY, codigo_sku VARCHAR(50), "
+                    + "nombre VARCHAR(100), descripcion VARCHAR(255), marca VARCHAR(100), tipo VARCHAR(50))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO productos VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= PRODUCTOS; i++) {
+                String tipo = TIPOS[i % TIPOS.length];
+                String sku = "SKU-" + i;
+                String nombre = tipo + " modelo " + i;
+                String descripcion = "Prenda de " + MATERIALES[(i / 7) % MATERIALES.length] + " temporada " + (i % 4);
+                String marca = "marca" + (i % 100);
+                insert.setLong(1, i);
+                insert.setString(2, sku);
+                insert.setString(3, nombre);
+                insert.setString(4, descripcion);
+                insert.setString(5, marca);
+                insert.setString(6, tipo);
+                insert.addBatch();
+                index.indexar(Producto.builder().id((long) i).codigoSku(sku).nombre(nombre).descripcion(descripcion)
+                        .atributos(AtributosProducto.builder().marca(marca).tipo(tipo).build()).build());
+            }
+            insert.executeBatch();
+        }
+
+        List<String> palabras = ProductoSearchIndex.tokenizar(consulta);
+        StringBuilder sql = new StringBuilder("SELECT id_producto, codigo_sku, nombre FROM productos WHERE ");
+        for (int i = 0; i < palabras.size(); i++) {
+            sql.append(i == 0 ? "" : " AND ")
+                    .append("LOWER(CONCAT_WS(' ', nombre, descripcion, codigo_sku, marca, tipo)) LIKE ?");
+        }
+        like = connection.prepareStatement(sql.append(" ORDER BY id_producto LIMIT ").append(LIMITE).toString());
+        for (int i = 0; i < palabras.size(); i++) {
+            like.setString(i + 1, "%" + palabras.get(i) + "%");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<ProductoBasicoDto> indiceInvertido() {
+        return index.buscar(consulta, LIMITE);
+    }
+
+    @Benchmark
+    public List<ProductoBasicoDto> likeScan() throws SQLException {
+        List<ProductoBasicoDto> productos = new ArrayList<>(LIMITE);
+        try (ResultSet rs = like.executeQuery()) {
+            while (rs.next()) {
+                productos.add(new ProductoBasicoDto(rs.getLong(1), rs.getString(2), rs.getString(3)));
+            }
+        }
+        return productos;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductoSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
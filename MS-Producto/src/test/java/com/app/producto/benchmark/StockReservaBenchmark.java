@@ -0,0 +1,134 @@
+package com.app.producto.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reservas por segundo de una unidad sobre un único SKU caliente con 200 hilos concurrentes,
+ * en H2 en memoria. Compara el UPDATE condicional de StockReservaService contra el chequeo que
+ * hacía MS-CARD (leer el stock y escribir el valor calculado). Al final de cada iteración se
+ * imprime la sobreventa: reservas confirmadas que el stock no llegó a descontar. Cada iteración
+ * repone el stock para no agotarlo durante la medición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(200)
+@Fork(1)
+public class StockReservaBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:stock;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000";
+    private static final long PRODUCTO = 1L;
+    private static final int STOCK_INICIAL = 1_000_000_000;
+
+    private final AtomicLong reservadas = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void crearTabla() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL);
+             Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE IF NOT EXISTS productos (id_producto BIGINT PRIMARY KEY, stock INT NOT NULL)");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reponerStock() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL);
+             Statement ddl = connection.createStatement()) {
+            ddl.execute("MERGE INTO productos KEY (id_producto) VALUES (" + PRODUCTO + ", " + STOCK_INICIAL + ")");
+        }
+        reservadas.set(0);
+    }
+
+    /**
+     * Unidades confirmadas a los compradores que el stock no alcanzó a descontar.
+     */
+    @TearDown(Level.Iteration)
+    public void verificarSobreventa() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL);
+             Statement consulta = connection.createStatement();
+             ResultSet rs = consulta.executeQuery("SELECT stock FROM productos WHERE id_producto = " + PRODUCTO)) {
+            rs.next();
+            long descontadas = STOCK_INICIAL - rs.getLong(1);
+            System.out.printf("%n  reservas: %d, descontadas del stock: %d, sobreventa: %d%n",
+                    reservadas.get(), descontadas, reservadas.get() - descontadas);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Conexion {
+        Connection connection;
+        PreparedStatement condicional;
+        PreparedStatement leer;
+        PreparedStatement escribir;
+
+        // Recibe el estado compartido para abrir la conexión después de crear la tabla
+        @Setup
+        public void abrir(StockReservaBenchmark benchmark) throws SQLException {
+            connection = DriverManager.getConnection(URL);
+            connection.setAutoCommit(false);
+            condicional = connection.prepareStatement(
+                    "UPDATE productos SET stock = stock - ? WHERE id_producto = ? AND stock >= ?");
+            leer = connection.prepareStatement("SELECT stock FROM productos WHERE id_producto = ?");
+            escribir = connection.prepareStatement("UPDATE productos SET stock = ? WHERE id_producto = ?");
+        }
+
+        @TearDown
+        public void cerrar() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean updateCondicional(StockReservaBenchmark benchmark, Conexion conexion) throws SQLException {
+        conexion.condicional.setInt(1, 1);
+        conexion.condicional.setLong(2, PRODUCTO);
+        conexion.condicional.setInt(3, 1);
+        boolean reservado = conexion.condicional.executeUpdate() == 1;
+        conexion.connection.commit();
+        if (reservado) {
+            benchmark.reservadas.incrementAndGet();
+        }
+        return reservado;
+    }
+
+    @Benchmark
+    public boolean leerYEscribir(StockReservaBenchmark benchmark, Conexion conexion) throws SQLException {
+        conexion.leer.setLong(1, PRODUCTO);
+        int stock;
+        try (ResultSet rs = conexion.leer.executeQuery()) {
+            rs.next();
+            stock = rs.getInt(1);
+        }
+        boolean reservado = stock >= 1;
+        if (reservado) {
+            conexion.escribir.setInt(1, stock - 1);
+            conexion.escribir.setLong(2, PRODUCTO);
+            conexion.escribir.executeUpdate();
+        }
+        conexion.connection.commit();
+        if (reservado) {
+            benchmark.reservadas.incrementAndGet();
+        }
+        return reservado;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StockReservaBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,6 +1,12 @@
 package com.app.proveedores.Config;
 
 import com.app.proveedores.Config.Dto.TokenResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,20 +15,76 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class AuthClientService {
+    private static final Pattern EXP_CLAIM = Pattern.compile("\"exp\"\\s*:\\s*(\\d+)");
+
     private final RestTemplate restTemplate;
+    private final Cache<String, CachedValidation> tokenCache;
+    private final long maxTtlNanos;
+    private final long negativeTtlNanos;
     @Value("${auth.url.jwtMicro}")
     private String AUTH_SERVICE_URL;
 
-    public AuthClientService(RestTemplate restTemplate) {
+    /**
+     * Resultado cacheado de una validación remota; {@code ttlNanos} ya viene acotado
+     * por el {@code exp} del token (o por el TTL negativo si fue rechazado).
+     */
+    private record CachedValidation(boolean valid, long ttlNanos) {
+    }
+
+    public AuthClientService(RestTemplate restTemplate,
+                             ObjectProvider<MeterRegistry> meterRegistry,
+                             @Value("${auth.app.tokenCacheMaxSize:10000}") long maxSize,
+                             @Value("${auth.app.tokenCacheTtlMs:300000}") long maxTtlMs,
+                             @Value("${auth.app.tokenCacheNegativeTtlMs:30000}") long negativeTtlMs) {
         this.restTemplate = restTemplate;
+        this.maxTtlNanos = TimeUnit.MILLISECONDS.toNanos(maxTtlMs);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+        this.tokenCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedValidation>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedValidation value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedValidation value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, tokenCache, "authTokens"));
     }
 
     public boolean validateToken(String token) {
+        String key = hash(token);
+        CachedValidation cached = tokenCache.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.valid()) {
+                throw new BadCredentialsException("Token inválido");
+            }
+            return true;
+        }
+
         try {
             Map<String, String> requestBody = new HashMap<>();
             requestBody.put("token", token);
@@ -33,13 +95,46 @@ public class AuthClientService {
                     TokenResponse.class
             );
 
-            return response.getStatusCode().is2xxSuccessful();
+            boolean valid = response.getStatusCode().is2xxSuccessful();
+            long ttl = valid ? ttlFor(token) : negativeTtlNanos;
+            if (ttl > 0) {
+                tokenCache.put(key, new CachedValidation(valid, ttl));
+            }
+            return valid;
 
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.UNAUTHORIZED) {
+                tokenCache.put(key, new CachedValidation(false, negativeTtlNanos));
                 throw new BadCredentialsException("Token inválido");
             }
             throw new RuntimeException("Error de comunicación con el servicio de autenticación");
         }
     }
+
+    /**
+     * TTL de una validación positiva: el menor entre el máximo configurado y el tiempo
+     * que le queda al token según su claim {@code exp}.
+     */
+    private long ttlFor(String token) {
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+            Matcher exp = EXP_CLAIM.matcher(payload);
+            if (exp.find()) {
+                long remainingMs = Long.parseLong(exp.group(1)) * 1000 - System.currentTimeMillis();
+                return Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMs));
+            }
+        } catch (RuntimeException e) {
+            // Si el payload no se puede leer se usa el TTL máximo configurado
+        }
+        return maxTtlNanos;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
 }
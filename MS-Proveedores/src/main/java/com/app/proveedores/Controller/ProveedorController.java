@@ -17,11 +17,15 @@ import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -54,14 +58,14 @@ public class ProveedorController {
 
         Proveedor proveedor = result.getData();
         EntityModel<Proveedor> resource = EntityModel.of(proveedor);
-        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(proveedor.getId())).withSelfRel());
+        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(proveedor.getId(), null)).withSelfRel());
         resource.add(linkTo(methodOn(ProveedorController.class).updateProveedor(proveedor.getId(), proveedorDto)).withRel("update"));
         resource.add(linkTo(methodOn(ProveedorController.class).toggleActivoProveedor(proveedor.getId(), true)).withRel("toggle-status"));
         resource.add(linkTo(methodOn(ProveedorController.class).deleteProveedor(proveedor.getId())).withRel("delete"));
-        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos()).withRel(IanaLinkRelations.COLLECTION));
+        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos(null)).withRel(IanaLinkRelations.COLLECTION));
 
         return ResponseEntity
-                .created(linkTo(methodOn(ProveedorController.class).getProveedorById(proveedor.getId())).toUri())
+                .created(linkTo(methodOn(ProveedorController.class).getProveedorById(proveedor.getId(), null)).toUri())
                 .body(resource);
     }
 
@@ -71,12 +75,13 @@ public class ProveedorController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Lista de proveedores activos",
                             content = @Content(array = @ArraySchema(schema = @Schema(implementation = Proveedor.class)))),
+                    @ApiResponse(responseCode = "304", description = "La lista no cambió desde el ETag indicado en If-None-Match"),
                     @ApiResponse(responseCode = "400", description = "Error al procesar la solicitud",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             }
     )
     @GetMapping("all-active")
-    public ResponseEntity<?> getAllProveedoresActivos() {
+    public ResponseEntity<?> getAllProveedoresActivos(WebRequest request) {
         ServiceResult<List<Proveedor>> result = proveedorService.getAllProveedoresActivos();
         if (result.hasErrors()) {
             return ResponseEntity.badRequest().body(result.getErrors());
@@ -85,18 +90,21 @@ public class ProveedorController {
         List<EntityModel<Proveedor>> proveedores = result.getData().stream()
                 .map(proveedor -> {
                     EntityModel<Proveedor> resource = EntityModel.of(proveedor);
-                    resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(proveedor.getId())).withSelfRel());
+                    resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(proveedor.getId(), null)).withSelfRel());
                     resource.add(linkTo(methodOn(ProveedorController.class).updateProveedor(proveedor.getId(), new ProveedorDto())).withRel("update"));
                     resource.add(linkTo(methodOn(ProveedorController.class).toggleActivoProveedor(proveedor.getId(), !proveedor.isActivo())).withRel("toggle-status"));
                     return resource;
                 })
                 .collect(Collectors.toList());
 
-        Link selfLink = linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos()).withSelfRel();
+        Link selfLink = linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos(null)).withSelfRel();
         Link createLink = linkTo(methodOn(ProveedorController.class).createProveedor(new ProveedorDto())).withRel("create-proveedor");
 
         CollectionModel<EntityModel<Proveedor>> resources = CollectionModel.of(proveedores, selfLink, createLink);
-        return ResponseEntity.ok(resources);
+        // Con el ETag en la respuesta, un If-None-Match vigente termina en 304 sin serializar la lista
+        return ResponseEntity.ok()
+                .eTag(etag(result.getData()))
+                .body(resources);
     }
 
     @Operation(
@@ -105,6 +113,7 @@ public class ProveedorController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Proveedor encontrado",
                             content = @Content(schema = @Schema(implementation = Proveedor.class))),
+                    @ApiResponse(responseCode = "304", description = "El proveedor no cambió desde el ETag indicado en If-None-Match"),
                     @ApiResponse(responseCode = "400", description = "Proveedor no encontrado o ID inválido",
                             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             }
@@ -112,7 +121,14 @@ public class ProveedorController {
     @GetMapping("{id}")
     public ResponseEntity<?> getProveedorById(
             @Parameter(description = "ID único del proveedor", example = "1", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        // Con If-None-Match basta consultar la versión para responder 304 sin cargar el proveedor
+        Long version = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null ? proveedorService.getVersionProveedor(id) : null;
+        if (version != null && request.checkNotModified(etag(version))) {
+            return null;
+        }
+
         ServiceResult<Proveedor> result = proveedorService.getProveedorById(id);
         if (result.hasErrors()) {
             return ResponseEntity.badRequest().body(result.getErrors());
@@ -120,13 +136,14 @@ public class ProveedorController {
 
         Proveedor proveedor = result.getData();
         EntityModel<Proveedor> resource = EntityModel.of(proveedor);
-        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(id)).withSelfRel());
+        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(id, null)).withSelfRel());
         resource.add(linkTo(methodOn(ProveedorController.class).updateProveedor(id, new ProveedorDto())).withRel("update"));
         resource.add(linkTo(methodOn(ProveedorController.class).toggleActivoProveedor(id, !proveedor.isActivo())).withRel("toggle-status"));
         resource.add(linkTo(methodOn(ProveedorController.class).deleteProveedor(id)).withRel("delete"));
-        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos()).withRel("all-proveedores"));
+        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos(null)).withRel("all-proveedores"));
 
-        return ResponseEntity.ok(resource);
+        // Si se llamó a checkNotModified el ETag ya quedó en la respuesta
+        return version != null ? ResponseEntity.ok(resource) : ResponseEntity.ok().eTag(etag(proveedor.getVersion())).body(resource);
     }
 
     @Operation(
@@ -151,11 +168,11 @@ public class ProveedorController {
 
         Proveedor proveedor = result.getData();
         EntityModel<Proveedor> resource = EntityModel.of(proveedor);
-        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(id)).withSelfRel());
+        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(id, null)).withSelfRel());
         resource.add(linkTo(methodOn(ProveedorController.class).updateProveedor(id, dto)).withRel("update"));
         resource.add(linkTo(methodOn(ProveedorController.class).toggleActivoProveedor(id, !proveedor.isActivo())).withRel("toggle-status"));
         resource.add(linkTo(methodOn(ProveedorController.class).deleteProveedor(id)).withRel("delete"));
-        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos()).withRel("all-proveedores"));
+        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos(null)).withRel("all-proveedores"));
 
         return ResponseEntity.ok(resource);
     }
@@ -183,11 +200,11 @@ public class ProveedorController {
 
         Proveedor proveedor = result.getData();
         EntityModel<Proveedor> resource = EntityModel.of(proveedor);
-        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(id)).withSelfRel());
+        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(id, null)).withSelfRel());
         resource.add(linkTo(methodOn(ProveedorController.class).updateProveedor(id, new ProveedorDto())).withRel("update"));
         resource.add(linkTo(methodOn(ProveedorController.class).toggleActivoProveedor(id, !proveedor.isActivo())).withRel("toggle-status"));
         resource.add(linkTo(methodOn(ProveedorController.class).deleteProveedor(id)).withRel("delete"));
-        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos()).withRel("all-proveedores"));
+        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos(null)).withRel("all-proveedores"));
 
         return ResponseEntity.ok(resource);
     }
@@ -214,9 +231,9 @@ public class ProveedorController {
         Proveedor proveedor = result.getData();
         EntityModel<Proveedor> resource = EntityModel.of(proveedor);
         resource.add(linkTo(methodOn(ProveedorController.class).getProveedorByRut(rut)).withSelfRel());
-        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(proveedor.getId())).withRel("by-id"));
+        resource.add(linkTo(methodOn(ProveedorController.class).getProveedorById(proveedor.getId(), null)).withRel("by-id"));
         resource.add(linkTo(methodOn(ProveedorController.class).updateProveedor(proveedor.getId(), new ProveedorDto())).withRel("update"));
-        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos()).withRel("all-proveedores"));
+        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos(null)).withRel("all-proveedores"));
 
         return ResponseEntity.ok(resource);
     }
@@ -242,9 +259,20 @@ public class ProveedorController {
 
         Proveedor proveedor = result.getData();
         EntityModel<Proveedor> resource = EntityModel.of(proveedor);
-        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos()).withRel("all-proveedores"));
+        resource.add(linkTo(methodOn(ProveedorController.class).getAllProveedoresActivos(null)).withRel("all-proveedores"));
         resource.add(linkTo(methodOn(ProveedorController.class).createProveedor(new ProveedorDto())).withRel("create-proveedor"));
 
         return ResponseEntity.ok(resource);
     }
+
+    private static String etag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static String etag(List<Proveedor> proveedores) {
+        String versiones = proveedores.stream()
+                .map(proveedor -> proveedor.getId() + ":" + proveedor.getVersion())
+                .collect(Collectors.joining(","));
+        return "\"" + DigestUtils.md5DigestAsHex(versiones.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 }
\ No newline at end of file
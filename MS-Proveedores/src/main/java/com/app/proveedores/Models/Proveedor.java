@@ -16,7 +16,8 @@ import java.util.List;
 @Builder
 public class Proveedor {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proveedores_seq")
+    @SequenceGenerator(name = "proveedores_seq", sequenceName = "proveedores_seq", allocationSize = 10)
     @Column(name = "id_proveedor")
     private Long id;
 
@@ -33,6 +34,11 @@ public class Proveedor {
     @Builder.Default
     private Boolean activo = true;
 
+    // Bloqueo optimista y ETag de las lecturas
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     public boolean isActivo() {
         return activo != null ? activo : false;
     }
@@ -2,6 +2,8 @@ package com.app.proveedores.Repository;
 
 import com.app.proveedores.Models.Proveedor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,7 @@ public interface ProveedorRepository extends JpaRepository<Proveedor, Long> {
 
     List<Proveedor> findByActivoTrue();
 
+    @Query("select p.version from Proveedor p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
 }
@@ -5,6 +5,7 @@ import com.app.proveedores.Dto.ProveedorDto;
 import com.app.proveedores.Dto.ServiceResult;
 import com.app.proveedores.Models.Proveedor;
 import com.app.proveedores.Repository.ProveedorRepository;
+import com.app.proveedores.shared.ProductoCacheNotifier;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +19,7 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class ProveedorService {
     private final ProveedorRepository proveedorRepository;
+    private final ProductoCacheNotifier productoCacheNotifier;
     private static final Logger logger = LoggerFactory.getLogger(Proveedor.class);
     
     private static final Pattern RUT_PATTERN = Pattern.compile("^\\d{1,8}-[\\dkK]$");
@@ -137,6 +139,19 @@ public class ProveedorService {
         }
     }
 
+    /**
+     * Versión actual del proveedor sin cargarlo; null si no existe o si la consulta falla,
+     * en cuyo caso el controlador sigue por la lectura completa.
+     */
+    public Long getVersionProveedor(Long id) {
+        try {
+            return proveedorRepository.findVersionById(id).orElse(null);
+        } catch (Exception e) {
+            logger.warn("No se pudo obtener la versión del proveedor ID {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
     public ServiceResult<Proveedor> updateProveedor(Long id, ProveedorDto dto) {
         List<String> errors = new ArrayList<>();
         try {
@@ -181,6 +196,7 @@ public class ProveedorService {
 
             Proveedor proveedorActualizado = proveedorRepository.save(proveedorExistente);
             logger.info("Proveedor actualizado: {}", id);
+            productoCacheNotifier.proveedorModificado(id);
             return new ServiceResult<>(proveedorActualizado);
 
         } catch (Exception e) {
@@ -204,6 +220,7 @@ public class ProveedorService {
 
             proveedor.setActivo(activo);
             Proveedor proveedorActualizado = proveedorRepository.save(proveedor);
+            productoCacheNotifier.proveedorModificado(id);
             return new ServiceResult<>(proveedorActualizado);
 
         } catch (Exception e) {
@@ -257,6 +274,7 @@ public class ProveedorService {
 
             proveedorRepository.delete(proveedor);
             logger.info("Proveedor eliminado (inactivado) con ID: {}", id);
+            productoCacheNotifier.proveedorModificado(id);
             return new ServiceResult<>(proveedor);
 
         } catch (Exception e) {
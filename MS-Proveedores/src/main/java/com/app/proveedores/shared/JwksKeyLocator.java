@@ -0,0 +1,139 @@
+package com.app.proveedores.shared;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cache de las claves públicas publicadas por MS-Authenticacion en su JWK Set, indexadas por
+ * {@code kid}. Se refresca periódicamente en segundo plano y, al aparecer un {@code kid}
+ * desconocido (rotación de claves), se fuerza un refresco limitado a uno cada
+ * {@code auth.app.jwksMinRefreshIntervalMs} para que tokens con kid inventado no generen tráfico.
+ */
+@Slf4j
+@Component
+public class JwksKeyLocator {
+
+    private static final long UNKNOWN_KID_WAIT_MS = 2000;
+
+    private final RestTemplate restTemplate;
+    private final String jwksUrl;
+    private final boolean enabled;
+    private final long minRefreshIntervalMs;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<CompletableFuture<Void>> inFlight = new AtomicReference<>();
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshAttempt;
+
+    public JwksKeyLocator(RestTemplate restTemplate,
+                          @Value("${auth.url.jwks:}") String jwksUrl,
+                          @Value("${auth.app.jwksEnabled:false}") boolean enabled,
+                          @Value("${auth.app.jwksRefreshMs:300000}") long refreshMs,
+                          @Value("${auth.app.jwksMinRefreshIntervalMs:10000}") long minRefreshIntervalMs) {
+        this.restTemplate = restTemplate;
+        this.jwksUrl = jwksUrl;
+        this.enabled = enabled && !jwksUrl.isBlank();
+        this.minRefreshIntervalMs = minRefreshIntervalMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (this.enabled) {
+            // La carga inicial comparte el refresco en curso con los primeros kid desconocidos
+            refreshAsync();
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Devuelve la clave pública del {@code kid}, o {@code null} si tampoco aparece tras refrescar.
+     */
+    public Key getKey(String kid) {
+        PublicKey key = kid == null ? null : keys.get(kid);
+        if (key != null || kid == null || !enabled) {
+            return key;
+        }
+
+        CompletableFuture<Void> refresh = refreshAsync();
+        if (refresh != null) {
+            try {
+                refresh.get(UNKNOWN_KID_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                log.debug("Refresco del JWK Set no completado a tiempo: {}", e.getMessage());
+            }
+        }
+        return keys.get(kid);
+    }
+
+    /**
+     * Lanza un refresco en el hilo de fondo; si ya hay uno en curso se reutiliza.
+     * Devuelve {@code null} si el último intento fue hace menos del intervalo mínimo.
+     */
+    CompletableFuture<Void> refreshAsync() {
+        CompletableFuture<Void> current = inFlight.get();
+        if (current != null) {
+            return current;
+        }
+        if (System.currentTimeMillis() - lastRefreshAttempt < minRefreshIntervalMs) {
+            return null;
+        }
+        CompletableFuture<Void> next = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, next)) {
+            return inFlight.get();
+        }
+        scheduler.execute(() -> {
+            try {
+                refreshQuietly();
+            } finally {
+                inFlight.set(null);
+                next.complete(null);
+            }
+        });
+        return next;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Se conservan las claves anteriores hasta el próximo intento
+            log.warn("No se pudo refrescar el JWK Set desde {}: {}", jwksUrl, e.getMessage());
+        }
+    }
+
+    void refresh() {
+        lastRefreshAttempt = System.currentTimeMillis();
+        String json = restTemplate.getForObject(jwksUrl, String.class);
+        JwkSet jwkSet = Jwks.setParser().ignoreUnsupported(true).build().parse(json);
+
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey) {
+                loaded.put(jwk.getId(), publicKey);
+            }
+        }
+        keys = Map.copyOf(loaded);
+        log.debug("JWK Set actualizado: {} claves", loaded.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,13 +1,16 @@
 package com.app.proveedores.shared;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 @Service
+@RequiredArgsConstructor
 public class MicroserviceClient {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    // Cliente con pool y timeouts de RestTemplateConfig
+    private final RestTemplate restTemplate;
 
     public <T> ResponseEntity<T> enviarConToken(
             String url,
@@ -0,0 +1,40 @@
+package com.app.proveedores.shared;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Avisa a MS-Producto que descarte un proveedor de su caché al modificarlo o eliminarlo.
+ * El aviso es best-effort y fuera del hilo de la request: si falla, el TTL de la caché
+ * en MS-Producto acota cuánto tiempo se sirve el dato viejo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductoCacheNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductoCacheNotifier.class);
+
+    @Value("${auth.url.productoMicro:}")
+    private String PRODUCTO_SERVICE_URL;
+    private final MicroserviceClient microserviceClient;
+
+    public void proveedorModificado(Long proveedorId) {
+        if (PRODUCTO_SERVICE_URL == null || PRODUCTO_SERVICE_URL.isBlank()) {
+            return;
+        }
+        // TokenContext es por hilo: se captura antes de salir del hilo de la request
+        String token = TokenContext.getToken();
+        String url = PRODUCTO_SERVICE_URL + "/api/productos/cache/proveedores/" + proveedorId;
+        CompletableFuture.runAsync(() -> microserviceClient.enviarConToken(url, HttpMethod.DELETE, null, Void.class, token))
+                .exceptionally(e -> {
+                    logger.warn("No se pudo invalidar el proveedor {} en MS-Producto: {}", proveedorId, e.getMessage());
+                    return null;
+                });
+    }
+}
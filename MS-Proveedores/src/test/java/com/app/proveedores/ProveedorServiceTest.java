@@ -5,6 +5,7 @@ import com.app.proveedores.Dto.ServiceResult;
 import com.app.proveedores.Models.Proveedor;
 import com.app.proveedores.Repository.ProveedorRepository;
 import com.app.proveedores.Service.ProveedorService;
+import com.app.proveedores.shared.ProductoCacheNotifier;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,9 @@ class ProveedorServiceTest {
     @Mock
     private ProveedorRepository proveedorRepository;
 
+    @Mock
+    private ProductoCacheNotifier productoCacheNotifier;
+
     @InjectMocks
     private ProveedorService proveedorService;
 
@@ -209,6 +213,7 @@ class ProveedorServiceTest {
         assertEquals("Nuevo Nombre", resultado.getData().getNombre());
         assertEquals("Nueva Dirección", resultado.getData().getDireccion());
         verify(proveedorRepository, times(1)).save(any(Proveedor.class));
+        verify(productoCacheNotifier).proveedorModificado(1L);
     }
 
     @Test
@@ -224,6 +229,7 @@ class ProveedorServiceTest {
         assertFalse(resultado.getErrors().isEmpty());
         assertTrue(resultado.getErrors().get(0).contains("No se puede modificar el RUT"));
         verify(proveedorRepository, never()).save(any(Proveedor.class));
+        verifyNoInteractions(productoCacheNotifier);
     }
 
     @Test
@@ -269,6 +275,7 @@ class ProveedorServiceTest {
         assertTrue(resultado.getErrors().isEmpty());
         assertEquals(proveedorValido.getId(), resultado.getData().getId());
         verify(proveedorRepository, times(1)).delete(proveedorValido);
+        verify(productoCacheNotifier).proveedorModificado(1L);
     }
 
     @Test